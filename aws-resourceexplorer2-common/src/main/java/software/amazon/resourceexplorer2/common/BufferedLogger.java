@@ -0,0 +1,75 @@
+package software.amazon.resourceexplorer2.common;
+
+import software.amazon.cloudformation.proxy.Logger;
+
+// Collects the log lines of one invocation and hands them to the invocation's logger in a single
+// call when it ends, so the Lambda log stream gets one write per invocation instead of one per
+// line. The buffer belongs to the handler and is reused by its next invocation. The one-line
+// summaries REBaseHandler writes as the invocation ends do not go through it.
+//
+// Lines past MAX_BUFFERED_CHARS are dropped and counted; the count is written with the rest.
+// Once the invocation is close to its deadline, the buffer is written out and later lines go
+// straight through, so that they are not lost with the Lambda if it times out.
+final class BufferedLogger implements Logger {
+
+    static final int MAX_BUFFERED_CHARS = 64 * 1024;
+
+    private final int maxBufferedChars;
+    private final StringBuilder buffer = new StringBuilder(4 * 1024);
+
+    private Logger delegate;
+    private InvocationDeadline deadline;
+    private int droppedLines;
+
+    BufferedLogger(final int maxBufferedChars) {
+        this.maxBufferedChars = maxBufferedChars;
+    }
+
+    // Starts buffering for a new invocation; lines still buffered from the previous one are written first.
+    synchronized Logger start(final Logger invocationLogger, final InvocationDeadline invocationDeadline) {
+        flush();
+        delegate = invocationLogger;
+        deadline = invocationDeadline;
+        return this;
+    }
+
+    @Override
+    public synchronized void log(final String line) {
+        if (delegate == null) {
+            return;
+        }
+        if (deadline != null && !deadline.hasTimeForAnotherStep()) {
+            flush();
+            delegate.log(line);
+            return;
+        }
+        final String text = String.valueOf(line);
+        final int separator = buffer.length() == 0 ? 0 : 1;
+        if (buffer.length() + separator + text.length() > maxBufferedChars) {
+            droppedLines++;
+            return;
+        }
+        if (separator > 0) {
+            buffer.append('\n');
+        }
+        buffer.append(text);
+    }
+
+    synchronized void flush() {
+        if (delegate == null) {
+            return;
+        }
+        if (droppedLines > 0) {
+            if (buffer.length() > 0) {
+                buffer.append('\n');
+            }
+            buffer.append("[BufferedLogger] Dropped ").append(droppedLines)
+                    .append(" lines over the ").append(maxBufferedChars).append(" character limit.");
+            droppedLines = 0;
+        }
+        if (buffer.length() > 0) {
+            delegate.log(buffer.toString());
+            buffer.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package software.amazon.resourceexplorer2.common;
+
+import software.amazon.awssdk.awscore.AwsExecutionAttribute;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.regions.Region;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+// Stops calling a Resource Explorer operation in a region that keeps failing. Outcomes are kept
+// per region and operation, e.g. "us-east-1/GetIndex", over the last windowSize calls. Once at
+// least minimumCalls of them ran and failureRate of them failed, the circuit opens and further
+// calls fail at once with CircuitBreakerOpenException instead of waiting through SDK retries and
+// timeouts. After openDuration a single probe call is let through: its success closes the
+// circuit, its failure opens it again.
+//
+// Only failures that say the service is unhealthy count: 5xx and client-side errors such as
+// connection failures. A ValidationException or a ResourceNotFoundException is an answer, and a
+// call that ran out of its invocation's time, see InvocationDeadline, says more about the
+// invocation than about the service. Throttling does not count either: it is applied per account,
+// while the circuits are shared by every account the process serves.
+//
+// The handlers of all three resource types catch the same CircuitBreakerOpenException, so a
+// rejection is retried later whichever module's client made the call, as in the consolidated
+// handler, where they share one client.
+public class CircuitBreaker implements ExecutionInterceptor {
+
+    static final int DEFAULT_WINDOW_SIZE = 20;
+    static final int DEFAULT_MINIMUM_CALLS = 10;
+    static final double DEFAULT_FAILURE_RATE = 0.5;
+    static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+
+    private static final ExecutionAttribute<String> CIRCUIT_KEY = new ExecutionAttribute<>("CircuitBreakerKey");
+    private static final ExecutionAttribute<Boolean> PROBE = new ExecutionAttribute<>("CircuitBreakerProbe");
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRate;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    // One circuit breaker for every client of the process; it keeps a circuit per region and operation.
+    public static CircuitBreaker shared() {
+        return SharedHolder.CIRCUIT_BREAKER;
+    }
+
+    private static final class SharedHolder {
+        private static final CircuitBreaker CIRCUIT_BREAKER = new CircuitBreaker();
+    }
+
+    public CircuitBreaker() {
+        this(DEFAULT_WINDOW_SIZE, DEFAULT_MINIMUM_CALLS, DEFAULT_FAILURE_RATE, DEFAULT_OPEN_DURATION, System::nanoTime);
+    }
+
+    CircuitBreaker(
+            final int windowSize,
+            final int minimumCalls,
+            final double failureRate,
+            final Duration openDuration,
+            final LongSupplier nanoClock) {
+        if (minimumCalls < 1 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("minimumCalls must be between 1 and windowSize");
+        }
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRate = failureRate;
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public void beforeExecution(final Context.BeforeExecution context, final ExecutionAttributes executionAttributes) {
+        final String key = key(executionAttributes.getAttribute(AwsExecutionAttribute.AWS_REGION),
+                executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME));
+        executionAttributes.putAttribute(PROBE, circuit(key).acquire(key));
+        executionAttributes.putAttribute(CIRCUIT_KEY, key);
+    }
+
+    @Override
+    public void afterExecution(final Context.AfterExecution context, final ExecutionAttributes executionAttributes) {
+        final String key = executionAttributes.getAttribute(CIRCUIT_KEY);
+        if (key != null) {
+            circuit(key).record(true, executionAttributes.getAttribute(PROBE));
+        }
+    }
+
+    @Override
+    public void onExecutionFailure(final Context.FailedExecution context, final ExecutionAttributes executionAttributes) {
+        final String key = executionAttributes.getAttribute(CIRCUIT_KEY);
+        if (key != null && !(context.exception() instanceof CircuitBreakerOpenException)) {
+            circuit(key).record(!isUnhealthy(context.exception()), executionAttributes.getAttribute(PROBE));
+        }
+    }
+
+    State state(final Region region, final String operationName) {
+        final Circuit circuit = circuits.get(key(region, operationName));
+        return circuit == null ? State.CLOSED : circuit.state();
+    }
+
+    static String key(final Region region, final String operationName) {
+        return (region == null ? "global" : region.id()) + "/" + operationName;
+    }
+
+    public static boolean isUnhealthy(final Throwable exception) {
+        if (exception instanceof SdkServiceException) {
+            final SdkServiceException serviceException = (SdkServiceException) exception;
+            return serviceException.statusCode() >= 500 && !serviceException.isThrottlingException();
+        }
+        return exception instanceof SdkClientException && !InvocationDeadline.isTimeout(exception);
+    }
+
+    private Circuit circuit(final String key) {
+        return circuits.computeIfAbsent(key, k -> new Circuit());
+    }
+
+    private final class Circuit {
+        // The last windowSize outcomes, true for a failure.
+        private final boolean[] failures = new boolean[windowSize];
+        private int next;
+        private int calls;
+        private int failed;
+        private State state = State.CLOSED;
+        private long openedAt;
+        private boolean probing;
+
+        synchronized State state() {
+            return state;
+        }
+
+        // Returns whether the call is the probe of a half-open circuit.
+        synchronized boolean acquire(final String key) {
+            if (state == State.CLOSED) {
+                return false;
+            }
+            final long openForNanos = nanoClock.getAsLong() - openedAt;
+            if (state == State.OPEN && openForNanos >= openNanos) {
+                state = State.HALF_OPEN;
+            }
+            if (state == State.HALF_OPEN && !probing) {
+                probing = true;
+                return true;
+            }
+            throw new CircuitBreakerOpenException(key, Math.max(0, openNanos - openForNanos));
+        }
+
+        synchronized void record(final boolean success, final boolean probe) {
+            if (probe) {
+                probing = false;
+                if (success) {
+                    reset();
+                } else {
+                    open();
+                }
+                return;
+            }
+            // Calls that started before the circuit opened do not count any more.
+            if (state != State.CLOSED) {
+                return;
+            }
+
+            if (calls == windowSize && failures[next]) {
+                failed--;
+            }
+            failures[next] = !success;
+            if (!success) {
+                failed++;
+            }
+            next = (next + 1) % windowSize;
+            calls = Math.min(calls + 1, windowSize);
+
+            if (calls >= minimumCalls && failed >= failureRate * calls) {
+                open();
+            }
+        }
+
+        private void open() {
+            state = State.OPEN;
+            openedAt = nanoClock.getAsLong();
+        }
+
+        private void reset() {
+            state = State.CLOSED;
+            next = 0;
+            calls = 0;
+            failed = 0;
+            Arrays.fill(failures, false);
+        }
+    }
+}
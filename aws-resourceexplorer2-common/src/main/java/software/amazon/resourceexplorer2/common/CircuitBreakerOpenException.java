@@ -0,0 +1,26 @@
+package software.amazon.resourceexplorer2.common;
+
+// Thrown instead of calling Resource Explorer while the circuit of the operation is open.
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String circuit;
+    private final long retryAfterNanos;
+
+    public CircuitBreakerOpenException(final String circuit, final long retryAfterNanos) {
+        super(String.format("Resource Explorer calls to %s are failing; not calling it for now.", circuit));
+        this.circuit = circuit;
+        this.retryAfterNanos = retryAfterNanos;
+    }
+
+    // The region and operation, e.g. "us-east-1/GetIndex".
+    public String getCircuit() {
+        return circuit;
+    }
+
+    // How long until the circuit lets a probe call through.
+    public long getRetryAfterNanos() {
+        return retryAfterNanos;
+    }
+}
@@ -0,0 +1,43 @@
+package software.amazon.resourceexplorer2.common;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Flight Recorder event for a phase of a handler invocation: the whole invocation, and within it
+// validation, tag merging, error mapping and the response. With ServiceCallEvent it tells where
+// the time of a slow invocation went, next to the GC and thread events of the same recording.
+// Request parsing and response serialization happen in the generated HandlerWrapper, outside
+// these events.
+@Name("software.amazon.resourceexplorer2.HandlerPhase")
+@Label("Handler Phase")
+@Category("Resource Explorer")
+@StackTrace(false)
+public final class HandlerPhaseEvent extends Event {
+
+    public static final String INVOCATION = "invocation";
+    public static final String VALIDATION = "validation";
+    public static final String TAGS = "tags";
+    public static final String ERROR_MAPPING = "errorMapping";
+    public static final String RESPONSE = "response";
+
+    @Label("Handler")
+    String handler;
+
+    @Label("Phase")
+    String phase;
+
+    // The handler is null for phases run by shared helpers; the enclosing invocation event on
+    // the same thread names it.
+    public static HandlerPhaseEvent started(final String handler, final String phase) {
+        final HandlerPhaseEvent event = new HandlerPhaseEvent();
+        if (event.isEnabled()) {
+            event.handler = handler;
+            event.phase = phase;
+            event.begin();
+        }
+        return event;
+    }
+}
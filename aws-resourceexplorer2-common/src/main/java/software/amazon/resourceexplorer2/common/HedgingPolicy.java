@@ -0,0 +1,265 @@
+package software.amazon.resourceexplorer2.common;
+
+import software.amazon.awssdk.core.exception.AbortedException;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Hedged reads: when a read has not returned after the given percentile of the recent latency of
+// its operation, the same request is sent again and whichever response comes first is used. Only
+// for idempotent reads such as GetIndex, GetView and GetDefaultView. Hedging is opt-in, see
+// fromEnvironment().
+//
+// Hedges are capped at maxHedgeRatio of the reads: every read earns maxHedgeRatio of a hedge and
+// every hedge spends a whole one, so a slow service sees at most that share of extra traffic.
+public class HedgingPolicy {
+
+    static final String PERCENTILE_ENV = "HEDGED_READS_PERCENTILE";
+    static final String MAX_HEDGE_RATIO_ENV = "HEDGED_READS_MAX_RATIO";
+    static final double DEFAULT_MAX_HEDGE_RATIO = 0.05;
+
+    // Latencies kept per operation, and how many a threshold needs before reads are hedged.
+    static final int WINDOW_SIZE = 256;
+    public static final int MIN_SAMPLES = 20;
+    // Unspent hedges never add up to more than a short burst.
+    private static final double MAX_HEDGE_TOKENS = 10;
+
+    private static final String PREFIX = "[Hedging] ";
+
+    private final double percentile;
+    private final double maxHedgeRatio;
+    private final ExecutorService executor;
+    private final Map<String, OperationStats> stats = new ConcurrentSkipListMap<>();
+    private double hedgeTokens;
+
+    public HedgingPolicy(final double percentile, final double maxHedgeRatio) {
+        this(percentile, maxHedgeRatio, Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "hedged-read");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    HedgingPolicy(final double percentile, final double maxHedgeRatio, final ExecutorService executor) {
+        if (percentile <= 0 || percentile >= 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+        if (maxHedgeRatio < 0 || maxHedgeRatio > 1) {
+            throw new IllegalArgumentException("maxHedgeRatio must be between 0 and 1");
+        }
+        this.percentile = percentile;
+        this.maxHedgeRatio = maxHedgeRatio;
+        this.executor = executor;
+    }
+
+    // Hedging is on when HEDGED_READS_PERCENTILE is set, e.g. to 95; HEDGED_READS_MAX_RATIO caps
+    // the hedges, 0.05 by default. Returns null when hedging is off. The policy is shared by every
+    // handler of the container, of every resource type in the consolidated handler, so that its
+    // latencies outlive a single invocation.
+    public static HedgingPolicy fromEnvironment() {
+        return EnvironmentHolder.POLICY;
+    }
+
+    private static class EnvironmentHolder {
+        static final HedgingPolicy POLICY = create(System.getenv(PERCENTILE_ENV), System.getenv(MAX_HEDGE_RATIO_ENV));
+
+        static HedgingPolicy create(final String percentile, final String maxHedgeRatio) {
+            if (percentile == null || percentile.isEmpty()) {
+                return null;
+            }
+            return new HedgingPolicy(Double.parseDouble(percentile),
+                    maxHedgeRatio == null || maxHedgeRatio.isEmpty() ? DEFAULT_MAX_HEDGE_RATIO : Double.parseDouble(maxHedgeRatio));
+        }
+    }
+
+    // Runs read, hedging it once when it is slow. A failure is only thrown once every attempt failed.
+    public <ResponseT> ResponseT call(final String operationName, final Supplier<ResponseT> read) {
+        final OperationStats operation = stats.computeIfAbsent(operationName, name -> new OperationStats());
+        operation.reads.incrementAndGet();
+        earnHedge();
+
+        final long start = System.nanoTime();
+        final long threshold = operation.primaryLatencies.percentile(percentile);
+        if (threshold < 0) {
+            // Not enough latencies yet to tell what slow is.
+            final ResponseT response = read.get();
+            operation.recordUnhedged(System.nanoTime() - start);
+            return response;
+        }
+
+        final CompletableFuture<ResponseT> primary = attempt(read);
+        primary.whenComplete((response, error) -> {
+            if (error == null) {
+                operation.primaryLatencies.add(System.nanoTime() - start);
+            }
+        });
+        try {
+            final ResponseT response = primary.get(threshold, TimeUnit.NANOSECONDS);
+            operation.observedLatencies.add(System.nanoTime() - start);
+            return response;
+        } catch (TimeoutException e) {
+            // Slow: hedge below.
+        } catch (InterruptedException | ExecutionException e) {
+            throw unwrap(e);
+        }
+
+        if (!spendHedge()) {
+            operation.rateLimited.incrementAndGet();
+            final ResponseT response = join(primary);
+            operation.observedLatencies.add(System.nanoTime() - start);
+            return response;
+        }
+
+        operation.hedges.incrementAndGet();
+        final CompletableFuture<ResponseT> hedge = attempt(read);
+        final CompletableFuture<ResponseT> first = new CompletableFuture<>();
+        final AtomicBoolean answered = new AtomicBoolean();
+        final AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((response, error) -> complete(first, response, error, answered, failures, () -> { }));
+        hedge.whenComplete((response, error) -> complete(first, response, error, answered, failures,
+                operation.hedgeWins::incrementAndGet));
+
+        final ResponseT response = join(first);
+        operation.observedLatencies.add(System.nanoTime() - start);
+        return response;
+    }
+
+    // One line per operation, e.g. "[Hedging] GetIndex reads=500 hedges=20 hedgeWins=14
+    // rateLimited=3 primaryP99Ms=812 observedP99Ms=240". The p99 of the first attempts against
+    // the p99 of what callers got shows how much of the tail the hedges cut.
+    public String summary() {
+        final StringBuilder summary = new StringBuilder();
+        for (Map.Entry<String, OperationStats> entry : stats.entrySet()) {
+            final OperationStats operation = entry.getValue();
+            if (summary.length() > 0) {
+                summary.append('\n');
+            }
+            summary.append(PREFIX).append(entry.getKey())
+                    .append(" reads=").append(operation.reads.get())
+                    .append(" hedges=").append(operation.hedges.get())
+                    .append(" hedgeWins=").append(operation.hedgeWins.get())
+                    .append(" rateLimited=").append(operation.rateLimited.get())
+                    .append(" primaryP99Ms=").append(millis(operation.primaryLatencies.percentile(99)))
+                    .append(" observedP99Ms=").append(millis(operation.observedLatencies.percentile(99)));
+        }
+        return summary.toString();
+    }
+
+    OperationStats stats(final String operationName) {
+        return stats.get(operationName);
+    }
+
+    private <ResponseT> CompletableFuture<ResponseT> attempt(final Supplier<ResponseT> read) {
+        return CompletableFuture.supplyAsync(read, executor);
+    }
+
+    // Takes the first success and fails only when both attempts failed. onWin runs before the
+    // caller gets the response, so the metrics are up to date when it returns.
+    private static <ResponseT> void complete(
+            final CompletableFuture<ResponseT> first,
+            final ResponseT response,
+            final Throwable error,
+            final AtomicBoolean answered,
+            final AtomicInteger failures,
+            final Runnable onWin) {
+
+        if (error == null) {
+            if (answered.compareAndSet(false, true)) {
+                onWin.run();
+                first.complete(response);
+            }
+        } else if (failures.incrementAndGet() == 2) {
+            first.completeExceptionally(error);
+        }
+    }
+
+    private synchronized void earnHedge() {
+        hedgeTokens = Math.min(MAX_HEDGE_TOKENS, hedgeTokens + maxHedgeRatio);
+    }
+
+    private synchronized boolean spendHedge() {
+        if (hedgeTokens < 1) {
+            return false;
+        }
+        hedgeTokens -= 1;
+        return true;
+    }
+
+    private static <ResponseT> ResponseT join(final CompletableFuture<ResponseT> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(final Exception e) {
+        if (e instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+            return AbortedException.builder().message("Interrupted while waiting for a read.").cause(e).build();
+        }
+        Throwable cause = e.getCause();
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private static String millis(final long nanos) {
+        return nanos < 0 ? "-" : Long.toString(TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    static class OperationStats {
+        final AtomicLong reads = new AtomicLong();
+        final AtomicLong hedges = new AtomicLong();
+        final AtomicLong hedgeWins = new AtomicLong();
+        final AtomicLong rateLimited = new AtomicLong();
+        // Latencies of first attempts, which set the threshold, and of what the caller got.
+        final LatencyWindow primaryLatencies = new LatencyWindow();
+        final LatencyWindow observedLatencies = new LatencyWindow();
+
+        private void recordUnhedged(final long latency) {
+            primaryLatencies.add(latency);
+            observedLatencies.add(latency);
+        }
+    }
+
+    // The last WINDOW_SIZE latencies of an operation, in nanoseconds.
+    static class LatencyWindow {
+        private final long[] samples = new long[WINDOW_SIZE];
+        private int next;
+        private int size;
+
+        synchronized void add(final long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % WINDOW_SIZE;
+            size = Math.min(size + 1, WINDOW_SIZE);
+        }
+
+        // Returns -1 while there are fewer than MIN_SAMPLES latencies.
+        synchronized long percentile(final double percentile) {
+            if (size < MIN_SAMPLES) {
+                return -1;
+            }
+            final long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            final int rank = (int) Math.ceil(percentile / 100 * size) - 1;
+            return sorted[Math.max(0, Math.min(rank, size - 1))];
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package software.amazon.resourceexplorer2.common;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+// The last known state of an inventory, for drift detection: one 64-bit content hash per ARN.
+// The file is memory-mapped rather than read, so opening it costs nothing however many records
+// it holds, and ARNs are found by binary search over an offset table:
+//
+//   int magic, int version, int count
+//   int[count] record offsets, relative to the first record
+//   count records of: long hash, short ARN length, ARN bytes (UTF-8), sorted by ARN
+//
+// IndexDriftDetector and ViewDriftDetector both keep their snapshots in this format.
+public final class InventorySnapshot {
+
+    public enum DriftKind {
+        ADDED,
+        CHANGED,
+        REMOVED
+    }
+
+    private static final int MAGIC = 0x52455832;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 3 * Integer.BYTES;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int recordsStart;
+
+    private InventorySnapshot(final ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.count = buffer.capacity() == 0 ? 0 : buffer.getInt(2 * Integer.BYTES);
+        this.recordsStart = HEADER_BYTES + count * Integer.BYTES;
+    }
+
+    // A missing file is an empty snapshot, as on the first run.
+    public static InventorySnapshot open(final Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return new InventorySnapshot(ByteBuffer.allocate(0));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+                throw new IOException(file + " is not an inventory snapshot.");
+            }
+            return new InventorySnapshot(buffer);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public String arn(final int index) {
+        final int record = recordOffset(index) + Long.BYTES;
+        final byte[] arn = new byte[buffer.getShort(record)];
+        for (int i = 0; i < arn.length; i++) {
+            arn[i] = buffer.get(record + Short.BYTES + i);
+        }
+        return new String(arn, StandardCharsets.UTF_8);
+    }
+
+    public long hash(final int index) {
+        return buffer.getLong(recordOffset(index));
+    }
+
+    // Returns the index of arn, or -1 when the snapshot does not have it.
+    public int find(final String arn) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int comparison = arn(middle).compareTo(arn);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    public Comparison compare() {
+        return new Comparison();
+    }
+
+    // FNV-1a over the serialized record; collisions are negligible at inventory sizes.
+    public static long contentHash(final byte[] content) {
+        long hash = FNV_OFFSET_BASIS;
+        for (final byte b : content) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    // Written to a temporary file and moved into place, so a failed run leaves the previous snapshot.
+    public static void write(final Path file, final TreeMap<String, Long> hashes) throws IOException {
+        final Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(hashes.size());
+
+            int offset = 0;
+            for (final String arn : hashes.keySet()) {
+                out.writeInt(offset);
+                offset += Long.BYTES + Short.BYTES + arn.getBytes(StandardCharsets.UTF_8).length;
+            }
+            for (final Map.Entry<String, Long> entry : hashes.entrySet()) {
+                final byte[] arn = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                out.writeLong(entry.getValue());
+                out.writeShort(arn.length);
+                out.write(arn);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private int recordOffset(final int index) {
+        return recordsStart + buffer.getInt(HEADER_BYTES + index * Integer.BYTES);
+    }
+
+    // One pass of fresh records against the snapshot. Records can arrive in any order; each is
+    // looked up as it comes, so only the ARNs and hashes of the next snapshot are held.
+    public final class Comparison {
+        private final BitSet seen = new BitSet(count);
+        private final TreeMap<String, Long> next = new TreeMap<>();
+
+        // Returns how the record differs from the snapshot, or null when it does not.
+        public DriftKind record(final String arn, final long hash) {
+            next.put(arn, hash);
+            final int index = find(arn);
+            if (index < 0) {
+                return DriftKind.ADDED;
+            }
+            seen.set(index);
+            return hash(index) == hash ? null : DriftKind.CHANGED;
+        }
+
+        // Keeps a record that could not be read this time as it was, instead of reporting it removed.
+        public void keep(final String arn) {
+            final int index = find(arn);
+            if (index >= 0) {
+                seen.set(index);
+                next.put(arn, hash(index));
+            }
+        }
+
+        // Reports every snapshot ARN that was neither recorded nor kept.
+        public void forEachRemoved(final Consumer<String> removed) {
+            for (int index = seen.nextClearBit(0); index < count; index = seen.nextClearBit(index + 1)) {
+                removed.accept(arn(index));
+            }
+        }
+
+        public void writeTo(final Path file) throws IOException {
+            write(file, next);
+        }
+    }
+}
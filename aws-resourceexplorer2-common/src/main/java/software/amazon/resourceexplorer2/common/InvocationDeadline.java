@@ -0,0 +1,70 @@
+package software.amazon.resourceexplorer2.common;
+
+import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+// The time one handler invocation has left. Handlers are not handed the Lambda context, so the
+// deadline runs from the handler's entry over HANDLER_TIME_BUDGET_SECONDS, 60 by default. Every
+// Resource Explorer call gets the remaining time as its timeout, and handlers stop before a new
+// step when too little is left, answering IN_PROGRESS so the next invocation goes on from there.
+public final class InvocationDeadline {
+
+    static final String BUDGET_ENV = "HANDLER_TIME_BUDGET_SECONDS";
+    static final Duration DEFAULT_BUDGET = Duration.ofSeconds(60);
+    // Kept back for the handler to build and return its progress event after its last call.
+    static final Duration RESERVE = Duration.ofSeconds(5);
+    // No call gets less time than this, and no new step starts with less left.
+    static final Duration MIN_CALL_TIME = Duration.ofSeconds(2);
+    // One hung attempt should still leave time for the SDK to retry.
+    static final Duration MAX_ATTEMPT_TIME = Duration.ofSeconds(10);
+
+    private final long deadlineNanos;
+    private final LongSupplier nanoClock;
+
+    InvocationDeadline(final Duration budget, final LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.deadlineNanos = nanoClock.getAsLong() + budget.toNanos();
+    }
+
+    static InvocationDeadline startingNow(final Duration budget) {
+        return new InvocationDeadline(budget, System::nanoTime);
+    }
+
+    static Duration budgetFromEnvironment() {
+        final String budget = System.getenv(BUDGET_ENV);
+        return budget == null || budget.isEmpty() ? DEFAULT_BUDGET : Duration.ofSeconds(Long.parseLong(budget));
+    }
+
+    Duration remaining() {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - RESERVE.toNanos() - nanoClock.getAsLong()));
+    }
+
+    boolean hasTimeForAnotherStep() {
+        return hasTimeForAnotherStepAfter(Duration.ZERO);
+    }
+
+    // Whether a step started after waiting delay, e.g. a retry after its backoff, would have time.
+    boolean hasTimeForAnotherStepAfter(final Duration delay) {
+        return remaining().minus(delay).compareTo(MIN_CALL_TIME) >= 0;
+    }
+
+    // Whether the call ran out of the time the deadline gave it. The handlers set no other call
+    // timeouts, so this says nothing about the health of the service.
+    public static boolean isTimeout(final Throwable exception) {
+        return exception instanceof ApiCallTimeoutException || exception instanceof ApiCallAttemptTimeoutException;
+    }
+
+    // Total time for a call, retries included.
+    Duration callTimeout() {
+        final Duration remaining = remaining();
+        return remaining.compareTo(MIN_CALL_TIME) < 0 ? MIN_CALL_TIME : remaining;
+    }
+
+    Duration attemptTimeout() {
+        final Duration callTimeout = callTimeout();
+        return callTimeout.compareTo(MAX_ATTEMPT_TIME) > 0 ? MAX_ATTEMPT_TIME : callTimeout;
+    }
+}
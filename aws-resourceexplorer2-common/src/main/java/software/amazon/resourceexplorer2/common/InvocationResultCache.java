@@ -0,0 +1,141 @@
+package software.amazon.resourceexplorer2.common;
+
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// The terminal results of recent invocations of this container, keyed by handler class and client
+// request token. CloudFormation and Cloud Control deliver a request again when they did not get
+// its answer in time; when this container already finished it, the recorded result is returned
+// instead of running the calls again. Entries expire after ttl and the least recently used one
+// is dropped beyond maxEntries.
+//
+// Failures that a retry could turn into a success, such as Throttling, are not recorded.
+public class InvocationResultCache {
+
+    static final int DEFAULT_MAX_ENTRIES = 128;
+    static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+    private static final Set<HandlerErrorCode> RETRIABLE_ERROR_CODES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            HandlerErrorCode.Throttling,
+            HandlerErrorCode.NetworkFailure,
+            HandlerErrorCode.ServiceInternalError,
+            HandlerErrorCode.InternalFailure,
+            HandlerErrorCode.GeneralServiceException)));
+
+    private static final String PREFIX = "[ResultCache] ";
+
+    private final Map<String, Entry> entries;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public InvocationResultCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL, System::nanoTime);
+    }
+
+    InvocationResultCache(final int maxEntries, final Duration ttl, final LongSupplier nanoClock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        // Access order, so that the eldest entry is the least recently used one.
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Shared by every handler of the container.
+    static InvocationResultCache shared() {
+        return SharedHolder.CACHE;
+    }
+
+    private static class SharedHolder {
+        static final InvocationResultCache CACHE = new InvocationResultCache();
+    }
+
+    // Returns the recorded result of the handler for the token, or null.
+    synchronized ProgressEvent<?, ?> get(final String handlerName, final String clientRequestToken) {
+        if (clientRequestToken == null) {
+            return null;
+        }
+        final String key = key(handlerName, clientRequestToken);
+        final Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (nanoClock.getAsLong() - entry.recordedAt >= ttlNanos) {
+            entries.remove(key);
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.event;
+    }
+
+    // Records SUCCESS and final FAILED results; IN_PROGRESS and retriable failures are skipped.
+    synchronized void put(final String handlerName, final String clientRequestToken, final ProgressEvent<?, ?> event) {
+        if (clientRequestToken == null || event == null || !isTerminal(event)) {
+            return;
+        }
+        entries.put(key(handlerName, clientRequestToken), new Entry(event, nanoClock.getAsLong()));
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    // e.g. "[ResultCache] entries=12 hits=3 misses=40 evictions=0".
+    synchronized String summary() {
+        return PREFIX + "entries=" + entries.size()
+                + " hits=" + hits.get()
+                + " misses=" + misses.get()
+                + " evictions=" + evictions.get();
+    }
+
+    long hits() {
+        return hits.get();
+    }
+
+    static boolean isTerminal(final ProgressEvent<?, ?> event) {
+        if (event.getStatus() == OperationStatus.SUCCESS) {
+            return true;
+        }
+        return event.getStatus() == OperationStatus.FAILED && !RETRIABLE_ERROR_CODES.contains(event.getErrorCode());
+    }
+
+    private static String key(final String handlerName, final String clientRequestToken) {
+        return handlerName + "/" + clientRequestToken;
+    }
+
+    private static final class Entry {
+        private final ProgressEvent<?, ?> event;
+        private final long recordedAt;
+
+        private Entry(final ProgressEvent<?, ?> event, final long recordedAt) {
+            this.event = event;
+            this.recordedAt = recordedAt;
+        }
+    }
+}
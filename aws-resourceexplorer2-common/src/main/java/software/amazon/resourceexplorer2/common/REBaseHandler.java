@@ -0,0 +1,260 @@
+package software.amazon.resourceexplorer2.common;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// What every handler of the three resource types does around its own work, for a model type M and
+// a callback context type C. The wrapper generated for each type only accepts subclasses of its own
+// generated BaseHandler, so each module's REBaseHandler extends that and hands its invocations to
+// a subclass of this one.
+public abstract class REBaseHandler<M, C> {
+
+    // How long a handler waits before running again when a circuit breaker turned it away.
+    public static final int CIRCUIT_OPEN_CALLBACK_DELAY_SECONDS = 60;
+    // A handler whose call ran out of the invocation's time goes on at once, with a new budget.
+    public static final int DEADLINE_CALLBACK_DELAY_SECONDS = 0;
+
+    // Resource Explorer calls made by the current invocation, grouped by operation.
+    private final ServiceCallCounter serviceCallCounter = new ServiceCallCounter();
+
+    // Null unless hedged reads are turned on, see HedgingPolicy.fromEnvironment().
+    private HedgingPolicy hedgingPolicy = HedgingPolicy.fromEnvironment();
+
+    private Duration timeBudget = InvocationDeadline.budgetFromEnvironment();
+    private InvocationDeadline deadline;
+
+    // Set when a call of the current invocation was turned away by the circuit breaker.
+    private volatile CircuitBreakerOpenException circuitBreakerRejection;
+    // Set when a call of the current invocation ran out of its time, see InvocationDeadline.isTimeout.
+    private volatile RuntimeException deadlineTimeout;
+
+    private InvocationResultCache resultCache = InvocationResultCache.shared();
+
+    // The free-form log lines of the current invocation, written to its logger in one call as it ends.
+    private final BufferedLogger bufferedLogger = new BufferedLogger(BufferedLogger.MAX_BUFFERED_CHARS);
+
+    public ProgressEvent<M, C> handleRequest(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<M> request,
+            final C callbackContext,
+            final Logger invocationLogger) {
+
+        deadline = InvocationDeadline.startingNow(timeBudget);
+        final Logger logger = bufferedLogger.start(invocationLogger, deadline);
+        logRequestInfo(request, logger);
+
+        serviceCallCounter.reset();
+        circuitBreakerRejection = null;
+        deadlineTimeout = null;
+        final String handlerName = handlerClass().getSimpleName();
+        final HandlerPhaseEvent invocation = HandlerPhaseEvent.started(handlerName, HandlerPhaseEvent.INVOCATION);
+        try {
+            // A request delivered again after this container already finished it.
+            final ProgressEvent<M, C> recorded = recordedResult(request, callbackContext);
+            if (recorded != null) {
+                logger.log(String.format("[ResultCache] %s already finished request %s, returning its result.",
+                        handlerName, request.getClientRequestToken()));
+                return recorded;
+            }
+
+            final ProgressEvent<M, C> result = handleResourceRequest(proxy, request, callbackContext, logger);
+            final HandlerPhaseEvent response = HandlerPhaseEvent.started(handlerName, HandlerPhaseEvent.RESPONSE);
+            try {
+                final ProgressEvent<M, C> event = retryLater(result, callbackContext, logger);
+                if (changesResources()) {
+                    // By class name, as the handlers of the three types share the cache in one container.
+                    resultCache.put(handlerClass().getName(), request.getClientRequestToken(), event);
+                }
+                return event;
+            } finally {
+                response.commit();
+            }
+        } finally {
+            invocation.commit();
+            // Also when the handler throws, so its lines are written before the failure is reported.
+            bufferedLogger.flush();
+            // CloudWatch metric filters read the one-line summaries, so each is a record of its own,
+            // written past the buffer and never dropped with its overflow.
+            logSummary(invocationLogger, serviceCallCounter.summary(handlerName));
+            if (hedgingPolicy != null) {
+                logSummary(invocationLogger, hedgingPolicy.summary());
+            }
+            if (changesResources()) {
+                logSummary(invocationLogger, resultCache.summary());
+            }
+        }
+    }
+
+    private static void logSummary(final Logger invocationLogger, final String summary) {
+        if (invocationLogger != null) {
+            invocationLogger.log(summary);
+        }
+    }
+
+    // Only the first invocation of a request can be a duplicate: callbacks carry the context of
+    // an IN_PROGRESS result, and those are never recorded.
+    @SuppressWarnings("unchecked")
+    private ProgressEvent<M, C> recordedResult(
+            final ResourceHandlerRequest<M> request,
+            final C callbackContext) {
+
+        if (!changesResources() || callbackContext != null) {
+            return null;
+        }
+        // The result was recorded by this same handler class, so its types are M and C.
+        return (ProgressEvent<M, C>) resultCache.get(handlerClass().getName(), request.getClientRequestToken());
+    }
+
+    protected abstract ProgressEvent<M, C> handleResourceRequest(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<M> request,
+            final C callbackContext,
+            final Logger logger);
+
+    // The handler class named in logs, events and the result cache.
+    protected Class<?> handlerClass() {
+        return getClass();
+    }
+
+    // Every Resource Explorer call goes through here, so that it is counted against this invocation.
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT invoke(
+            final AmazonWebServicesClientProxy proxy,
+            final RequestT request,
+            final Function<RequestT, ResponseT> requestFunction) {
+
+        serviceCallCounter.record(request);
+        final ServiceCallEvent call = ServiceCallEvent.started(handlerClass().getSimpleName(), request);
+        try {
+            return proxy.injectCredentialsAndInvokeV2(request,
+                    requestWithCredentials -> requestFunction.apply(withDeadline(requestWithCredentials)));
+        } catch (CircuitBreakerOpenException e) {
+            circuitBreakerRejection = e;
+            call.failed(e);
+            throw e;
+        } catch (RuntimeException e) {
+            if (InvocationDeadline.isTimeout(e)) {
+                deadlineTimeout = e;
+            }
+            call.failed(e);
+            throw e;
+        } finally {
+            call.commit();
+        }
+    }
+
+    // Whether there is time left for another step of work, e.g. UpdateIndexType after CreateIndex.
+    // When there is not, the handler answers IN_PROGRESS with its CallbackContext instead of
+    // starting it and risking the Lambda timing out with the work done so far unrecorded.
+    public boolean hasTimeForAnotherStep() {
+        return deadline == null || deadline.hasTimeForAnotherStep();
+    }
+
+    public boolean hasTimeForAnotherStepAfter(final Duration delay) {
+        return deadline == null || deadline.hasTimeForAnotherStepAfter(delay);
+    }
+
+    // The proxy replaces the override configuration of the request with its credentials, so the
+    // timeouts are added to the request it passes on.
+    @SuppressWarnings("unchecked")
+    private <RequestT extends AwsRequest> RequestT withDeadline(final RequestT request) {
+        final InvocationDeadline invocationDeadline = deadline;
+        if (invocationDeadline == null) {
+            return request;
+        }
+        final AwsRequestOverrideConfiguration overrideConfiguration = request.overrideConfiguration()
+                .map(AwsRequestOverrideConfiguration::toBuilder)
+                .orElseGet(AwsRequestOverrideConfiguration::builder)
+                .apiCallTimeout(invocationDeadline.callTimeout())
+                .apiCallAttemptTimeout(invocationDeadline.attemptTimeout())
+                .build();
+        return (RequestT) request.toBuilder()
+                .overrideConfiguration(overrideConfiguration)
+                .build();
+    }
+
+    void setResultCache(final InvocationResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    public void setTimeBudget(final Duration timeBudget) {
+        this.timeBudget = timeBudget;
+    }
+
+    // True for Create, Update and Delete. Only these may answer IN_PROGRESS, so Read and List
+    // handlers keep the Throttling failure when a circuit is open, and only these have results
+    // worth recording against a duplicate delivery.
+    protected boolean changesResources() {
+        return false;
+    }
+
+    // A handler that failed because the circuit breaker turned a call away runs again after
+    // CIRCUIT_OPEN_CALLBACK_DELAY_SECONDS, instead of failing the stack or holding the Lambda
+    // while the region recovers. One whose call ran out of the invocation's time, which the
+    // Convertors report as NetworkFailure, goes on in a new invocation with its CallbackContext.
+    private ProgressEvent<M, C> retryLater(
+            final ProgressEvent<M, C> event,
+            final C callbackContext,
+            final Logger logger) {
+
+        if (!changesResources() || event.getStatus() != OperationStatus.FAILED) {
+            return event;
+        }
+        final CircuitBreakerOpenException rejection = circuitBreakerRejection;
+        final int callbackDelaySeconds;
+        if (rejection != null && event.getErrorCode() == HandlerErrorCode.Throttling) {
+            logger.log(String.format("[CircuitBreaker] %s is open, trying again in %d seconds.",
+                    rejection.getCircuit(), CIRCUIT_OPEN_CALLBACK_DELAY_SECONDS));
+            callbackDelaySeconds = CIRCUIT_OPEN_CALLBACK_DELAY_SECONDS;
+        } else if (deadlineTimeout != null && event.getErrorCode() == HandlerErrorCode.NetworkFailure) {
+            logger.log(String.format("[Deadline] A call ran out of time, continuing in a new invocation: %s",
+                    deadlineTimeout.getMessage()));
+            callbackDelaySeconds = DEADLINE_CALLBACK_DELAY_SECONDS;
+        } else {
+            return event;
+        }
+        return ProgressEvent.defaultInProgressHandler(
+                event.getCallbackContext() != null ? event.getCallbackContext() : callbackContext,
+                callbackDelaySeconds,
+                event.getResourceModel());
+    }
+
+    // For idempotent reads only: the request may be sent twice when hedging is on. Each attempt
+    // is counted.
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT invokeRead(
+            final AmazonWebServicesClientProxy proxy,
+            final RequestT request,
+            final Function<RequestT, ResponseT> requestFunction) {
+
+        if (hedgingPolicy == null) {
+            return invoke(proxy, request, requestFunction);
+        }
+        return hedgingPolicy.call(ServiceCallCounter.operationName(request),
+                () -> invoke(proxy, request, requestFunction));
+    }
+
+    public void setHedgingPolicy(final HedgingPolicy hedgingPolicy) {
+        this.hedgingPolicy = hedgingPolicy;
+    }
+
+    public ServiceCallCounter getServiceCallCounter() {
+        return serviceCallCounter;
+    }
+
+    protected void logRequestInfo(
+            final ResourceHandlerRequest<M> request,
+            final Logger logger) {
+
+        logger.log(String.format("Starting request for %s with token %s, stack %s", request.getAwsAccountId(), request.getClientRequestToken(), request.getStackId()));
+    }
+
+}
@@ -0,0 +1,328 @@
+package software.amazon.resourceexplorer2.common;
+
+import software.amazon.awssdk.core.SdkClient;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.regions.Region;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+
+// Lazily built clients, one per region, all sending their requests through the same HTTP
+// client and so the same connection pool. Lookups of a region that already has a client take
+// no lock. The Index and DefaultViewAssociation handlers each keep one for their cross-region
+// calls, built by their ClientFactory.
+// A client is only used under a lease. getClient hands out a client that takes a lease for
+// each call, and lease lets a caller hold one client over several calls. Each lookup closes
+// the clients idle for longer than idleTimeout, and the least recently used ones while there
+// are more than maxClients. A leased client is never closed: it stays, over the bound if need
+// be, and an evicted client still in use is closed when its last lease is released.
+public class RegionalClientRegistry<C extends SdkClient> implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_CLIENTS = 8;
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(10);
+
+    private final Map<Region, RegionalClient<C>> clients = new ConcurrentHashMap<>();
+    private final Map<Region, C> handles = new ConcurrentHashMap<>();
+    private final Map<Region, ConnectionMetrics> connectionMetrics = new ConcurrentHashMap<>();
+    private final Class<C> clientType;
+    private final int maxClients;
+    private final long idleTimeoutNanos;
+    private final SdkHttpClient httpClient;
+    private final BiFunction<Region, MetricPublisher, C> clientBuilder;
+    private final LongSupplier nanoClock;
+
+    // clientBuilder builds the client of a region on httpClient, with the given metric publisher.
+    public RegionalClientRegistry(
+            final Class<C> clientType,
+            final SdkHttpClient httpClient,
+            final BiFunction<Region, MetricPublisher, C> clientBuilder) {
+        this(clientType, DEFAULT_MAX_CLIENTS, DEFAULT_IDLE_TIMEOUT, httpClient, clientBuilder, System::nanoTime);
+    }
+
+    public RegionalClientRegistry(
+            final Class<C> clientType,
+            final int maxClients,
+            final Duration idleTimeout,
+            final SdkHttpClient httpClient,
+            final BiFunction<Region, MetricPublisher, C> clientBuilder,
+            final LongSupplier nanoClock) {
+        if (!clientType.isInterface()) {
+            throw new IllegalArgumentException("clientType must be a client interface");
+        }
+        if (maxClients < 1) {
+            throw new IllegalArgumentException("maxClients must be at least 1");
+        }
+        this.clientType = clientType;
+        this.maxClients = maxClients;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.httpClient = httpClient;
+        this.clientBuilder = clientBuilder;
+        this.nanoClock = nanoClock;
+    }
+
+    // The returned client can be kept: each call leases the region's current client for its
+    // duration, and closing it does nothing. Paginators should not be used through it, as
+    // their later pages would be fetched outside of the lease.
+    public C getClient(final Region region) {
+        return handles.computeIfAbsent(region, this::newHandle);
+    }
+
+    // The region's client, kept open until the lease is closed.
+    public Lease<C> lease(final Region region) {
+        final long now = nanoClock.getAsLong();
+        evictIdle(now, region);
+
+        while (true) {
+            RegionalClient<C> regionalClient = clients.get(region);
+            if (regionalClient == null) {
+                regionalClient = clients.computeIfAbsent(region, r -> new RegionalClient<>(
+                        clientBuilder.apply(r, connectionMetrics.computeIfAbsent(r, ConnectionMetrics::new)), now));
+            }
+            evictOverBound(region);
+            if (regionalClient.acquire(now)) {
+                return new Lease<>(regionalClient, nanoClock);
+            }
+            // Evicted between the lookup and the lease; a new client takes its place.
+            clients.remove(region, regionalClient);
+        }
+    }
+
+    public ConnectionMetrics getConnectionMetrics(final Region region) {
+        return connectionMetrics.get(region);
+    }
+
+    public int size() {
+        return clients.size();
+    }
+
+    @Override
+    public void close() {
+        clients.keySet().forEach(region -> remove(region, clients.get(region)));
+        httpClient.close();
+    }
+
+    // The client of the current lookup is kept, as it is about to be used.
+    private void evictIdle(final long now, final Region current) {
+        clients.forEach((region, regionalClient) -> {
+            if (!region.equals(current) && !regionalClient.inUse()
+                    && now - regionalClient.lastUsedNanos.get() > idleTimeoutNanos) {
+                remove(region, regionalClient);
+            }
+        });
+    }
+
+    // Closes the least recently used clients while the registry is over its bound. The client
+    // just built for the current lookup and the clients under a lease are never evicted.
+    private void evictOverBound(final Region current) {
+        while (clients.size() > maxClients) {
+            Region leastRecentlyUsed = null;
+            long oldest = Long.MAX_VALUE;
+            for (final Map.Entry<Region, RegionalClient<C>> entry : clients.entrySet()) {
+                final long lastUsed = entry.getValue().lastUsedNanos.get();
+                if (!entry.getKey().equals(current) && !entry.getValue().inUse() && lastUsed < oldest) {
+                    oldest = lastUsed;
+                    leastRecentlyUsed = entry.getKey();
+                }
+            }
+            if (leastRecentlyUsed == null) {
+                return;
+            }
+            remove(leastRecentlyUsed, clients.get(leastRecentlyUsed));
+        }
+    }
+
+    private void remove(final Region region, final RegionalClient<C> regionalClient) {
+        if (regionalClient != null && clients.remove(region, regionalClient)) {
+            regionalClient.retire();
+        }
+    }
+
+    private C newHandle(final Region region) {
+        return clientType.cast(Proxy.newProxyInstance(
+                clientType.getClassLoader(),
+                new Class<?>[] {clientType},
+                (handle, method, args) -> invokeLeased(handle, region, method, args)));
+    }
+
+    private Object invokeLeased(final Object handle, final Region region, final Method method, final Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "close":
+                return null;
+            case "equals":
+                return handle == args[0];
+            case "hashCode":
+                return System.identityHashCode(handle);
+            case "toString":
+                return clientType.getSimpleName() + " of the registry for " + region;
+            default:
+                break;
+        }
+        try (Lease<C> lease = lease(region)) {
+            return method.invoke(lease.client(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // A client that stays open until close is called. Close it exactly once, e.g. with
+    // try-with-resources.
+    public static final class Lease<C extends SdkClient> implements AutoCloseable {
+        private final RegionalClient<C> regionalClient;
+        private final LongSupplier nanoClock;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(final RegionalClient<C> regionalClient, final LongSupplier nanoClock) {
+            this.regionalClient = regionalClient;
+            this.nanoClock = nanoClock;
+        }
+
+        public C client() {
+            return regionalClient.client;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                regionalClient.release(nanoClock.getAsLong());
+            }
+        }
+    }
+
+    // state holds twice the number of leases, plus one once the client is retired. A retired
+    // client takes no new leases and is closed by whichever of retire or the last release
+    // sees no lease left, so exactly once.
+    private static final class RegionalClient<C extends SdkClient> {
+        private static final int RETIRED = 1;
+        private static final int ONE_LEASE = 2;
+
+        private final C client;
+        private final AtomicLong lastUsedNanos;
+        private final AtomicInteger state = new AtomicInteger();
+
+        private RegionalClient(final C client, final long now) {
+            this.client = client;
+            this.lastUsedNanos = new AtomicLong(now);
+        }
+
+        private boolean acquire(final long now) {
+            while (true) {
+                final int current = state.get();
+                if ((current & RETIRED) != 0) {
+                    return false;
+                }
+                if (state.compareAndSet(current, current + ONE_LEASE)) {
+                    lastUsedNanos.set(now);
+                    return true;
+                }
+            }
+        }
+
+        private void release(final long now) {
+            lastUsedNanos.set(now);
+            if (state.addAndGet(-ONE_LEASE) == RETIRED) {
+                client.close();
+            }
+        }
+
+        // Closing a client built with an external HTTP client leaves that HTTP client open,
+        // so the connection pool survives the eviction.
+        private void retire() {
+            while (true) {
+                final int current = state.get();
+                if ((current & RETIRED) != 0) {
+                    return;
+                }
+                if (state.compareAndSet(current, current | RETIRED)) {
+                    if (current == 0) {
+                        client.close();
+                    }
+                    return;
+                }
+            }
+        }
+
+        private boolean inUse() {
+            return state.get() >= ONE_LEASE;
+        }
+    }
+
+    // Connection pool figures reported by the HTTP client for the calls made in one region.
+    // The latest values are kept, together with the highest lease count seen.
+    public static final class ConnectionMetrics implements MetricPublisher {
+
+        private final Region region;
+        private final AtomicInteger leasedConnections = new AtomicInteger();
+        private final AtomicInteger availableConnections = new AtomicInteger();
+        private final AtomicInteger pendingAcquires = new AtomicInteger();
+        private final AtomicInteger peakLeasedConnections = new AtomicInteger();
+        private final AtomicLong publishedCalls = new AtomicLong();
+
+        ConnectionMetrics(final Region region) {
+            this.region = region;
+        }
+
+        @Override
+        public void publish(final MetricCollection metricCollection) {
+            publishedCalls.incrementAndGet();
+            record(metricCollection);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        public Region region() {
+            return region;
+        }
+
+        public int leasedConnections() {
+            return leasedConnections.get();
+        }
+
+        public int availableConnections() {
+            return availableConnections.get();
+        }
+
+        public int pendingAcquires() {
+            return pendingAcquires.get();
+        }
+
+        public int peakLeasedConnections() {
+            return peakLeasedConnections.get();
+        }
+
+        public long publishedCalls() {
+            return publishedCalls.get();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("[Connections] %s leased=%d available=%d pending=%d peakLeased=%d calls=%d",
+                    region, leasedConnections(), availableConnections(), pendingAcquires(),
+                    peakLeasedConnections(), publishedCalls());
+        }
+
+        // The HTTP metrics sit in a child collection of each API call attempt.
+        private void record(final MetricCollection metricCollection) {
+            metricCollection.metricValues(HttpMetric.LEASED_CONCURRENCY).forEach(leased -> {
+                leasedConnections.set(leased);
+                peakLeasedConnections.accumulateAndGet(leased, Math::max);
+            });
+            metricCollection.metricValues(HttpMetric.AVAILABLE_CONCURRENCY).forEach(availableConnections::set);
+            metricCollection.metricValues(HttpMetric.PENDING_CONCURRENCY_ACQUIRES).forEach(pendingAcquires::set);
+            metricCollection.children().forEach(this::record);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package software.amazon.resourceexplorer2.common;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Counts the Resource Explorer calls of one handler invocation by operation name,
+// e.g. "GetIndex" for a GetIndexRequest.
+public class ServiceCallCounter {
+
+    private static final String REQUEST_SUFFIX = "Request";
+
+    private final Map<String, Integer> counts = new ConcurrentSkipListMap<>();
+
+    void reset() {
+        counts.clear();
+    }
+
+    void record(final AwsRequest request) {
+        counts.merge(operationName(request), 1, Integer::sum);
+    }
+
+    public int count(final String operationName) {
+        return counts.getOrDefault(operationName, 0);
+    }
+
+    public int total() {
+        int total = 0;
+        for (int count : counts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    public Map<String, Integer> counts() {
+        return Collections.unmodifiableMap(counts);
+    }
+
+    // One line per invocation, e.g. "[ServiceCalls] CreateHandler total=2 CreateIndex=1 GetIndex=1".
+    // The fixed prefix and key=value layout let a CloudWatch metric filter turn it into metrics.
+    String summary(final String handlerName) {
+        StringBuilder summary = new StringBuilder("[ServiceCalls] ")
+                .append(handlerName)
+                .append(" total=")
+                .append(total());
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            summary.append(' ').append(entry.getKey()).append('=').append(entry.getValue());
+        }
+        return summary.toString();
+    }
+
+    static String operationName(final AwsRequest request) {
+        final String className = request.getClass().getSimpleName();
+        return className.endsWith(REQUEST_SUFFIX)
+                ? className.substring(0, className.length() - REQUEST_SUFFIX.length())
+                : className;
+    }
+}
@@ -0,0 +1,68 @@
+package software.amazon.resourceexplorer2.common;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+// Flight Recorder event for one Resource Explorer call, from REBaseHandler.invoke. Its duration
+// includes the proxy's credential injection and the SDK's retries. When no recording is running
+// the fields are not filled in, so the event can stay in production code.
+@Name("software.amazon.resourceexplorer2.ServiceCall")
+@Label("Resource Explorer Call")
+@Category("Resource Explorer")
+@StackTrace(false)
+final class ServiceCallEvent extends Event {
+
+    // Where the requests keep the ARN they act on, by member name.
+    private static final List<String> ARN_FIELDS = Arrays.asList("Arn", "ViewArn", "resourceArn");
+
+    @Label("Handler")
+    String handler;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("ARN")
+    String arn;
+
+    @Label("Error Code")
+    String errorCode;
+
+    static ServiceCallEvent started(final String handler, final AwsRequest request) {
+        final ServiceCallEvent event = new ServiceCallEvent();
+        if (event.isEnabled()) {
+            event.handler = handler;
+            event.operation = ServiceCallCounter.operationName(request);
+            event.arn = arnOf(request);
+            event.begin();
+        }
+        return event;
+    }
+
+    void failed(final RuntimeException e) {
+        if (isEnabled()) {
+            errorCode = e instanceof AwsServiceException && ((AwsServiceException) e).awsErrorDetails() != null
+                    ? ((AwsServiceException) e).awsErrorDetails().errorCode()
+                    : e.getClass().getSimpleName();
+        }
+    }
+
+    private static String arnOf(final AwsRequest request) {
+        for (String field : ARN_FIELDS) {
+            final Optional<String> arn = request.getValueForField(field, String.class);
+            if (arn.isPresent()) {
+                return arn.get();
+            }
+        }
+        return null;
+    }
+}
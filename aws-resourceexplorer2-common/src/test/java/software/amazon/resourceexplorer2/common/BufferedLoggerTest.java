@@ -0,0 +1,88 @@
+package software.amazon.resourceexplorer2.common;
+
+// CloudFormation package
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+// Resource Explorer package
+import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexResponse;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BufferedLoggerTest {
+
+    private final List<String> writes = new ArrayList<>();
+    private final Logger invocationLogger = writes::add;
+
+    @Test
+    public void log_WritesTheInvocationInOneCall() {
+        final BufferedLogger logger = new BufferedLogger(BufferedLogger.MAX_BUFFERED_CHARS);
+        logger.start(invocationLogger, InvocationDeadline.startingNow(InvocationDeadline.DEFAULT_BUDGET));
+
+        logger.log("[CREATE] Invoking CreateIndex.");
+        logger.log("[CREATE] Invoked CreateIndex.");
+        assertThat(writes).isEmpty();
+
+        logger.flush();
+        assertThat(writes).containsExactly("[CREATE] Invoking CreateIndex.\n[CREATE] Invoked CreateIndex.");
+
+        logger.flush();
+        assertThat(writes).hasSize(1);
+    }
+
+    @Test
+    public void log_OverTheLimit_DropsAndCountsLines() {
+        final BufferedLogger logger = new BufferedLogger(20);
+        logger.start(invocationLogger, null);
+
+        logger.log("0123456789");
+        logger.log("0123456789");
+        logger.log("012345678");
+        logger.flush();
+
+        assertThat(writes).containsExactly(
+                "0123456789\n012345678\n[BufferedLogger] Dropped 1 lines over the 20 character limit.");
+    }
+
+    @Test
+    public void log_NearTheDeadline_WritesAtOnce() {
+        final BufferedLogger logger = new BufferedLogger(BufferedLogger.MAX_BUFFERED_CHARS);
+        logger.start(invocationLogger, InvocationDeadline.startingNow(Duration.ZERO));
+
+        logger.log("[UPDATE] updateTagsHelper invokes.");
+
+        assertThat(writes).containsExactly("[UPDATE] updateTagsHelper invokes.");
+    }
+
+    // The summaries that metric filters read are records of their own, after the buffered lines.
+    @Test
+    public void handleRequest_WritesTheSummariesAsRecordsOfTheirOwn() {
+        final AmazonWebServicesClientProxy proxy = mock(AmazonWebServicesClientProxy.class);
+        doReturn(GetIndexResponse.builder().arn(TestHandler.INDEX_ARN).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetIndexRequest.class), any());
+
+        final TestHandler handler = new TestHandler(false, (self, handlerProxy, arn, handlerLogger) -> {
+            handlerLogger.log("[READ] Invoking GetIndex.");
+            self.invoke(handlerProxy, GetIndexRequest.builder().build(), request -> null);
+            handlerLogger.log("[READ] Invoked GetIndex.");
+            return ProgressEvent.defaultSuccessHandler(arn);
+        });
+        handler.setHedgingPolicy(null);
+        handler.handleRequest(proxy, TestHandler.requestFor(TestHandler.INDEX_ARN, null), null, invocationLogger);
+
+        assertThat(writes).hasSize(2);
+        assertThat(writes.get(0)).endsWith("[READ] Invoking GetIndex.\n[READ] Invoked GetIndex.");
+        assertThat(writes.get(1)).isEqualTo("[ServiceCalls] TestHandler total=1 GetIndex=1");
+    }
+}
@@ -0,0 +1,153 @@
+package software.amazon.resourceexplorer2.common;
+
+import software.amazon.awssdk.awscore.AwsExecutionAttribute;
+import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.resourceexplorer2.common.CircuitBreaker.State;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+public class CircuitBreakerTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    private long now;
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(10, 4, 0.5, OPEN_DURATION, () -> now);
+
+    @Test
+    public void opensWhenHalfOfTheRecentCallsFailed() {
+        succeed(Region.US_EAST_1, "GetIndex");
+        succeed(Region.US_EAST_1, "GetIndex");
+        fail(Region.US_EAST_1, "GetIndex", SdkServiceException.builder().statusCode(500).build());
+        assertThat(circuitBreaker.state(Region.US_EAST_1, "GetIndex")).isEqualTo(State.CLOSED);
+
+        fail(Region.US_EAST_1, "GetIndex", SdkClientException.create("Unable to execute HTTP request"));
+
+        assertThat(circuitBreaker.state(Region.US_EAST_1, "GetIndex")).isEqualTo(State.OPEN);
+        assertThatThrownBy(() -> circuitBreaker.beforeExecution(null, attributes(Region.US_EAST_1, "GetIndex")))
+                .isInstanceOf(CircuitBreakerOpenException.class)
+                .hasMessageContaining("us-east-1/GetIndex");
+    }
+
+    @Test
+    public void keepsCircuitsPerRegionAndOperation() {
+        for (int i = 0; i < 4; i++) {
+            fail(Region.US_EAST_1, "GetIndex", SdkServiceException.builder().statusCode(500).build());
+        }
+
+        assertThat(circuitBreaker.state(Region.US_EAST_1, "GetIndex")).isEqualTo(State.OPEN);
+        assertThat(circuitBreaker.state(Region.US_EAST_1, "ListIndexes")).isEqualTo(State.CLOSED);
+        assertThat(circuitBreaker.state(Region.US_WEST_2, "GetIndex")).isEqualTo(State.CLOSED);
+        succeed(Region.US_WEST_2, "GetIndex");
+    }
+
+    @Test
+    public void answersFromTheServiceDoNotCount() {
+        for (int i = 0; i < 10; i++) {
+            fail(Region.US_EAST_1, "GetIndex", SdkServiceException.builder().statusCode(404).build());
+        }
+
+        assertThat(circuitBreaker.state(Region.US_EAST_1, "GetIndex")).isEqualTo(State.CLOSED);
+    }
+
+    // Throttling is applied per account, while the circuit is shared by every account of the
+    // process, so a throttled account must not turn away the calls of another.
+    @Test
+    public void throttlingOfOneAccountDoesNotOpenTheCircuitForAnother() {
+        for (int i = 0; i < 10; i++) {
+            fail(Region.US_EAST_1, "GetIndex", SdkServiceException.builder().statusCode(429).build());
+        }
+
+        assertThat(circuitBreaker.state(Region.US_EAST_1, "GetIndex")).isEqualTo(State.CLOSED);
+        // The call of the second account goes through.
+        succeed(Region.US_EAST_1, "GetIndex");
+    }
+
+    // The deadline sets the call timeouts, so running out of them says nothing about the service.
+    @Test
+    public void deadlineTimeoutsDoNotCount() {
+        for (int i = 0; i < 5; i++) {
+            fail(Region.US_EAST_1, "GetIndex", ApiCallTimeoutException.create(1000));
+            fail(Region.US_EAST_1, "GetIndex", ApiCallAttemptTimeoutException.create(1000));
+        }
+
+        assertThat(circuitBreaker.state(Region.US_EAST_1, "GetIndex")).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    public void probeAfterOpenDurationClosesTheCircuit() {
+        open(Region.US_EAST_1, "GetIndex");
+        now += TimeUnit.SECONDS.toNanos(29);
+        assertThatThrownBy(() -> circuitBreaker.beforeExecution(null, attributes(Region.US_EAST_1, "GetIndex")))
+                .isInstanceOf(CircuitBreakerOpenException.class);
+
+        now += TimeUnit.SECONDS.toNanos(1);
+        final ExecutionAttributes probe = attributes(Region.US_EAST_1, "GetIndex");
+        circuitBreaker.beforeExecution(null, probe);
+        assertThat(circuitBreaker.state(Region.US_EAST_1, "GetIndex")).isEqualTo(State.HALF_OPEN);
+        // Only one probe at a time.
+        assertThatThrownBy(() -> circuitBreaker.beforeExecution(null, attributes(Region.US_EAST_1, "GetIndex")))
+                .isInstanceOf(CircuitBreakerOpenException.class);
+
+        circuitBreaker.afterExecution(null, probe);
+
+        assertThat(circuitBreaker.state(Region.US_EAST_1, "GetIndex")).isEqualTo(State.CLOSED);
+        succeed(Region.US_EAST_1, "GetIndex");
+    }
+
+    @Test
+    public void failedProbeOpensTheCircuitAgain() {
+        open(Region.US_EAST_1, "GetIndex");
+        now += OPEN_DURATION.toNanos();
+
+        fail(Region.US_EAST_1, "GetIndex", SdkServiceException.builder().statusCode(503).build());
+
+        assertThat(circuitBreaker.state(Region.US_EAST_1, "GetIndex")).isEqualTo(State.OPEN);
+        assertThatThrownBy(() -> circuitBreaker.beforeExecution(null, attributes(Region.US_EAST_1, "GetIndex")))
+                .isInstanceOf(CircuitBreakerOpenException.class)
+                .satisfies(e -> assertThat(((CircuitBreakerOpenException) e).getRetryAfterNanos())
+                        .isEqualTo(OPEN_DURATION.toNanos()));
+    }
+
+    private void open(final Region region, final String operationName) {
+        for (int i = 0; i < 4; i++) {
+            fail(region, operationName, SdkServiceException.builder().statusCode(500).build());
+        }
+        assertThat(circuitBreaker.state(region, operationName)).isEqualTo(State.OPEN);
+    }
+
+    private void succeed(final Region region, final String operationName) {
+        final ExecutionAttributes executionAttributes = attributes(region, operationName);
+        circuitBreaker.beforeExecution(null, executionAttributes);
+        circuitBreaker.afterExecution(null, executionAttributes);
+    }
+
+    private void fail(final Region region, final String operationName, final Exception exception) {
+        final ExecutionAttributes executionAttributes = attributes(region, operationName);
+        circuitBreaker.beforeExecution(null, executionAttributes);
+        final Context.FailedExecution failedExecution = mock(Context.FailedExecution.class);
+        when(failedExecution.exception()).thenReturn(exception);
+        circuitBreaker.onExecutionFailure(failedExecution, executionAttributes);
+    }
+
+    private static ExecutionAttributes attributes(final Region region, final String operationName) {
+        final ExecutionAttributes executionAttributes = new ExecutionAttributes();
+        executionAttributes.putAttribute(AwsExecutionAttribute.AWS_REGION, region);
+        executionAttributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, operationName);
+        return executionAttributes;
+    }
+}
@@ -0,0 +1,132 @@
+package software.amazon.resourceexplorer2.common;
+
+// CloudFormation package
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+// Resource Explorer package
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.resourceexplorer2.model.AccessDeniedException;
+import software.amazon.awssdk.services.resourceexplorer2.model.CreateIndexRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.CreateIndexResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.DeleteIndexRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexRequest;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Records the Flight Recorder events of two invocations into target/handler-events.jfr and reads
+// them back, as someone looking into a slow invocation would.
+public class HandlerEventsTest {
+
+    private static final String PHASE_EVENT = "software.amazon.resourceexplorer2.HandlerPhase";
+    private static final String CALL_EVENT = "software.amazon.resourceexplorer2.ServiceCall";
+
+    private AmazonWebServicesClientProxy proxy;
+    private Logger logger;
+
+    @BeforeEach
+    public void setup() {
+        proxy = mock(AmazonWebServicesClientProxy.class);
+        logger = mock(Logger.class);
+    }
+
+    @Test
+    public void handleRequest_WhileRecording_RecordsPhasesAndCalls() throws IOException {
+        doReturn(CreateIndexResponse.builder().arn(TestHandler.INDEX_ARN).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(CreateIndexRequest.class), any());
+        doThrow(AccessDeniedException.builder()
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("AccessDeniedException").build())
+                .build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(DeleteIndexRequest.class), any());
+
+        final TestHandler create = new TestHandler(true, (handler, handlerProxy, arn, handlerLogger) -> {
+            final HandlerPhaseEvent validation = HandlerPhaseEvent.started(null, HandlerPhaseEvent.VALIDATION);
+            validation.commit();
+            handler.invoke(handlerProxy, CreateIndexRequest.builder().build(), request -> null);
+            return ProgressEvent.defaultSuccessHandler(arn);
+        });
+        final TestHandler delete = new TestHandler(true, (handler, handlerProxy, arn, handlerLogger) -> {
+            try {
+                handler.invoke(handlerProxy, DeleteIndexRequest.builder().arn(arn).build(), request -> null);
+                return ProgressEvent.defaultSuccessHandler(null);
+            } catch (AccessDeniedException e) {
+                final HandlerPhaseEvent errorMapping = HandlerPhaseEvent.started(null, HandlerPhaseEvent.ERROR_MAPPING);
+                errorMapping.commit();
+                return ProgressEvent.defaultFailureHandler(e, null);
+            }
+        });
+
+        final Path recordingFile = Paths.get("target", "handler-events.jfr");
+        Files.createDirectories(recordingFile.getParent());
+        try (Recording recording = new Recording()) {
+            recording.enable(PHASE_EVENT);
+            recording.enable(CALL_EVENT);
+            recording.start();
+            create.handleRequest(proxy, TestHandler.requestFor(null, UUID.randomUUID().toString()), null, logger);
+            delete.handleRequest(proxy, TestHandler.requestFor(TestHandler.INDEX_ARN, UUID.randomUUID().toString()), null, logger);
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+        assertThat(phasesOf(events, "TestHandler")).contains(HandlerPhaseEvent.INVOCATION, HandlerPhaseEvent.RESPONSE);
+        assertThat(phasesOf(events, null)).contains(HandlerPhaseEvent.VALIDATION, HandlerPhaseEvent.ERROR_MAPPING);
+
+        final List<RecordedEvent> calls = events.stream()
+                .filter(event -> CALL_EVENT.equals(event.getEventType().getName()))
+                .collect(Collectors.toList());
+        assertThat(calls).anySatisfy(call -> {
+            assertThat(call.getString("handler")).isEqualTo("TestHandler");
+            assertThat(call.getString("operation")).isEqualTo("CreateIndex");
+            assertThat(call.getString("errorCode")).isNull();
+        });
+        assertThat(calls).anySatisfy(call -> {
+            assertThat(call.getString("operation")).isEqualTo("DeleteIndex");
+            assertThat(call.getString("arn")).isEqualTo(TestHandler.INDEX_ARN);
+            assertThat(call.getString("errorCode")).isEqualTo("AccessDeniedException");
+        });
+    }
+
+    @Test
+    public void handleRequest_NotRecording_LeavesEventsEmpty() {
+        // Under mvn test -Pjfr a recording runs for the whole test JVM.
+        assumeTrue(!FlightRecorder.isInitialized() || FlightRecorder.getFlightRecorder().getRecordings().isEmpty());
+
+        final ServiceCallEvent call = ServiceCallEvent.started("ReadHandler", GetIndexRequest.builder().build());
+        call.failed(new IllegalStateException());
+        call.commit();
+
+        assertThat(call.operation).isNull();
+        assertThat(call.errorCode).isNull();
+    }
+
+    private static List<String> phasesOf(final List<RecordedEvent> events, final String handler) {
+        return events.stream()
+                .filter(event -> PHASE_EVENT.equals(event.getEventType().getName()))
+                .filter(event -> handler == null ? event.getString("handler") == null : handler.equals(event.getString("handler")))
+                .map(event -> event.getString("phase"))
+                .collect(Collectors.toList());
+    }
+}
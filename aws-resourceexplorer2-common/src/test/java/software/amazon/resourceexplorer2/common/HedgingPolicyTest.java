@@ -0,0 +1,159 @@
+package software.amazon.resourceexplorer2.common;
+
+import software.amazon.awssdk.core.exception.SdkServiceException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class HedgingPolicyTest {
+
+    private static final String OPERATION = "GetIndex";
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch slowPrimary = new CountDownLatch(1);
+
+    @AfterEach
+    public void tearDown() {
+        slowPrimary.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void call_DoesNotHedgeUntilItHasEnoughLatencies() {
+        final HedgingPolicy policy = new HedgingPolicy(95, 1.0, executor);
+        final AtomicInteger attempts = new AtomicInteger();
+
+        for (int i = 0; i < HedgingPolicy.MIN_SAMPLES; i++) {
+            assertThat(policy.call(OPERATION, () -> "response-" + attempts.incrementAndGet())).isEqualTo("response-" + (i + 1));
+        }
+
+        assertThat(attempts.get()).isEqualTo(HedgingPolicy.MIN_SAMPLES);
+        assertThat(policy.stats(OPERATION).hedges.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void call_SlowReadIsHedgedAndTheFirstResponseWins() {
+        final HedgingPolicy policy = warmedUp(new HedgingPolicy(95, 0.5, executor));
+        final AtomicInteger attempts = new AtomicInteger();
+
+        final String response = policy.call(OPERATION, slowThen(attempts, () -> "hedge"));
+
+        assertThat(response).isEqualTo("hedge");
+        assertThat(attempts.get()).isEqualTo(2);
+        final HedgingPolicy.OperationStats stats = policy.stats(OPERATION);
+        assertThat(stats.hedges.get()).isEqualTo(1);
+        assertThat(stats.hedgeWins.get()).isEqualTo(1);
+        assertThat(policy.summary()).startsWith("[Hedging] GetIndex reads=21 hedges=1 hedgeWins=1 rateLimited=0 primaryP99Ms=");
+    }
+
+    @Test
+    public void call_RateCapWaitsForTheFirstAttempt() {
+        final HedgingPolicy policy = warmedUp(new HedgingPolicy(95, 0.0, executor));
+        final AtomicInteger attempts = new AtomicInteger();
+        executor.submit(() -> {
+            TimeUnit.MILLISECONDS.sleep(50);
+            slowPrimary.countDown();
+            return null;
+        });
+
+        final String response = policy.call(OPERATION, slowThen(attempts, () -> "hedge"));
+
+        assertThat(response).isEqualTo("primary");
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(policy.stats(OPERATION).hedges.get()).isEqualTo(0);
+        assertThat(policy.stats(OPERATION).rateLimited.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void call_FailedHedgeFallsBackToTheFirstAttempt() {
+        final HedgingPolicy policy = warmedUp(new HedgingPolicy(95, 0.5, executor));
+        final AtomicInteger attempts = new AtomicInteger();
+
+        final String response = policy.call(OPERATION, slowThen(attempts, () -> {
+            slowPrimary.countDown();
+            throw SdkServiceException.builder().statusCode(429).message("Rate exceeded").build();
+        }));
+
+        assertThat(response).isEqualTo("primary");
+        assertThat(policy.stats(OPERATION).hedgeWins.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void call_FailsWhenEveryAttemptFailed() {
+        final HedgingPolicy policy = warmedUp(new HedgingPolicy(95, 0.5, executor));
+        final AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> policy.call(OPERATION, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                await(slowPrimary);
+            } else {
+                slowPrimary.countDown();
+            }
+            throw SdkServiceException.builder().statusCode(500).message("attempt " + attempts.get()).build();
+        })).isInstanceOf(SdkServiceException.class);
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void call_FastFailureIsNotHedged() {
+        final HedgingPolicy policy = warmedUp(new HedgingPolicy(95, 0.5, executor));
+        final AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> policy.call(OPERATION, () -> {
+            attempts.incrementAndGet();
+            throw SdkServiceException.builder().statusCode(500).build();
+        })).isInstanceOf(SdkServiceException.class);
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void constructor_RejectsOutOfRangeSettings() {
+        assertThatThrownBy(() -> new HedgingPolicy(100, 0.05)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HedgingPolicy(95, 1.5)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Reads of about 10 ms, so that hedges go out after about 10 ms.
+    private static HedgingPolicy warmedUp(final HedgingPolicy policy) {
+        for (int i = 0; i < HedgingPolicy.MIN_SAMPLES; i++) {
+            policy.call(OPERATION, () -> {
+                await(new CountDownLatch(1), 10);
+                return "fast";
+            });
+        }
+        return policy;
+    }
+
+    // The first attempt blocks until slowPrimary is released and then answers "primary"; the
+    // second one answers with hedge.
+    private Supplier<String> slowThen(final AtomicInteger attempts, final Supplier<String> hedge) {
+        return () -> {
+            if (attempts.incrementAndGet() == 1) {
+                await(slowPrimary);
+                return "primary";
+            }
+            return hedge.get();
+        };
+    }
+
+    private static void await(final CountDownLatch latch) {
+        await(latch, 5000);
+    }
+
+    private static void await(final CountDownLatch latch, final long millis) {
+        try {
+            latch.await(millis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package software.amazon.resourceexplorer2.common;
+
+import software.amazon.resourceexplorer2.common.InventorySnapshot.DriftKind;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+public class InventorySnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void open_MissingFileIsEmpty() throws IOException {
+        final InventorySnapshot snapshot = InventorySnapshot.open(directory.resolve("missing.snapshot"));
+
+        assertThat(snapshot.size()).isEqualTo(0);
+        assertThat(snapshot.find("arn:aws:resource-explorer-2:us-west-2:123456789012:view/a/1")).isEqualTo(-1);
+    }
+
+    @Test
+    public void write_RoundTripsSortedRecords() throws IOException {
+        final Path file = directory.resolve("views.snapshot");
+        final TreeMap<String, Long> hashes = new TreeMap<>();
+        for (int i = 0; i < 1000; i++) {
+            hashes.put(arn(i), (long) i * 31);
+        }
+        hashes.put("arn:aws:resource-explorer-2:us-west-2:123456789012:view/vue-\u00e9t\u00e9/1", -1L);
+
+        InventorySnapshot.write(file, hashes);
+        final InventorySnapshot snapshot = InventorySnapshot.open(file);
+
+        assertThat(snapshot.size()).isEqualTo(hashes.size());
+        int index = 0;
+        for (final String arn : hashes.keySet()) {
+            assertThat(snapshot.arn(index)).isEqualTo(arn);
+            assertThat(snapshot.hash(index)).isEqualTo(hashes.get(arn));
+            assertThat(snapshot.find(arn)).isEqualTo(index);
+            index++;
+        }
+        assertThat(snapshot.find(arn(1000))).isEqualTo(-1);
+    }
+
+    @Test
+    public void compare_ReportsAddedChangedAndRemoved() throws IOException {
+        final Path file = directory.resolve("views.snapshot");
+        final TreeMap<String, Long> hashes = new TreeMap<>();
+        hashes.put("a", 1L);
+        hashes.put("b", 2L);
+        hashes.put("c", 3L);
+        hashes.put("d", 4L);
+        InventorySnapshot.write(file, hashes);
+
+        final InventorySnapshot.Comparison comparison = InventorySnapshot.open(file).compare();
+        assertThat(comparison.record("c", 3L)).isNull();
+        assertThat(comparison.record("a", 10L)).isEqualTo(DriftKind.CHANGED);
+        assertThat(comparison.record("e", 5L)).isEqualTo(DriftKind.ADDED);
+        comparison.keep("d");
+        final List<String> removed = new ArrayList<>();
+        comparison.forEachRemoved(removed::add);
+        comparison.writeTo(file);
+
+        assertThat(removed).containsExactly("b");
+        final InventorySnapshot next = InventorySnapshot.open(file);
+        assertThat(next.size()).isEqualTo(4);
+        assertThat(next.hash(next.find("a"))).isEqualTo(10L);
+        assertThat(next.hash(next.find("d"))).isEqualTo(4L);
+        assertThat(next.find("b")).isEqualTo(-1);
+    }
+
+    @Test
+    public void open_RejectsOtherFiles() throws IOException {
+        final Path file = directory.resolve("views.ndjson");
+        Files.write(file, "{\"ViewArn\":\"arn\"}\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> InventorySnapshot.open(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void contentHash_IsStableAndSensitive() {
+        final byte[] content = "{\"ViewArn\":\"arn\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(InventorySnapshot.contentHash(content)).isEqualTo(InventorySnapshot.contentHash(content.clone()));
+        assertThat(InventorySnapshot.contentHash(content))
+                .isNotEqualTo(InventorySnapshot.contentHash("{\"ViewArn\":\"arm\"}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String arn(final int index) {
+        return String.format("arn:aws:resource-explorer-2:us-west-2:123456789012:view/view-%d/%08d", index, index);
+    }
+}
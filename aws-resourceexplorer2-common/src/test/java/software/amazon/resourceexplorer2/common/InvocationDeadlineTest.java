@@ -0,0 +1,87 @@
+package software.amazon.resourceexplorer2.common;
+
+// CloudFormation package
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+// Resource Explorer package
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.services.resourceexplorer2.ResourceExplorer2Client;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexResponse;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public class InvocationDeadlineTest {
+
+    private long now;
+
+    @Test
+    public void remaining_KeepsTheReserveBack() {
+        final InvocationDeadline deadline = new InvocationDeadline(Duration.ofSeconds(60), () -> now);
+
+        assertThat(deadline.remaining()).isEqualTo(Duration.ofSeconds(55));
+        assertThat(deadline.callTimeout()).isEqualTo(Duration.ofSeconds(55));
+        assertThat(deadline.attemptTimeout()).isEqualTo(InvocationDeadline.MAX_ATTEMPT_TIME);
+        assertThat(deadline.hasTimeForAnotherStep()).isTrue();
+
+        now += TimeUnit.SECONDS.toNanos(50);
+        assertThat(deadline.callTimeout()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(deadline.attemptTimeout()).isEqualTo(Duration.ofSeconds(5));
+
+        now += TimeUnit.SECONDS.toNanos(4);
+        assertThat(deadline.hasTimeForAnotherStep()).isFalse();
+        // A call that starts anyway still gets the minimum time.
+        assertThat(deadline.callTimeout()).isEqualTo(InvocationDeadline.MIN_CALL_TIME);
+
+        now += TimeUnit.SECONDS.toNanos(60);
+        assertThat(deadline.remaining()).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    public void hasTimeForAnotherStepAfter_CountsTheWait() {
+        final InvocationDeadline deadline = new InvocationDeadline(Duration.ofSeconds(60), () -> now);
+
+        now += TimeUnit.SECONDS.toNanos(50);
+        assertThat(deadline.hasTimeForAnotherStepAfter(Duration.ofSeconds(3))).isTrue();
+        assertThat(deadline.hasTimeForAnotherStepAfter(Duration.ofSeconds(4))).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void invoke_SetsTheRemainingTimeAsCallTimeouts() {
+        final AmazonWebServicesClientProxy proxy = mock(AmazonWebServicesClientProxy.class);
+        final ResourceExplorer2Client client = mock(ResourceExplorer2Client.class);
+        when(client.getIndex(any(GetIndexRequest.class)))
+                .thenReturn(GetIndexResponse.builder().arn(TestHandler.INDEX_ARN).build());
+        // Like the real proxy, which hands the function a copy of the request with its credentials.
+        doAnswer(invocation -> ((Function<Object, Object>) invocation.getArgument(1)).apply(invocation.getArgument(0)))
+                .when(proxy).injectCredentialsAndInvokeV2(any(), any());
+
+        final TestHandler handler = new TestHandler(false, (self, handlerProxy, arn, logger) -> {
+            self.invoke(handlerProxy, GetIndexRequest.builder().build(), client::getIndex);
+            return ProgressEvent.defaultSuccessHandler(arn);
+        });
+        handler.setTimeBudget(Duration.ofSeconds(30));
+        handler.handleRequest(proxy, TestHandler.requestFor(TestHandler.INDEX_ARN, null), null, mock(Logger.class));
+
+        final ArgumentCaptor<GetIndexRequest> getIndexRequest = ArgumentCaptor.forClass(GetIndexRequest.class);
+        verify(client).getIndex(getIndexRequest.capture());
+        final AwsRequestOverrideConfiguration overrideConfiguration = getIndexRequest.getValue().overrideConfiguration().get();
+        assertThat(overrideConfiguration.apiCallTimeout().get()).isBetween(Duration.ofSeconds(20), Duration.ofSeconds(25));
+        assertThat(overrideConfiguration.apiCallAttemptTimeout().get()).isEqualTo(InvocationDeadline.MAX_ATTEMPT_TIME);
+    }
+}
@@ -0,0 +1,106 @@
+package software.amazon.resourceexplorer2.common;
+
+// CloudFormation package
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+// Resource Explorer package
+import software.amazon.awssdk.services.resourceexplorer2.model.TagResourceRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.TagResourceResponse;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+public class InvocationResultCacheTest {
+
+    private static final String TOKEN_1 = "token-1";
+    private static final String TOKEN_2 = "token-2";
+    private static final String TOKEN_3 = "token-3";
+
+    private long now;
+    private final InvocationResultCache cache = new InvocationResultCache(2, Duration.ofMinutes(5), () -> now);
+
+    @Test
+    public void get_ReturnsTheRecordedResultOfTheSameHandlerAndToken() {
+        final ProgressEvent<String, Integer> success = ProgressEvent.defaultSuccessHandler(TestHandler.INDEX_ARN);
+        cache.put("CreateHandler", TOKEN_1, success);
+
+        assertThat(cache.get("CreateHandler", TOKEN_1)).isSameAs(success);
+        assertThat(cache.get("UpdateHandler", TOKEN_1)).isNull();
+        assertThat(cache.get("CreateHandler", TOKEN_2)).isNull();
+        assertThat(cache.get("CreateHandler", null)).isNull();
+        assertThat(cache.summary()).isEqualTo("[ResultCache] entries=1 hits=1 misses=2 evictions=0");
+    }
+
+    @Test
+    public void put_SkipsInProgressAndRetriableFailures() {
+        cache.put("CreateHandler", TOKEN_1, ProgressEvent.defaultInProgressHandler(1, 30, TestHandler.INDEX_ARN));
+        cache.put("CreateHandler", TOKEN_2, ProgressEvent.failed(TestHandler.INDEX_ARN, null, HandlerErrorCode.Throttling, "Rate exceeded"));
+        cache.put("CreateHandler", TOKEN_3, ProgressEvent.failed(TestHandler.INDEX_ARN, null, HandlerErrorCode.AlreadyExists, "exists"));
+
+        assertThat(cache.get("CreateHandler", TOKEN_1)).isNull();
+        assertThat(cache.get("CreateHandler", TOKEN_2)).isNull();
+        assertThat(cache.get("CreateHandler", TOKEN_3).getErrorCode()).isEqualTo(HandlerErrorCode.AlreadyExists);
+    }
+
+    @Test
+    public void get_EntriesExpireAfterTheirTtl() {
+        cache.put("DeleteHandler", TOKEN_1, ProgressEvent.defaultSuccessHandler(null));
+
+        now += TimeUnit.MINUTES.toNanos(5) - 1;
+        assertThat(cache.get("DeleteHandler", TOKEN_1)).isNotNull();
+        now += 1;
+        assertThat(cache.get("DeleteHandler", TOKEN_1)).isNull();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void put_DropsTheLeastRecentlyUsedEntry() {
+        cache.put("CreateHandler", TOKEN_1, ProgressEvent.defaultSuccessHandler(TestHandler.INDEX_ARN));
+        cache.put("CreateHandler", TOKEN_2, ProgressEvent.defaultSuccessHandler(TestHandler.INDEX_ARN));
+        cache.get("CreateHandler", TOKEN_1);
+
+        cache.put("CreateHandler", TOKEN_3, ProgressEvent.defaultSuccessHandler(TestHandler.INDEX_ARN));
+
+        assertThat(cache.get("CreateHandler", TOKEN_1)).isNotNull();
+        assertThat(cache.get("CreateHandler", TOKEN_2)).isNull();
+        assertThat(cache.get("CreateHandler", TOKEN_3)).isNotNull();
+        assertThat(cache.summary()).endsWith("evictions=1");
+    }
+
+    // A duplicate delivery of a finished update makes no calls and gets the same result.
+    @Test
+    public void handleRequest_DuplicateDeliveryReturnsTheRecordedResult() {
+        final AmazonWebServicesClientProxy proxy = mock(AmazonWebServicesClientProxy.class);
+        doReturn(TagResourceResponse.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+
+        final TestHandler handler = new TestHandler(true, (self, handlerProxy, arn, logger) -> {
+            self.invoke(handlerProxy, TagResourceRequest.builder().resourceArn(arn).build(), request -> null);
+            return ProgressEvent.defaultSuccessHandler(arn);
+        });
+        handler.setResultCache(cache);
+        final ProgressEvent<String, Integer> first = handler.handleRequest(proxy,
+                TestHandler.requestFor(TestHandler.INDEX_ARN, TOKEN_1), null, mock(Logger.class));
+        final ProgressEvent<String, Integer> duplicate = handler.handleRequest(proxy,
+                TestHandler.requestFor(TestHandler.INDEX_ARN, TOKEN_1), null, mock(Logger.class));
+
+        assertThat(first.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(duplicate).isSameAs(first);
+        assertThat(handler.getServiceCallCounter().total()).isEqualTo(0);
+        assertThat(cache.hits()).isEqualTo(1);
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+    }
+}
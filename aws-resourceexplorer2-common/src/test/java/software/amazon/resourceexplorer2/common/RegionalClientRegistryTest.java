@@ -0,0 +1,202 @@
+package software.amazon.resourceexplorer2.common;
+
+import software.amazon.awssdk.core.SdkClient;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.regions.Region;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RegionalClientRegistryTest {
+
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(10);
+
+    private SdkHttpClient httpClient;
+    private AtomicLong clock;
+    private Map<Region, Integer> builds;
+
+    @BeforeEach
+    public void setup() {
+        httpClient = mock(SdkHttpClient.class);
+        clock = new AtomicLong();
+        builds = new HashMap<>();
+    }
+
+    @Test
+    public void lease_SameRegionReusesClient() {
+        final RegionalClientRegistry<TestClient> registry = registry(4);
+
+        final TestClient first = use(registry, Region.US_EAST_1);
+        final TestClient second = use(registry, Region.US_EAST_1);
+        final TestClient other = use(registry, Region.EU_WEST_1);
+
+        assertThat(second).isSameAs(first);
+        assertThat(other).isNotSameAs(first);
+        assertThat(builds.get(Region.US_EAST_1)).isEqualTo(1);
+        assertThat(builds.get(Region.EU_WEST_1)).isEqualTo(1);
+        assertThat(registry.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void lease_OverBoundClosesLeastRecentlyUsed() {
+        final RegionalClientRegistry<TestClient> registry = registry(2);
+
+        final TestClient usEast1 = use(registry, Region.US_EAST_1);
+        clock.addAndGet(1);
+        final TestClient euWest1 = use(registry, Region.EU_WEST_1);
+        clock.addAndGet(1);
+        use(registry, Region.US_EAST_1);
+        clock.addAndGet(1);
+        use(registry, Region.AP_SOUTHEAST_2);
+
+        assertThat(registry.size()).isEqualTo(2);
+        verify(euWest1).close();
+        verify(usEast1, never()).close();
+        verify(httpClient, never()).close();
+    }
+
+    @Test
+    public void lease_ClosesIdleClientsOnAnyLookup() {
+        final RegionalClientRegistry<TestClient> registry = registry(4);
+
+        final TestClient usEast1 = use(registry, Region.US_EAST_1);
+        final TestClient euWest1 = use(registry, Region.EU_WEST_1);
+        clock.addAndGet(IDLE_TIMEOUT.toNanos() + 1);
+        assertThat(use(registry, Region.EU_WEST_1)).isSameAs(euWest1);
+
+        assertThat(registry.size()).isEqualTo(1);
+        verify(usEast1).close();
+        verify(euWest1, never()).close();
+
+        use(registry, Region.US_EAST_1);
+        assertThat(builds.get(Region.US_EAST_1)).isEqualTo(2);
+    }
+
+    // A client under a lease stays open and in the registry, over the bound if need be.
+    @Test
+    public void lease_LeasedClientIsNotEvicted() {
+        final RegionalClientRegistry<TestClient> registry = registry(1);
+
+        final RegionalClientRegistry.Lease<TestClient> usEast1 = registry.lease(Region.US_EAST_1);
+        clock.addAndGet(IDLE_TIMEOUT.toNanos() + 1);
+        use(registry, Region.EU_WEST_1);
+
+        assertThat(registry.size()).isEqualTo(2);
+        verify(usEast1.client(), never()).close();
+
+        // Once released, it is the first to go.
+        usEast1.close();
+        use(registry, Region.EU_WEST_1);
+        assertThat(registry.size()).isEqualTo(1);
+        verify(usEast1.client()).close();
+    }
+
+    // Closing the registry retires a leased client, which is closed when its lease ends.
+    @Test
+    public void close_LeasedClientClosedOnRelease() {
+        final RegionalClientRegistry<TestClient> registry = registry(4);
+        final RegionalClientRegistry.Lease<TestClient> usEast1 = registry.lease(Region.US_EAST_1);
+
+        registry.close();
+        verify(usEast1.client(), never()).close();
+
+        usEast1.close();
+        usEast1.close();
+        verify(usEast1.client(), times(1)).close();
+    }
+
+    @Test
+    public void getClient_LeasesTheClientForEachCall() {
+        final RegionalClientRegistry<TestClient> registry = registry(1);
+        final TestClient handle = registry.getClient(Region.US_EAST_1);
+        assertThat(registry.getClient(Region.US_EAST_1)).isSameAs(handle);
+
+        handle.getIndex("us-east-1");
+        final TestClient usEast1 = use(registry, Region.US_EAST_1);
+        verify(usEast1).getIndex("us-east-1");
+
+        // Evicted between two calls; the next call goes to a new client.
+        use(registry, Region.EU_WEST_1);
+        verify(usEast1).close();
+        handle.getIndex("us-east-1");
+        assertThat(builds.get(Region.US_EAST_1)).isEqualTo(2);
+
+        handle.close();
+        assertThat(registry.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void close_ClosesClientsAndHttpClient() {
+        final RegionalClientRegistry<TestClient> registry = registry(4);
+        final TestClient usEast1 = use(registry, Region.US_EAST_1);
+
+        registry.close();
+
+        assertThat(registry.size()).isEqualTo(0);
+        verify(usEast1).close();
+        verify(httpClient).close();
+    }
+
+    @Test
+    public void connectionMetrics_RecordsHttpClientMetrics() {
+        final RegionalClientRegistry<TestClient> registry = registry(4);
+        use(registry, Region.US_EAST_1);
+        final RegionalClientRegistry.ConnectionMetrics metrics = registry.getConnectionMetrics(Region.US_EAST_1);
+
+        metrics.publish(apiCall(5, 3, 1));
+        metrics.publish(apiCall(2, 6, 0));
+
+        assertThat(metrics.region()).isEqualTo(Region.US_EAST_1);
+        assertThat(metrics.leasedConnections()).isEqualTo(2);
+        assertThat(metrics.availableConnections()).isEqualTo(6);
+        assertThat(metrics.pendingAcquires()).isEqualTo(0);
+        assertThat(metrics.peakLeasedConnections()).isEqualTo(5);
+        assertThat(metrics.publishedCalls()).isEqualTo(2);
+        assertThat(registry.getConnectionMetrics(Region.EU_WEST_1)).isNull();
+    }
+
+    // Leases the region's client for a moment, as one call would.
+    private static TestClient use(final RegionalClientRegistry<TestClient> registry, final Region region) {
+        try (RegionalClientRegistry.Lease<TestClient> lease = registry.lease(region)) {
+            return lease.client();
+        }
+    }
+
+    private RegionalClientRegistry<TestClient> registry(final int maxClients) {
+        return new RegionalClientRegistry<>(TestClient.class, maxClients, IDLE_TIMEOUT, httpClient,
+                (region, metricPublisher) -> {
+                    builds.merge(region, 1, Integer::sum);
+                    return mock(TestClient.class);
+                },
+                clock::get);
+    }
+
+    private static MetricCollection apiCall(
+            final int leased, final int available, final int pending) {
+        final MetricCollector apiCall = MetricCollector.create("ApiCall");
+        final MetricCollector httpClient = apiCall.createChild("ApiCallAttempt").createChild("HttpClient");
+        httpClient.reportMetric(HttpMetric.LEASED_CONCURRENCY, leased);
+        httpClient.reportMetric(HttpMetric.AVAILABLE_CONCURRENCY, available);
+        httpClient.reportMetric(HttpMetric.PENDING_CONCURRENCY_ACQUIRES, pending);
+        return apiCall.collect();
+    }
+
+    // Stands in for a service client such as ResourceExplorer2Client.
+    public interface TestClient extends SdkClient {
+        String getIndex(String request);
+    }
+}
@@ -0,0 +1,43 @@
+package software.amazon.resourceexplorer2.common;
+
+// CloudFormation package
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+// Proxy that answers each request type with a fixed response. Unlike a Mockito mock it keeps no
+// record of its invocations, so the AllocationBudgetTest of each resource type measures what the
+// handler itself allocates. Shared with the handler modules through the test jar of this module.
+public class StubProxy extends AmazonWebServicesClientProxy {
+
+    private final Map<Class<?>, AwsResponse> responses = new HashMap<>();
+
+    public StubProxy() {
+        super(new LoggerProxy(), new Credentials("stub", "stub", "stub"), () -> Long.MAX_VALUE);
+    }
+
+    public StubProxy respond(final Class<? extends AwsRequest> requestType, final AwsResponse response) {
+        responses.put(requestType, response);
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <RequestT extends AwsRequest, ResultT extends AwsResponse> ResultT injectCredentialsAndInvokeV2(
+            final RequestT request,
+            final Function<RequestT, ResultT> requestFunction) {
+
+        final AwsResponse response = responses.get(request.getClass());
+        if (response == null) {
+            throw new IllegalStateException("No stub response for " + request.getClass().getSimpleName());
+        }
+        return (ResultT) response;
+    }
+}
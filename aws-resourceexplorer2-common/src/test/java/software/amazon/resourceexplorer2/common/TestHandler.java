@@ -0,0 +1,47 @@
+package software.amazon.resourceexplorer2.common;
+
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+// A handler of a made-up resource type whose model is the ARN it acts on and whose callback
+// context counts its invocations. What it does is given by each test.
+final class TestHandler extends REBaseHandler<String, Integer> {
+
+    static final String INDEX_ARN = "arn:aws:resource-explorer-2:us-east-1:123456789012:index/1";
+
+    interface Work {
+        ProgressEvent<String, Integer> run(TestHandler handler, AmazonWebServicesClientProxy proxy, String arn, Logger logger);
+    }
+
+    private final boolean changesResources;
+    private final Work work;
+
+    TestHandler(final boolean changesResources, final Work work) {
+        this.changesResources = changesResources;
+        this.work = work;
+    }
+
+    static ResourceHandlerRequest<String> requestFor(final String arn, final String clientRequestToken) {
+        return ResourceHandlerRequest.<String>builder()
+                .desiredResourceState(arn)
+                .clientRequestToken(clientRequestToken)
+                .build();
+    }
+
+    @Override
+    protected ProgressEvent<String, Integer> handleResourceRequest(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<String> request,
+            final Integer callbackContext,
+            final Logger logger) {
+
+        return work.run(this, proxy, request.getDesiredResourceState(), logger);
+    }
+
+    @Override
+    protected boolean changesResources() {
+        return changesResources;
+    }
+}
@@ -0,0 +1,115 @@
+package software.amazon.resourceexplorer2.consolidated;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import software.amazon.awssdk.services.resourceexplorer2.ResourceExplorer2Client;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Entry point of the consolidated deployment. One function serves the Index, View and
+// DefaultViewAssociation resource types, so a stack using all three pays a single cold start.
+// Each request is routed on its resourceType to the generated HandlerWrapper of that type,
+// which is built on first use and then kept for the lifetime of the container.
+public class HandlerDispatcher implements RequestStreamHandler {
+
+    static final String INDEX_TYPE_NAME = "AWS::ResourceExplorer2::Index";
+    static final String VIEW_TYPE_NAME = "AWS::ResourceExplorer2::View";
+    static final String DEFAULT_VIEW_ASSOCIATION_TYPE_NAME = "AWS::ResourceExplorer2::DefaultViewAssociation";
+
+    private static final String RESOURCE_TYPE_FIELD = "resourceType";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static boolean clientShared;
+
+    private final Map<String, Supplier<RequestStreamHandler>> wrapperFactories;
+    private final Map<String, RequestStreamHandler> wrappers = new ConcurrentHashMap<>();
+
+    public HandlerDispatcher() {
+        this(defaultWrapperFactories());
+    }
+
+    HandlerDispatcher(final Map<String, Supplier<RequestStreamHandler>> wrapperFactories) {
+        this.wrapperFactories = wrapperFactories;
+    }
+
+    @Override
+    public void handleRequest(
+            final InputStream inputStream,
+            final OutputStream outputStream,
+            final Context context) throws IOException {
+
+        final byte[] payload = inputStream.readAllBytes();
+        wrapperFor(readResourceType(payload))
+                .handleRequest(new ByteArrayInputStream(payload), outputStream, context);
+    }
+
+    RequestStreamHandler wrapperFor(final String typeName) {
+        final Supplier<RequestStreamHandler> wrapperFactory = typeName == null ? null : wrapperFactories.get(typeName);
+        if (wrapperFactory == null) {
+            throw new IllegalArgumentException("Unsupported resource type: " + typeName);
+        }
+        return wrappers.computeIfAbsent(typeName, name -> wrapperFactory.get());
+    }
+
+    // Reads the top-level resourceType field, stopping as soon as it is found.
+    static String readResourceType(final byte[] payload) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldName = parser.getCurrentName();
+                parser.nextToken();
+                if (RESOURCE_TYPE_FIELD.equals(fieldName)) {
+                    return parser.getValueAsString();
+                }
+                parser.skipChildren();
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Supplier<RequestStreamHandler>> defaultWrapperFactories() {
+        final Map<String, Supplier<RequestStreamHandler>> wrapperFactories = new HashMap<>();
+        wrapperFactories.put(INDEX_TYPE_NAME,
+                withSharedClient(software.amazon.resourceexplorer2.index.HandlerWrapper::new));
+        wrapperFactories.put(VIEW_TYPE_NAME,
+                withSharedClient(software.amazon.resourceexplorer2.view.HandlerWrapper::new));
+        wrapperFactories.put(DEFAULT_VIEW_ASSOCIATION_TYPE_NAME,
+                withSharedClient(software.amazon.resourceexplorer2.defaultviewassociation.HandlerWrapper::new));
+        return wrapperFactories;
+    }
+
+    private static Supplier<RequestStreamHandler> withSharedClient(final Supplier<RequestStreamHandler> wrapperFactory) {
+        return () -> {
+            shareClient();
+            return wrapperFactory.get();
+        };
+    }
+
+    // All three resource types share one client, and so one HTTP connection pool. It is built
+    // with the first wrapper rather than with the dispatcher, when a request is about to use it.
+    // Its circuit breaker is the shared one of the common module, whose rejections the handlers
+    // of every type recognise.
+    private static synchronized void shareClient() {
+        if (clientShared) {
+            return;
+        }
+        final ResourceExplorer2Client sharedClient = software.amazon.resourceexplorer2.index.ClientFactory.getClient();
+        software.amazon.resourceexplorer2.view.ClientFactory.setClient(sharedClient);
+        software.amazon.resourceexplorer2.defaultviewassociation.ClientFactory.setClient(sharedClient);
+        clientShared = true;
+    }
+}
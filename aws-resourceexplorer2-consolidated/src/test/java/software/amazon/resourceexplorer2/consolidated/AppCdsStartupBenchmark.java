@@ -0,0 +1,47 @@
+package software.amazon.resourceexplorer2.consolidated;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Compares the cold start of each resource type's create with and without the class-data-sharing
+// archive of the appcds profile. Every measurement runs in a fresh JVM, in the child mode of
+// StartupBenchmark, which replays the type's sam-tests create payload through its HandlerWrapper.
+// Two times are reported: the whole JVM, from launch to exit, and the replay within it.
+// The archive run uses -Xshare:on, so an archive that does not match the class path fails the run
+// instead of being measured as if it had been used.
+public final class AppCdsStartupBenchmark {
+
+    private AppCdsStartupBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        if (args.length < 3) {
+            throw new IllegalArgumentException(
+                    "Usage: AppCdsStartupBenchmark <shaded jar> <archive> <repository root> [runs]");
+        }
+        final String classPath = args[0] + File.pathSeparator + testClassesDirectory();
+        final List<String> withArchive = Arrays.asList("-XX:SharedArchiveFile=" + args[1], "-Xshare:on");
+        final int runs = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        for (final String typeName : StartupBenchmark.typeNames()) {
+            final StartupBenchmark.Timing without = new StartupBenchmark.Timing();
+            final StartupBenchmark.Timing with = new StartupBenchmark.Timing();
+            for (int run = 0; run < runs; run++) {
+                without.add(StartupBenchmark.fork(classPath, Collections.emptyList(), args[2], typeName));
+                with.add(StartupBenchmark.fork(classPath, withArchive, args[2], typeName));
+            }
+            System.out.printf("%s: without archive %.1f ms (replay %.1f ms), with archive %.1f ms (replay %.1f ms)%n",
+                    typeName, without.jvmMillis(runs), without.replayMillis(runs),
+                    with.jvmMillis(runs), with.replayMillis(runs));
+        }
+    }
+
+    // Where StartupBenchmark, the child's main class, was loaded from. It goes after the shaded
+    // jar, as a JDK 11 archive accepts entries appended to the class path it was dumped with.
+    private static String testClassesDirectory() throws URISyntaxException {
+        return new File(StartupBenchmark.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+    }
+}
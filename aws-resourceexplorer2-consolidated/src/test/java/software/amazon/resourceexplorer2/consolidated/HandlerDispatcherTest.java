@@ -0,0 +1,110 @@
+package software.amazon.resourceexplorer2.consolidated;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class HandlerDispatcherTest {
+
+    private static final String INDEX_REQUEST =
+            "{\"awsAccountId\":\"123456789012\",\"requestData\":{\"resourceProperties\":{\"Type\":\"LOCAL\"}},"
+                    + "\"resourceType\":\"AWS::ResourceExplorer2::Index\",\"action\":\"CREATE\"}";
+    private static final String VIEW_REQUEST =
+            "{\"resourceType\":\"AWS::ResourceExplorer2::View\",\"action\":\"READ\"}";
+
+    private Map<String, AtomicInteger> constructions;
+    private Map<String, Supplier<RequestStreamHandler>> wrapperFactories;
+    private Context context;
+
+    @BeforeEach
+    public void setup() {
+        constructions = new HashMap<>();
+        wrapperFactories = new HashMap<>();
+        context = mock(Context.class);
+        register(HandlerDispatcher.INDEX_TYPE_NAME);
+        register(HandlerDispatcher.VIEW_TYPE_NAME);
+        register(HandlerDispatcher.DEFAULT_VIEW_ASSOCIATION_TYPE_NAME);
+    }
+
+    @Test
+    public void handleRequest_RoutesOnResourceType() throws IOException {
+        final HandlerDispatcher dispatcher = new HandlerDispatcher(wrapperFactories);
+
+        assertThat(dispatch(dispatcher, INDEX_REQUEST)).isEqualTo(HandlerDispatcher.INDEX_TYPE_NAME + ":" + INDEX_REQUEST);
+        assertThat(dispatch(dispatcher, VIEW_REQUEST)).isEqualTo(HandlerDispatcher.VIEW_TYPE_NAME + ":" + VIEW_REQUEST);
+    }
+
+    @Test
+    public void handleRequest_WrappersAreBuiltOnFirstUseOnly() throws IOException {
+        final HandlerDispatcher dispatcher = new HandlerDispatcher(wrapperFactories);
+
+        dispatch(dispatcher, INDEX_REQUEST);
+        dispatch(dispatcher, INDEX_REQUEST);
+        dispatch(dispatcher, INDEX_REQUEST);
+
+        assertThat(constructions.get(HandlerDispatcher.INDEX_TYPE_NAME).get()).isEqualTo(1);
+        assertThat(constructions.get(HandlerDispatcher.VIEW_TYPE_NAME).get()).isEqualTo(0);
+        assertThat(constructions.get(HandlerDispatcher.DEFAULT_VIEW_ASSOCIATION_TYPE_NAME).get()).isEqualTo(0);
+    }
+
+    @Test
+    public void handleRequest_UnknownResourceType() {
+        final HandlerDispatcher dispatcher = new HandlerDispatcher(wrapperFactories);
+
+        assertThatThrownBy(() -> dispatch(dispatcher, "{\"resourceType\":\"AWS::S3::Bucket\"}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("AWS::S3::Bucket");
+    }
+
+    @Test
+    public void handleRequest_MissingResourceType() {
+        final HandlerDispatcher dispatcher = new HandlerDispatcher(wrapperFactories);
+
+        assertThatThrownBy(() -> dispatch(dispatcher, "{\"action\":\"CREATE\"}"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void readResourceType_SkipsNestedObjects() throws IOException {
+        final String payload = "{\"requestData\":{\"resourceType\":\"nested\",\"list\":[1,{\"a\":2}]},"
+                + "\"resourceType\":\"AWS::ResourceExplorer2::DefaultViewAssociation\"}";
+
+        assertThat(HandlerDispatcher.readResourceType(payload.getBytes(StandardCharsets.UTF_8)))
+                .isEqualTo(HandlerDispatcher.DEFAULT_VIEW_ASSOCIATION_TYPE_NAME);
+    }
+
+    private void register(final String typeName) {
+        final AtomicInteger count = new AtomicInteger();
+        constructions.put(typeName, count);
+        // The fake wrapper echoes its type name followed by the payload it received.
+        wrapperFactories.put(typeName, () -> {
+            count.incrementAndGet();
+            return (input, output, ctx) -> {
+                output.write((typeName + ":").getBytes(StandardCharsets.UTF_8));
+                output.write(input.readAllBytes());
+            };
+        });
+    }
+
+    private String dispatch(final HandlerDispatcher dispatcher, final String payload) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        dispatcher.handleRequest(
+                new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)), output, context);
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
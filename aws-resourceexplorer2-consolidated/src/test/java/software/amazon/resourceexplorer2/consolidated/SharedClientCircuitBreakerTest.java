@@ -0,0 +1,130 @@
+package software.amazon.resourceexplorer2.consolidated;
+
+// CloudFormation package
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+// Resource Explorer package
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.resourceexplorer2.ResourceExplorer2Client;
+import software.amazon.awssdk.services.resourceexplorer2.model.CreateViewRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetDefaultViewRequest;
+import software.amazon.resourceexplorer2.common.CircuitBreaker;
+import software.amazon.resourceexplorer2.common.CircuitBreakerOpenException;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.util.UUID;
+import java.util.function.Function;
+
+// In the consolidated handler the View and DefaultViewAssociation handlers use the client of the
+// index ClientFactory. A call its circuit breaker turns away must still reach them as the
+// rejection they retry later, not as an unknown exception mapped to InternalFailure.
+public class SharedClientCircuitBreakerTest {
+
+    // Nothing listens there, so every call fails with a connection error, which the breaker counts.
+    private static final String CLOSED_ENDPOINT = "http://127.0.0.1:1";
+    private static final int CIRCUIT_OPEN_CALLBACK_DELAY_SECONDS = 60;
+
+    private static ResourceExplorer2Client sharedClient;
+
+    private final Logger logger = message -> { };
+
+    @BeforeAll
+    public static void shareFailingClient() {
+        sharedClient = ResourceExplorer2Client.builder()
+                .region(Region.US_WEST_2)
+                .endpointOverride(URI.create(CLOSED_ENDPOINT))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .overrideConfiguration(o -> o.retryPolicy(RetryPolicy.none())
+                        .addExecutionInterceptor(CircuitBreaker.shared()))
+                .build();
+        software.amazon.resourceexplorer2.index.ClientFactory.setClient(sharedClient);
+
+        // As on the first request of each type: the dispatcher hands them the index client.
+        final HandlerDispatcher dispatcher = new HandlerDispatcher();
+        dispatcher.wrapperFor(HandlerDispatcher.VIEW_TYPE_NAME);
+        dispatcher.wrapperFor(HandlerDispatcher.DEFAULT_VIEW_ASSOCIATION_TYPE_NAME);
+        assertThat(software.amazon.resourceexplorer2.view.ClientFactory.getClient()).isSameAs(sharedClient);
+        assertThat(software.amazon.resourceexplorer2.defaultviewassociation.ClientFactory.getClient()).isSameAs(sharedClient);
+    }
+
+    @Test
+    public void viewCreate_CircuitOpen_RetriesLater() {
+        tripCircuit(() -> sharedClient.createView(CreateViewRequest.builder().viewName("my-view").build()));
+
+        final ProgressEvent<software.amazon.resourceexplorer2.view.ResourceModel,
+                software.amazon.resourceexplorer2.view.CallbackContext> event =
+                new software.amazon.resourceexplorer2.view.CreateHandler().handleRequest(proxy(),
+                        ResourceHandlerRequest.<software.amazon.resourceexplorer2.view.ResourceModel>builder()
+                                .desiredResourceState(software.amazon.resourceexplorer2.view.ResourceModel.builder()
+                                        .viewName("my-view")
+                                        .build())
+                                .clientRequestToken(UUID.randomUUID().toString())
+                                .build(),
+                        null, logger);
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(event.getCallbackDelaySeconds()).isEqualTo(CIRCUIT_OPEN_CALLBACK_DELAY_SECONDS);
+    }
+
+    @Test
+    public void defaultViewAssociationCreate_CircuitOpen_RetriesLater() {
+        tripCircuit(() -> sharedClient.getDefaultView(GetDefaultViewRequest.builder().build()));
+
+        final ProgressEvent<software.amazon.resourceexplorer2.defaultviewassociation.ResourceModel,
+                software.amazon.resourceexplorer2.defaultviewassociation.CallbackContext> event =
+                new software.amazon.resourceexplorer2.defaultviewassociation.CreateHandler().handleRequest(proxy(),
+                        ResourceHandlerRequest.<software.amazon.resourceexplorer2.defaultviewassociation.ResourceModel>builder()
+                                .desiredResourceState(software.amazon.resourceexplorer2.defaultviewassociation.ResourceModel.builder()
+                                        .viewArn("arn:aws:resource-explorer-2:us-west-2:123456789012:view/my-view/1")
+                                        .build())
+                                .clientRequestToken(UUID.randomUUID().toString())
+                                .build(),
+                        null, logger);
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(event.getCallbackDelaySeconds()).isEqualTo(CIRCUIT_OPEN_CALLBACK_DELAY_SECONDS);
+    }
+
+    // Fails calls of one operation until its circuit opens.
+    private static void tripCircuit(final Runnable call) {
+        for (int i = 0; i < 20; i++) {
+            try {
+                call.run();
+            } catch (CircuitBreakerOpenException e) {
+                return;
+            } catch (SdkClientException e) {
+                // Counted against the circuit.
+            }
+        }
+        fail("The circuit did not open.");
+    }
+
+    // Sends requests through the handler's client as the CloudFormation proxy does.
+    private static AmazonWebServicesClientProxy proxy() {
+        final AmazonWebServicesClientProxy proxy = mock(AmazonWebServicesClientProxy.class);
+        when(proxy.injectCredentialsAndInvokeV2(any(), any())).thenAnswer(invocation -> {
+            final Function<AwsRequest, AwsResponse> requestFunction = invocation.getArgument(1);
+            return requestFunction.apply(invocation.getArgument(0));
+        });
+        return proxy;
+    }
+}
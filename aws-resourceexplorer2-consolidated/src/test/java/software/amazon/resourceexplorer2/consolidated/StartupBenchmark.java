@@ -0,0 +1,153 @@
+package software.amazon.resourceexplorer2.consolidated;
+
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+
+import software.amazon.awssdk.services.resourceexplorer2.ResourceExplorer2Client;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Compares the cold start of a stack that creates an Index, a View and a DefaultViewAssociation
+// under the per-type deployment against the consolidated one. Every measurement runs in a fresh
+// JVM, which replays the create payload of the sam-tests of each type as its first invocation, with
+// service calls sent to a closed local port as in AppCdsTraining.
+// Separate: one JVM per resource type, each building its own client and HandlerWrapper; the three are summed.
+// Consolidated: one JVM in which the dispatcher routes all three payloads, on one shared client.
+// Two times are reported: the whole JVM, from launch to exit, and the replay within it.
+public final class StartupBenchmark {
+
+    static final String CONSOLIDATED = "consolidated";
+
+    private static final Map<String, String> WRAPPER_CLASSES = new LinkedHashMap<>();
+    private static final Map<String, Consumer<ResourceExplorer2Client>> CLIENT_SETTERS = new LinkedHashMap<>();
+
+    static {
+        WRAPPER_CLASSES.put(HandlerDispatcher.INDEX_TYPE_NAME,
+                "software.amazon.resourceexplorer2.index.HandlerWrapper");
+        WRAPPER_CLASSES.put(HandlerDispatcher.VIEW_TYPE_NAME,
+                "software.amazon.resourceexplorer2.view.HandlerWrapper");
+        WRAPPER_CLASSES.put(HandlerDispatcher.DEFAULT_VIEW_ASSOCIATION_TYPE_NAME,
+                "software.amazon.resourceexplorer2.defaultviewassociation.HandlerWrapper");
+        CLIENT_SETTERS.put(HandlerDispatcher.INDEX_TYPE_NAME,
+                software.amazon.resourceexplorer2.index.ClientFactory::setClient);
+        CLIENT_SETTERS.put(HandlerDispatcher.VIEW_TYPE_NAME,
+                software.amazon.resourceexplorer2.view.ClientFactory::setClient);
+        CLIENT_SETTERS.put(HandlerDispatcher.DEFAULT_VIEW_ASSOCIATION_TYPE_NAME,
+                software.amazon.resourceexplorer2.defaultviewassociation.ClientFactory::setClient);
+    }
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        if (args.length == 3 && "--child".equals(args[0])) {
+            System.out.println(replayCreate(args[1], args[2]));
+            return;
+        }
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: StartupBenchmark <repository root> [runs]");
+        }
+        final String classPath = System.getProperty("java.class.path");
+        final int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        final Timing separate = new Timing();
+        final Timing consolidated = new Timing();
+        for (int run = 0; run < runs; run++) {
+            for (final String typeName : typeNames()) {
+                separate.add(fork(classPath, Collections.emptyList(), args[0], typeName));
+            }
+            consolidated.add(fork(classPath, Collections.emptyList(), args[0], CONSOLIDATED));
+        }
+
+        System.out.printf("separate: %.1f ms per stack create (replay %.1f ms)%n",
+                separate.jvmMillis(runs), separate.replayMillis(runs));
+        System.out.printf("consolidated: %.1f ms per stack create (replay %.1f ms)%n",
+                consolidated.jvmMillis(runs), consolidated.replayMillis(runs));
+    }
+
+    static List<String> typeNames() {
+        return new ArrayList<>(WRAPPER_CLASSES.keySet());
+    }
+
+    // Runs in the child JVM; returns the nanoseconds from building the client to the last response.
+    private static long replayCreate(final String repositoryRoot, final String target) throws Exception {
+        final Map<String, String> samTests = AppCdsTraining.samTestDirectories();
+        final long start = System.nanoTime();
+        if (CONSOLIDATED.equals(target)) {
+            software.amazon.resourceexplorer2.index.ClientFactory.setClient(AppCdsTraining.trainingClient());
+            final HandlerDispatcher dispatcher = new HandlerDispatcher();
+            for (final String typeName : typeNames()) {
+                final byte[] payload = AppCdsTraining.trainingPayload(
+                        new File(new File(repositoryRoot, samTests.get(typeName)), "create.json"), typeName);
+                AppCdsTraining.testInvoke(dispatcher.wrapperFor(HandlerDispatcher.readResourceType(payload)), payload);
+            }
+        } else {
+            CLIENT_SETTERS.get(target).accept(AppCdsTraining.trainingClient());
+            final RequestStreamHandler wrapper = (RequestStreamHandler) Class.forName(WRAPPER_CLASSES.get(target))
+                    .getDeclaredConstructor().newInstance();
+            AppCdsTraining.testInvoke(wrapper, AppCdsTraining.trainingPayload(
+                    new File(new File(repositoryRoot, samTests.get(target)), "create.json"), target));
+        }
+        return System.nanoTime() - start;
+    }
+
+    static Timing fork(final String classPath,
+                       final List<String> jvmOptions,
+                       final String repositoryRoot,
+                       final String target) throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(classPath);
+        command.add(StartupBenchmark.class.getName());
+        command.add("--child");
+        command.add(repositoryRoot);
+        command.add(target);
+
+        final long start = System.nanoTime();
+        final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String lastLine = null;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lastLine = line;
+            }
+        }
+        if (process.waitFor() != 0 || lastLine == null) {
+            throw new IllegalStateException("Benchmark child failed for " + target + " " + jvmOptions + ": " + lastLine);
+        }
+        final Timing timing = new Timing();
+        timing.jvmNanos = System.nanoTime() - start;
+        timing.replayNanos = Long.parseLong(lastLine.trim());
+        return timing;
+    }
+
+    static final class Timing {
+        private long jvmNanos;
+        private long replayNanos;
+
+        void add(final Timing other) {
+            jvmNanos += other.jvmNanos;
+            replayNanos += other.replayNanos;
+        }
+
+        double jvmMillis(final int runs) {
+            return jvmNanos / 1e6 / runs;
+        }
+
+        double replayMillis(final int runs) {
+            return replayNanos / 1e6 / runs;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package software.amazon.resourceexplorer2.consolidated;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Cold start budget of each resource type. Like StartupBenchmark, every measurement runs in a
+// fresh JVM: it constructs the HandlerWrapper and the five handlers of one type, as the first
+// invocation does, with class loading logged. The test fails when that loads a class of a
+// forbidden package, such as AWS SDK v1 utilities or log4j, or more classes than the budget. Raise
+// the budget only together with the change that needs it. The time to initialise is printed but
+// not asserted, as it depends on the machine running the build; StartupBenchmark compares times.
+//
+// Handlers build the Resource Explorer client on their first service call, so constructing them
+// must not load it: a Read or List invocation then only pays for the client it uses.
+public class StartupBudgetTest {
+
+    static final int MAX_LOADED_CLASSES = 7000;
+    static final List<String> FORBIDDEN_PACKAGES = Arrays.asList(
+            "com.amazonaws.util.",
+            "org.apache.logging.log4j.");
+    static final List<String> DEFERRED_CLASSES = Arrays.asList(
+            "software.amazon.awssdk.services.resourceexplorer2.DefaultResourceExplorer2Client",
+            "software.amazon.awssdk.http.apache.ApacheHttpClient");
+
+    private static final String CHILD = "--child";
+    private static final String INIT_NANOS = "INIT_NANOS=";
+    private static final String USED_HEAP = "USED_HEAP=";
+    private static final String CLASS_LOAD = "[class,load] ";
+    private static final List<String> HANDLERS = Arrays.asList(
+            "HandlerWrapper", "CreateHandler", "ReadHandler", "UpdateHandler", "DeleteHandler", "ListHandler");
+
+    @Test
+    public void index_StaysWithinTheStartupBudget() throws Exception {
+        assertWithinBudget("index");
+    }
+
+    @Test
+    public void view_StaysWithinTheStartupBudget() throws Exception {
+        assertWithinBudget("view");
+    }
+
+    @Test
+    public void defaultViewAssociation_StaysWithinTheStartupBudget() throws Exception {
+        assertWithinBudget("defaultviewassociation");
+    }
+
+    // Runs in the child JVM.
+    public static void main(final String[] args) throws ReflectiveOperationException {
+        if (args.length != 2 || !CHILD.equals(args[0])) {
+            throw new IllegalArgumentException("Usage: --child <module>");
+        }
+        final long start = System.nanoTime();
+        for (final String handler : HANDLERS) {
+            Class.forName("software.amazon.resourceexplorer2." + args[1] + "." + handler)
+                    .getDeclaredConstructor()
+                    .newInstance();
+        }
+        System.out.println(INIT_NANOS + (System.nanoTime() - start));
+        final Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        System.out.println(USED_HEAP + (runtime.totalMemory() - runtime.freeMemory()));
+    }
+
+    private static void assertWithinBudget(final String module) throws IOException, InterruptedException {
+        final StartupReport report = fork(module);
+        System.out.printf("[Startup] %s classes=%d initMs=%d heapKb=%d%n",
+                module, report.loadedClasses, report.initMillis, report.usedHeapBytes / 1024);
+
+        assertThat(report.forbiddenClasses).as("classes of forbidden packages loaded by %s", module).isEmpty();
+        assertThat(report.deferredClasses).as("client classes loaded before the first call by %s", module).isEmpty();
+        assertThat(report.loadedClasses).as("classes loaded by %s", module).isLessThanOrEqualTo(MAX_LOADED_CLASSES);
+    }
+
+    private static StartupReport fork(final String module) throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.add("-Xlog:class+load=info:stdout");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(StartupBudgetTest.class.getName());
+        command.add(CHILD);
+        command.add(module);
+
+        final StartupReport report = new StartupReport();
+        final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final int classLoad = line.indexOf(CLASS_LOAD);
+                if (classLoad >= 0) {
+                    final String className = line.substring(classLoad + CLASS_LOAD.length()).split(" ", 2)[0];
+                    report.loadedClasses++;
+                    if (FORBIDDEN_PACKAGES.stream().anyMatch(className::startsWith)) {
+                        report.forbiddenClasses.add(className);
+                    }
+                    if (DEFERRED_CLASSES.contains(className)) {
+                        report.deferredClasses.add(className);
+                    }
+                } else if (line.startsWith(INIT_NANOS)) {
+                    report.initMillis = Long.parseLong(line.substring(INIT_NANOS.length()).trim()) / 1_000_000;
+                } else if (line.startsWith(USED_HEAP)) {
+                    report.usedHeapBytes = Long.parseLong(line.substring(USED_HEAP.length()).trim());
+                }
+            }
+        }
+        if (process.waitFor() != 0 || report.initMillis < 0) {
+            throw new IllegalStateException("Startup child failed for " + module);
+        }
+        return report;
+    }
+
+    private static final class StartupReport {
+        private int loadedClasses;
+        private long initMillis = -1;
+        private long usedHeapBytes;
+        private final List<String> forbiddenClasses = new ArrayList<>();
+        private final List<String> deferredClasses = new ArrayList<>();
+    }
+}
@@ -1,8 +1,24 @@
 package software.amazon.resourceexplorer2.defaultviewassociation;
 
+import org.json.JSONObject;
+
 class Configuration extends BaseConfiguration {
 
+    // The wrapper asks for the schema on every request to validate the model against it. The
+    // file never changes, so it is read and parsed once per container. Callers must not modify it.
+    private static volatile JSONObject resourceSchema;
+
     public Configuration() {
         super("aws-resourceexplorer2-defaultviewassociation.json");
     }
+
+    @Override
+    public JSONObject resourceSchemaJSONObject() {
+        JSONObject schema = resourceSchema;
+        if (schema == null) {
+            schema = super.resourceSchemaJSONObject();
+            resourceSchema = schema;
+        }
+        return schema;
+    }
 }
@@ -9,9 +9,21 @@ import software.amazon.awssdk.services.resourceexplorer2.model.InternalServerExc
 import software.amazon.awssdk.services.resourceexplorer2.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.resourceexplorer2.model.ThrottlingException;
 import software.amazon.awssdk.services.resourceexplorer2.model.ValidationException;
+import software.amazon.resourceexplorer2.common.CircuitBreakerOpenException;
+import software.amazon.resourceexplorer2.common.HandlerPhaseEvent;
+import software.amazon.resourceexplorer2.common.InvocationDeadline;
 
 public class Convertor {
     static HandlerErrorCode convertExceptionToErrorCode(Exception e, Logger logger){
+        final HandlerPhaseEvent phase = HandlerPhaseEvent.started(null, HandlerPhaseEvent.ERROR_MAPPING);
+        try {
+            return errorCodeOf(e, logger);
+        } finally {
+            phase.commit();
+        }
+    }
+
+    private static HandlerErrorCode errorCodeOf(Exception e, Logger logger){
         logger.log(String.format("Exception,\"%s\" , is converted to error code.", e.getMessage()));
 
         if (e instanceof ValidationException) {
@@ -29,6 +41,14 @@ public class Convertor {
         else if (e instanceof ThrottlingException) {
             return HandlerErrorCode.Throttling;
         }
+        // The circuit of the call is open; like throttling, it is worth trying again later.
+        else if (e instanceof CircuitBreakerOpenException) {
+            return HandlerErrorCode.Throttling;
+        }
+        // The call ran out of the invocation's time; REBaseHandler has the handler go on later.
+        else if (InvocationDeadline.isTimeout(e)) {
+            return HandlerErrorCode.NetworkFailure;
+        }
         else{
             logger.log(String.format("Unexpected exception \"%s\"", e.getMessage()));
             return HandlerErrorCode.InternalFailure;
@@ -17,24 +17,29 @@ import software.amazon.awssdk.services.resourceexplorer2.model.AssociateDefaultV
 import software.amazon.awssdk.services.resourceexplorer2.model.GetDefaultViewRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.GetDefaultViewResponse;
 
+import java.util.function.Supplier;
+
 
 public class CreateHandler extends REBaseHandler<CallbackContext> {
 
-    private final ResourceExplorer2Client client;
+    private final Supplier<ResourceExplorer2Client> client;
 
     public CreateHandler() {
-        client = ClientFactory.getClient();
+        client = ClientFactory::getClient;
     }
 
     @Override
-    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+    protected boolean changesResources() {
+        return true;
+    }
+
+    @Override
+    protected ProgressEvent<ResourceModel, CallbackContext> handleResourceRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
 
-        logRequestInfo(request, logger);
-
         final ResourceModel model = request.getDesiredResourceState();
         logger.log(String.format("[CREATE] callbackContext: %s", callbackContext));
 
@@ -59,7 +64,7 @@ public class CreateHandler extends REBaseHandler<CallbackContext> {
                 .build();
         AssociateDefaultViewResponse associateDefaultViewResponse;
         try {
-            associateDefaultViewResponse = proxy.injectCredentialsAndInvokeV2( associateDefaultViewRequest, client::associateDefaultView );
+            associateDefaultViewResponse = invoke(proxy, associateDefaultViewRequest, client.get()::associateDefaultView);
             // only set the AssociatedAwsPrincipal if the request was successful.
             model.setAssociatedAwsPrincipal(request.getAwsAccountId());
             logger.log(String.format("[CREATE] DefaultView created successfully."));
@@ -88,7 +93,7 @@ public class CreateHandler extends REBaseHandler<CallbackContext> {
             GetDefaultViewRequest getDefaultViewRequest = GetDefaultViewRequest.builder().build();
             GetDefaultViewResponse getDefaultViewResponse;
             try {
-                getDefaultViewResponse = proxy.injectCredentialsAndInvokeV2( getDefaultViewRequest, client::getDefaultView );
+                getDefaultViewResponse = invoke(proxy, getDefaultViewRequest, client.get()::getDefaultView);
                 model.setAssociatedAwsPrincipal(request.getAwsAccountId());
             } catch (Exception e){
                 logger.log(String.format("[CREATE][preExistenceCheck] Error occurred in GetDefaultView."));
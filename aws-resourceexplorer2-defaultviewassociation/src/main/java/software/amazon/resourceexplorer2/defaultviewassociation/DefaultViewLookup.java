@@ -0,0 +1,106 @@
+package software.amazon.resourceexplorer2.defaultviewassociation;
+
+//Import Resource Explorer package
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.resourceexplorer2.ResourceExplorer2Client;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetDefaultViewRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Finds the default view of an account in many regions at once, for tooling that would
+// otherwise call GetDefaultView region by region. Regions are looked up in parallel, at most
+// parallelism at a time. Each GetDefaultView call is bounded by regionTimeout, and the whole
+// lookup by regionTimeout times the number of rounds the regions need at that parallelism.
+// A region that fails or times out is reported with its error; it does not fail the others.
+public class DefaultViewLookup {
+
+    static final int DEFAULT_PARALLELISM = 8;
+    static final Duration DEFAULT_REGION_TIMEOUT = Duration.ofSeconds(5);
+
+    @lombok.Value
+    public static class RegionDefaultView {
+        Region region;
+        // The association in this region, or null when there is none or the lookup failed.
+        ResourceModel model;
+        // Null when the lookup succeeded.
+        String error;
+    }
+
+    private final Function<Region, ResourceExplorer2Client> clientProvider;
+    private final int parallelism;
+    private final Duration regionTimeout;
+
+    public DefaultViewLookup() {
+        this(ClientFactory::getClient, DEFAULT_PARALLELISM, DEFAULT_REGION_TIMEOUT);
+    }
+
+    public DefaultViewLookup(
+            final Function<Region, ResourceExplorer2Client> clientProvider,
+            final int parallelism,
+            final Duration regionTimeout) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.clientProvider = clientProvider;
+        this.parallelism = parallelism;
+        this.regionTimeout = regionTimeout;
+    }
+
+    // Returns one result per region, in the order given. accountId is the principal that the
+    // default views belong to, i.e. the account of the credentials the clients use.
+    public List<RegionDefaultView> lookup(final List<Region> regions, final String accountId) throws InterruptedException {
+        if (regions.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        final List<Callable<RegionDefaultView>> tasks = new ArrayList<>();
+        for (final Region region : regions) {
+            tasks.add(() -> lookup(region, accountId));
+        }
+
+        final int threads = Math.min(parallelism, regions.size());
+        final long rounds = (regions.size() + threads - 1) / threads;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<RegionDefaultView>> futures = executor.invokeAll(
+                    tasks, regionTimeout.toMillis() * rounds, TimeUnit.MILLISECONDS);
+
+            final List<RegionDefaultView> results = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(result(regions.get(i), futures.get(i)));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private RegionDefaultView lookup(final Region region, final String accountId) {
+        final GetDefaultViewRequest getDefaultViewRequest = GetDefaultViewRequest.builder()
+                .overrideConfiguration(configuration -> configuration.apiCallTimeout(regionTimeout))
+                .build();
+        final ResourceModel model = ListHandler.translateToResourceModel(
+                clientProvider.apply(region).getDefaultView(getDefaultViewRequest), accountId);
+        return new RegionDefaultView(region, model, null);
+    }
+
+    private RegionDefaultView result(final Region region, final Future<RegionDefaultView> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (CancellationException e) {
+            return new RegionDefaultView(region, null, String.format("Timed out after %d ms.", regionTimeout.toMillis()));
+        } catch (ExecutionException e) {
+            return new RegionDefaultView(region, null, String.valueOf(e.getCause().getMessage()));
+        }
+    }
+}
@@ -16,22 +16,27 @@ import software.amazon.awssdk.services.resourceexplorer2.model.DisassociateDefau
 import software.amazon.awssdk.services.resourceexplorer2.model.GetDefaultViewRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.GetDefaultViewResponse;
 
+import java.util.function.Supplier;
+
 
 public class DeleteHandler extends REBaseHandler<CallbackContext> {
-    private final ResourceExplorer2Client client;
+    private final Supplier<ResourceExplorer2Client> client;
     public DeleteHandler() {
-        client = ClientFactory.getClient();
+        client = ClientFactory::getClient;
     }
 
     @Override
-    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+    protected boolean changesResources() {
+        return true;
+    }
+
+    @Override
+    protected ProgressEvent<ResourceModel, CallbackContext> handleResourceRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
 
-        logRequestInfo(request, logger);
-
         final ResourceModel model = request.getDesiredResourceState();
 
         // to behave like other resources, they need to delete using the actual primaryIdentifier, not a random value
@@ -45,7 +50,7 @@ public class DeleteHandler extends REBaseHandler<CallbackContext> {
         GetDefaultViewRequest getDefaultViewRequest = GetDefaultViewRequest.builder().build();
         GetDefaultViewResponse getDefaultViewResponse;
         try {
-            getDefaultViewResponse = proxy.injectCredentialsAndInvokeV2( getDefaultViewRequest, client::getDefaultView );
+            getDefaultViewResponse = invoke(proxy, getDefaultViewRequest, client.get()::getDefaultView);
         } catch (Exception e){
             logger.log(String.format("[DELETE] Error occurred in GetDefaultView."));
             HandlerErrorCode thisErrorCode = Convertor.convertExceptionToErrorCode(e, logger);
@@ -62,7 +67,7 @@ public class DeleteHandler extends REBaseHandler<CallbackContext> {
         DisassociateDefaultViewResponse disassociateDefaultViewResponse;
 
         try {
-            disassociateDefaultViewResponse = proxy.injectCredentialsAndInvokeV2(disassociateDefaultViewRequest, client::disassociateDefaultView);
+            disassociateDefaultViewResponse = invoke(proxy, disassociateDefaultViewRequest, client.get()::disassociateDefaultView);
         } catch (RuntimeException e){
             HandlerErrorCode thisErrorCode = Convertor.convertExceptionToErrorCode(e, logger);
             return ProgressEvent.failed(model, callbackContext, thisErrorCode, "Could not disassociate the default view: " + e.getMessage());
@@ -1,32 +1,69 @@
 package software.amazon.resourceexplorer2.defaultviewassociation;
 
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+//Import Resource Explorer package
+import software.amazon.awssdk.services.resourceexplorer2.ResourceExplorer2Client;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetDefaultViewRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetDefaultViewResponse;
+
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
-// NOTE: LIST handler is not used here
-// but the implementation is kept in case we want to support in the future.
+// Lists the default view association of the account in the handler's region. The primary
+// identifier is the account ID, so a region holds at most one association; other regions are
+// listed by their own List calls. DefaultViewLookup covers many regions at once.
 public class ListHandler extends REBaseHandler<CallbackContext> {
 
+    private final Supplier<ResourceExplorer2Client> client;
+
+    public ListHandler() {
+        client = ClientFactory::getClient;
+    }
+
     @Override
-    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+    protected ProgressEvent<ResourceModel, CallbackContext> handleResourceRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        logRequestInfo(request, logger);
+        GetDefaultViewRequest getDefaultViewRequest = GetDefaultViewRequest.builder().build();
+        GetDefaultViewResponse getDefaultViewResponse;
+        try {
+            getDefaultViewResponse = invoke(proxy, getDefaultViewRequest, client.get()::getDefaultView);
+        } catch (Exception e){
+            HandlerErrorCode thisErrorCode = Convertor.convertExceptionToErrorCode(e, logger);
+            return ProgressEvent.failed(null, callbackContext, thisErrorCode, "Could not get the default view: " + e.getMessage());
+        }
 
         final List<ResourceModel> models = new ArrayList<>();
+        final ResourceModel model = translateToResourceModel(getDefaultViewResponse, request.getAwsAccountId());
+        if (model != null) {
+            models.add(model);
+        }
+        logger.log(String.format("[LIST] Found %d default view association(s).", models.size()));
 
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
             .resourceModels(models)
             .status(OperationStatus.SUCCESS)
             .build();
     }
+
+    // Returns null when no default view is associated.
+    static ResourceModel translateToResourceModel(final GetDefaultViewResponse getDefaultViewResponse, final String accountId) {
+        if (getDefaultViewResponse.viewArn() == null || getDefaultViewResponse.viewArn().length() == 0) {
+            return null;
+        }
+        return ResourceModel.builder()
+            .viewArn(getDefaultViewResponse.viewArn())
+            .associatedAwsPrincipal(accountId)
+            .build();
+    }
 }
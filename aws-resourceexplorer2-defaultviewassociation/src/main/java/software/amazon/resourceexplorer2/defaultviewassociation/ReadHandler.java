@@ -14,24 +14,24 @@ import software.amazon.awssdk.services.resourceexplorer2.ResourceExplorer2Client
 import software.amazon.awssdk.services.resourceexplorer2.model.GetDefaultViewRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.GetDefaultViewResponse;
 
+import java.util.function.Supplier;
+
 
 public class ReadHandler extends REBaseHandler<CallbackContext> {
 
-    private final ResourceExplorer2Client client;
+    private final Supplier<ResourceExplorer2Client> client;
 
     public ReadHandler() {
-        client = ClientFactory.getClient();
+        client = ClientFactory::getClient;
     }
 
     @Override
-    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+    protected ProgressEvent<ResourceModel, CallbackContext> handleResourceRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
 
-        logRequestInfo(request, logger);
-
         final ResourceModel model = request.getDesiredResourceState();
 
         // to behave like other resources, they need to read using the actual primaryIdentifier, not a random value
@@ -44,7 +44,7 @@ public class ReadHandler extends REBaseHandler<CallbackContext> {
         GetDefaultViewRequest getDefaultViewRequest = GetDefaultViewRequest.builder().build();
         GetDefaultViewResponse getDefaultViewResponse;
         try {
-            getDefaultViewResponse = proxy.injectCredentialsAndInvokeV2( getDefaultViewRequest, client::getDefaultView );
+            getDefaultViewResponse = invokeRead(proxy, getDefaultViewRequest, client.get()::getDefaultView);
         } catch (Exception e){
             HandlerErrorCode thisErrorCode = Convertor.convertExceptionToErrorCode(e, logger);
             return ProgressEvent.failed(model, callbackContext, thisErrorCode, "Could not get the default view: " + e.getMessage());
@@ -2,9 +2,9 @@ package software.amazon.resourceexplorer2.defaultviewassociation;
 
 import software.amazon.awssdk.services.resourceexplorer2.ResourceExplorer2Client;
 import software.amazon.awssdk.services.resourceexplorer2.model.AssociateDefaultViewRequest;
-import software.amazon.awssdk.services.resourceexplorer2.model.AssociateDefaultViewResponse;
 import software.amazon.awssdk.services.resourceexplorer2.model.GetDefaultViewRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.GetDefaultViewResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.ResourceNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnInternalFailureException;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
@@ -14,21 +14,26 @@ import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+import java.util.function.Supplier;
+
 public class UpdateHandler extends REBaseHandler<CallbackContext> {
-    private final ResourceExplorer2Client client;
+    private final Supplier<ResourceExplorer2Client> client;
     public UpdateHandler() {
-        client = ClientFactory.getClient();
+        client = ClientFactory::getClient;
+    }
+
+    @Override
+    protected boolean changesResources() {
+        return true;
     }
 
     @Override
-    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+    protected ProgressEvent<ResourceModel, CallbackContext> handleResourceRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        logRequestInfo(request, logger);
-
         final ResourceModel model = request.getDesiredResourceState();
 
         // to behave like other resources, they need to update using the actual primaryIdentifier, not a random value
@@ -38,26 +43,23 @@ public class UpdateHandler extends REBaseHandler<CallbackContext> {
             return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.NotFound, message);
         }
 
-        // We need to check if there already exists a default view by using GetDefaultView operation.
-        GetDefaultViewRequest getDefaultViewRequest = GetDefaultViewRequest.builder().build();
+        // GetDefaultView comes first: an association removed outside of CloudFormation is NotFound,
+        // and must not be re-created by AssociateDefaultView.
         GetDefaultViewResponse getDefaultViewResponse;
         try {
-            getDefaultViewResponse = proxy.injectCredentialsAndInvokeV2( getDefaultViewRequest, client::getDefaultView );
+            getDefaultViewResponse = invokeRead(proxy, GetDefaultViewRequest.builder().build(), client.get()::getDefaultView);
         } catch (Exception e){
             logger.log(String.format("[UPDATE] Error occurred in GetDefaultView."));
             HandlerErrorCode thisErrorCode = Convertor.convertExceptionToErrorCode(e, logger);
             return ProgressEvent.failed(model, callbackContext, thisErrorCode, "Could not check default view: " + e.getMessage());
         }
 
-        logger.log(String.format("[UPDATE] Default view arn: " + getDefaultViewResponse.viewArn()));
-
-        // If a default view does not exist, return NotFound Error.
         if (getDefaultViewResponse.viewArn() == null || getDefaultViewResponse.viewArn().length() == 0){
             logger.log(String.format("[UPDATE] A default view was not found to update."));
             return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.NotFound, "Default view not found.");
         }
 
-        // if the default view is already set to what we want, avoid making extra API call.
+        // If the default view is already set to what we want, avoid making extra API call.
         if (getDefaultViewResponse.viewArn().equals(model.getViewArn())) {
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
                 .resourceModel(model)
@@ -68,12 +70,17 @@ public class UpdateHandler extends REBaseHandler<CallbackContext> {
         AssociateDefaultViewRequest associateDefaultViewRequest = AssociateDefaultViewRequest.builder()
             .viewArn(model.getViewArn())
             .build();
-        AssociateDefaultViewResponse associateDefaultViewResponse;
         try {
-            associateDefaultViewResponse = proxy.injectCredentialsAndInvokeV2( associateDefaultViewRequest, client::associateDefaultView );
+            invoke(proxy, associateDefaultViewRequest, client.get()::associateDefaultView);
             logger.log(String.format("[UPDATE] DefaultView updated successfully."));
         } catch (Exception e){
             HandlerErrorCode thisErrorCode = Convertor.convertExceptionToErrorCode(e, logger);
+            // The association exists, so a missing resource is the view the template points at.
+            if (e instanceof ResourceNotFoundException) {
+                logger.log(String.format("[UPDATE] Default view %s is still associated, view %s was not found.",
+                    getDefaultViewResponse.viewArn(), model.getViewArn()));
+                thisErrorCode = HandlerErrorCode.InvalidRequest;
+            }
             logger.log(String.format("[UPDATE] Updating DefaultView failed: %s", thisErrorCode));
             return ProgressEvent.failed(model, callbackContext, thisErrorCode, "Could not associate a default view: " + e.getMessage());
         }
@@ -0,0 +1,171 @@
+package software.amazon.resourceexplorer2.defaultviewassociation;
+
+// CloudFormation package
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import software.amazon.resourceexplorer2.common.StubProxy;
+
+// Resource Explorer package
+import software.amazon.awssdk.services.resourceexplorer2.model.AssociateDefaultViewRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.AssociateDefaultViewResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.DisassociateDefaultViewRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.DisassociateDefaultViewResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetDefaultViewRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetDefaultViewResponse;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Bytes each handler allocates per invocation, read from the thread allocation counter over
+// MEASURED_INVOCATIONS invocations against StubProxy, after a warm-up. Every scenario has a
+// budget; a change that goes over it allocates more on every invocation and has to raise the
+// budget here, with the reason. The measurements are printed as a table and written to
+// target/allocation-budgets.txt.
+public class AllocationBudgetTest {
+
+    static final int WARMUP_INVOCATIONS = 2_000;
+    static final int MEASURED_INVOCATIONS = 1_000;
+
+    private static final long KB = 1024;
+    private static final Logger LOGGER = message -> { };
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String VIEW_ARN = "arn:aws:resource-explorer-2:us-west-2:123456789012:view/exampleView/2b1ae2fd-5c32-428f-92e3-ac8a2fd50f52";
+    private static final String OTHER_VIEW_ARN = "arn:aws:resource-explorer-2:us-west-2:123456789012:view/exampleView2/2b1ae2fd-5c32-428f-92e3-ac8a2fd50f52";
+
+    // "Handler scenario" to {bytes per invocation, budget}.
+    private static final Map<String, long[]> MEASUREMENTS = new TreeMap<>();
+
+    @BeforeAll
+    public static void requireAllocationCounter() {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported());
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @AfterAll
+    public static void publish() throws IOException {
+        final StringBuilder table = new StringBuilder(String.format("%-40s %18s %10s%n", "Handler scenario", "Bytes/invocation", "Budget"));
+        for (Map.Entry<String, long[]> measurement : MEASUREMENTS.entrySet()) {
+            table.append(String.format("%-40s %18d %10d%n",
+                    measurement.getKey(), measurement.getValue()[0], measurement.getValue()[1]));
+        }
+        System.out.print(table);
+        final Path report = Paths.get("target", "allocation-budgets.txt");
+        Files.createDirectories(report.getParent());
+        Files.write(report, table.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void create_PreExistenceCheck() {
+        final StubProxy proxy = new StubProxy()
+                .respond(GetDefaultViewRequest.class, GetDefaultViewResponse.builder().build());
+
+        assertWithinBudget("CreateHandler pre-existence check", 48 * KB, new CreateHandler(), proxy,
+                requestFor(ResourceModel.builder().viewArn(VIEW_ARN).build()), null);
+    }
+
+    @Test
+    public void create_Associate() {
+        final StubProxy proxy = new StubProxy()
+                .respond(AssociateDefaultViewRequest.class, AssociateDefaultViewResponse.builder().viewArn(VIEW_ARN).build());
+
+        assertWithinBudget("CreateHandler associate", 48 * KB, new CreateHandler(), proxy,
+                requestFor(ResourceModel.builder().viewArn(VIEW_ARN).build()),
+                CallbackContext.builder().preExistenceCheck(true).build());
+    }
+
+    @Test
+    public void read_DefaultView() {
+        final StubProxy proxy = new StubProxy()
+                .respond(GetDefaultViewRequest.class, GetDefaultViewResponse.builder().viewArn(VIEW_ARN).build());
+
+        assertWithinBudget("ReadHandler", 48 * KB, new ReadHandler(), proxy,
+                requestFor(associatedModel(VIEW_ARN)), null);
+    }
+
+    @Test
+    public void update_DifferentDefaultView() {
+        final StubProxy proxy = new StubProxy()
+                .respond(GetDefaultViewRequest.class, GetDefaultViewResponse.builder().viewArn(OTHER_VIEW_ARN).build())
+                .respond(AssociateDefaultViewRequest.class, AssociateDefaultViewResponse.builder().viewArn(VIEW_ARN).build());
+
+        assertWithinBudget("UpdateHandler", 64 * KB, new UpdateHandler(), proxy,
+                requestFor(associatedModel(VIEW_ARN)), null);
+    }
+
+    @Test
+    public void delete_DefaultView() {
+        final StubProxy proxy = new StubProxy()
+                .respond(GetDefaultViewRequest.class, GetDefaultViewResponse.builder().viewArn(VIEW_ARN).build())
+                .respond(DisassociateDefaultViewRequest.class, DisassociateDefaultViewResponse.builder().build());
+
+        assertWithinBudget("DeleteHandler", 64 * KB, new DeleteHandler(), proxy,
+                requestFor(associatedModel(VIEW_ARN)), null);
+    }
+
+    @Test
+    public void list_DefaultView() {
+        final StubProxy proxy = new StubProxy()
+                .respond(GetDefaultViewRequest.class, GetDefaultViewResponse.builder().viewArn(VIEW_ARN).build());
+
+        assertWithinBudget("ListHandler", 48 * KB, new ListHandler(), proxy,
+                requestFor(ResourceModel.builder().build()), null);
+    }
+
+    // The request carries no client token, so the result cache never answers in place of the handler.
+    private static void assertWithinBudget(final String scenario,
+                                           final long budget,
+                                           final REBaseHandler<CallbackContext> handler,
+                                           final StubProxy proxy,
+                                           final ResourceHandlerRequest<ResourceModel> request,
+                                           final CallbackContext callbackContext) {
+
+        final ProgressEvent<ResourceModel, CallbackContext> result = handler.handleRequest(proxy, request, callbackContext, LOGGER);
+        assertThat(result.getStatus()).as("status of %s", scenario).isNotEqualTo(OperationStatus.FAILED);
+
+        for (int i = 0; i < WARMUP_INVOCATIONS; i++) {
+            handler.handleRequest(proxy, request, callbackContext, LOGGER);
+        }
+        final long threadId = Thread.currentThread().getId();
+        final long before = THREADS.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_INVOCATIONS; i++) {
+            handler.handleRequest(proxy, request, callbackContext, LOGGER);
+        }
+        final long bytesPerInvocation = (THREADS.getThreadAllocatedBytes(threadId) - before) / MEASURED_INVOCATIONS;
+
+        MEASUREMENTS.put(scenario, new long[] {bytesPerInvocation, budget});
+        assertThat(bytesPerInvocation).as("bytes allocated per invocation by %s", scenario).isLessThanOrEqualTo(budget);
+    }
+
+    private static ResourceModel associatedModel(final String viewArn) {
+        return ResourceModel.builder()
+                .viewArn(viewArn)
+                .associatedAwsPrincipal(ACCOUNT_ID)
+                .build();
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> requestFor(final ResourceModel model) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package software.amazon.resourceexplorer2.defaultviewassociation;
+
+// Resource Explorer package
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.resourceexplorer2.ResourceExplorer2Client;
+import software.amazon.awssdk.services.resourceexplorer2.model.AccessDeniedException;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetDefaultViewRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetDefaultViewResponse;
+import software.amazon.resourceexplorer2.defaultviewassociation.DefaultViewLookup.RegionDefaultView;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DefaultViewLookupTest {
+
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final List<Region> REGIONS = Arrays.asList(
+            Region.US_EAST_1, Region.US_WEST_2, Region.EU_WEST_1, Region.AP_SOUTHEAST_2);
+
+    private final Map<Region, ResourceExplorer2Client> clients = new HashMap<>();
+
+    @Test
+    public void lookup_ReturnsOneResultPerRegionInOrder() throws InterruptedException {
+        client(Region.US_EAST_1, viewArn(Region.US_EAST_1));
+        client(Region.US_WEST_2, viewArn(Region.US_WEST_2));
+        client(Region.EU_WEST_1, null);
+        final ResourceExplorer2Client denied = mock(ResourceExplorer2Client.class);
+        when(denied.getDefaultView(any(GetDefaultViewRequest.class)))
+                .thenThrow(AccessDeniedException.builder().message("Region not enabled").build());
+        clients.put(Region.AP_SOUTHEAST_2, denied);
+
+        final List<RegionDefaultView> results = new DefaultViewLookup(clients::get, 2, Duration.ofSeconds(5))
+                .lookup(REGIONS, ACCOUNT_ID);
+
+        assertThat(results).extracting(RegionDefaultView::getRegion).containsExactlyElementsOf(REGIONS);
+        assertThat(results.get(0).getModel()).isEqualTo(ResourceModel.builder()
+                .viewArn(viewArn(Region.US_EAST_1))
+                .associatedAwsPrincipal(ACCOUNT_ID)
+                .build());
+        assertThat(results.get(1).getModel().getViewArn()).isEqualTo(viewArn(Region.US_WEST_2));
+        assertThat(results.get(2).getModel()).isNull();
+        assertThat(results.get(2).getError()).isNull();
+        assertThat(results.get(3).getModel()).isNull();
+        assertThat(results.get(3).getError()).contains("Region not enabled");
+    }
+
+    @Test
+    public void lookup_BoundsParallelism() throws InterruptedException {
+        final AtomicInteger concurrent = new AtomicInteger();
+        final AtomicInteger maxConcurrent = new AtomicInteger();
+        for (final Region region : REGIONS) {
+            final ResourceExplorer2Client client = mock(ResourceExplorer2Client.class);
+            when(client.getDefaultView(any(GetDefaultViewRequest.class))).thenAnswer(invocation -> {
+                maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                Thread.sleep(50);
+                concurrent.decrementAndGet();
+                return GetDefaultViewResponse.builder().viewArn(viewArn(region)).build();
+            });
+            clients.put(region, client);
+        }
+
+        final List<RegionDefaultView> results = new DefaultViewLookup(clients::get, 2, Duration.ofSeconds(5))
+                .lookup(REGIONS, ACCOUNT_ID);
+
+        assertThat(results).allMatch(result -> result.getModel() != null);
+        assertThat(maxConcurrent.get()).isBetween(1, 2);
+    }
+
+    @Test
+    public void lookup_SlowRegionTimesOutWithoutFailingOthers() throws InterruptedException {
+        client(Region.US_EAST_1, viewArn(Region.US_EAST_1));
+        client(Region.US_WEST_2, viewArn(Region.US_WEST_2));
+        client(Region.EU_WEST_1, viewArn(Region.EU_WEST_1));
+        final ResourceExplorer2Client slow = mock(ResourceExplorer2Client.class);
+        when(slow.getDefaultView(any(GetDefaultViewRequest.class))).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return GetDefaultViewResponse.builder().build();
+        });
+        clients.put(Region.AP_SOUTHEAST_2, slow);
+
+        final long start = System.nanoTime();
+        final List<RegionDefaultView> results = new DefaultViewLookup(clients::get, 4, Duration.ofMillis(300))
+                .lookup(REGIONS, ACCOUNT_ID);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(results.subList(0, 3)).allMatch(result -> result.getModel() != null);
+        assertThat(results.get(3).getModel()).isNull();
+        assertThat(results.get(3).getError()).contains("Timed out");
+    }
+
+    @Test
+    public void lookup_SetsTheRegionTimeoutOnEachCall() throws InterruptedException {
+        final ResourceExplorer2Client client = client(Region.US_EAST_1, viewArn(Region.US_EAST_1));
+
+        new DefaultViewLookup(clients::get, 1, Duration.ofSeconds(3)).lookup(Arrays.asList(Region.US_EAST_1), ACCOUNT_ID);
+
+        final ArgumentCaptor<GetDefaultViewRequest> captor = ArgumentCaptor.forClass(GetDefaultViewRequest.class);
+        verify(client).getDefaultView(captor.capture());
+        assertThat(captor.getValue().overrideConfiguration().get().apiCallTimeout()).contains(Duration.ofSeconds(3));
+    }
+
+    @Test
+    public void lookup_RejectsZeroParallelism() {
+        assertThatThrownBy(() -> new DefaultViewLookup(clients::get, 0, Duration.ofSeconds(5)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ResourceExplorer2Client client(final Region region, final String viewArn) {
+        final ResourceExplorer2Client client = mock(ResourceExplorer2Client.class);
+        when(client.getDefaultView(any(GetDefaultViewRequest.class)))
+                .thenReturn(GetDefaultViewResponse.builder().viewArn(viewArn).build());
+        clients.put(region, client);
+        return client;
+    }
+
+    private static String viewArn(final Region region) {
+        return String.format("arn:aws:resource-explorer-2:%s:%s:view/default/2b1ae2fd-5c32-428f-92e3-ac8a2fd50f52",
+                region.id(), ACCOUNT_ID);
+    }
+}
@@ -0,0 +1,165 @@
+package software.amazon.resourceexplorer2.defaultviewassociation;
+
+// CloudFormation package
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+// Resource Explorer package
+import software.amazon.awssdk.services.resourceexplorer2.model.AssociateDefaultViewRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.AssociateDefaultViewResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.DisassociateDefaultViewRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.DisassociateDefaultViewResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetDefaultViewRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetDefaultViewResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.ResourceNotFoundException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// These tests pin the number of Resource Explorer calls each handler makes per scenario.
+// A change that adds a round trip to one of these paths has to update its budget here.
+@ExtendWith(MockitoExtension.class)
+public class ServiceCallBudgetTest {
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    private Logger logger;
+
+    private static String exampleArn1 = "arn:aws:resource-explorer-2:us-west-2:123456789012:view/exampleView/2b1ae2fd-5c32-428f-92e3-ac8a2fd50f52";
+    private static String exampleArn2 = "arn:aws:resource-explorer-2:us-west-2:123456789012:view/exampleView2/2b1ae2fd-5c32-428f-92e3-ac8a2fd50f52";
+    private static String ACCOUNT_ID = "123456789012";
+
+    @BeforeEach
+    public void setup() {
+        proxy = mock(AmazonWebServicesClientProxy.class);
+        logger = mock(Logger.class);
+    }
+
+    @Test
+    public void create_PreExistenceCheck() {
+        doReturn(GetDefaultViewResponse.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetDefaultViewRequest.class), any());
+
+        final CreateHandler handler = new CreateHandler();
+        handler.handleRequest(proxy, requestFor(ResourceModel.builder().viewArn(exampleArn1).build()), null, logger);
+
+        assertBudget(handler, budget("GetDefaultView", 1));
+    }
+
+    @Test
+    public void create_AssociateAfterPreExistenceCheck() {
+        doReturn(AssociateDefaultViewResponse.builder().viewArn(exampleArn1).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(AssociateDefaultViewRequest.class), any());
+
+        final CreateHandler handler = new CreateHandler();
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .preExistenceCheck(true)
+                .build();
+        handler.handleRequest(proxy, requestFor(ResourceModel.builder().viewArn(exampleArn1).build()),
+                callbackContext, logger);
+
+        assertBudget(handler, budget("AssociateDefaultView", 1));
+    }
+
+    @Test
+    public void read_DefaultView() {
+        doReturn(GetDefaultViewResponse.builder().viewArn(exampleArn1).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetDefaultViewRequest.class), any());
+
+        final ReadHandler handler = new ReadHandler();
+        handler.handleRequest(proxy, requestFor(associatedModel(exampleArn1)), null, logger);
+
+        assertBudget(handler, budget("GetDefaultView", 1));
+    }
+
+    @Test
+    public void update_DifferentDefaultView() {
+        doReturn(GetDefaultViewResponse.builder().viewArn(exampleArn2).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetDefaultViewRequest.class), any());
+        doReturn(AssociateDefaultViewResponse.builder().viewArn(exampleArn1).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(AssociateDefaultViewRequest.class), any());
+
+        final UpdateHandler handler = new UpdateHandler();
+        handler.handleRequest(proxy, requestFor(associatedModel(exampleArn1)), null, logger);
+
+        assertBudget(handler, budget("GetDefaultView", 1, "AssociateDefaultView", 1));
+    }
+
+    @Test
+    public void update_ViewNotFound() {
+        doThrow(ResourceNotFoundException.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(AssociateDefaultViewRequest.class), any());
+        doReturn(GetDefaultViewResponse.builder().viewArn(exampleArn2).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetDefaultViewRequest.class), any());
+
+        final UpdateHandler handler = new UpdateHandler();
+        handler.handleRequest(proxy, requestFor(associatedModel(exampleArn1)), null, logger);
+
+        assertBudget(handler, budget("AssociateDefaultView", 1, "GetDefaultView", 1));
+    }
+
+    @Test
+    public void list_DefaultView() {
+        doReturn(GetDefaultViewResponse.builder().viewArn(exampleArn1).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetDefaultViewRequest.class), any());
+
+        final ListHandler handler = new ListHandler();
+        handler.handleRequest(proxy, requestFor(ResourceModel.builder().build()), null, logger);
+
+        assertBudget(handler, budget("GetDefaultView", 1));
+    }
+
+    @Test
+    public void delete_DefaultView() {
+        doReturn(GetDefaultViewResponse.builder().viewArn(exampleArn1).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetDefaultViewRequest.class), any());
+        doReturn(DisassociateDefaultViewResponse.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(DisassociateDefaultViewRequest.class), any());
+
+        final DeleteHandler handler = new DeleteHandler();
+        handler.handleRequest(proxy, requestFor(associatedModel(exampleArn1)), null, logger);
+
+        assertBudget(handler, budget("GetDefaultView", 1, "DisassociateDefaultView", 1));
+    }
+
+    private static ResourceModel associatedModel(final String viewArn) {
+        return ResourceModel.builder()
+                .viewArn(viewArn)
+                .associatedAwsPrincipal(ACCOUNT_ID)
+                .build();
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> requestFor(final ResourceModel model) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+    }
+
+    private static Map<String, Integer> budget(final Object... operationsAndCounts) {
+        final Map<String, Integer> budget = new HashMap<>();
+        for (int i = 0; i < operationsAndCounts.length; i += 2) {
+            budget.put((String) operationsAndCounts[i], (Integer) operationsAndCounts[i + 1]);
+        }
+        return budget;
+    }
+
+    private static void assertBudget(final REBaseHandler<CallbackContext> handler, final Map<String, Integer> budget) {
+        assertThat(handler.getServiceCallCounter().counts()).isEqualTo(budget);
+    }
+}
@@ -4,6 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -77,6 +80,7 @@ public class UpdateHandlerTest {
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
+        verify(proxy, times(2)).injectCredentialsAndInvokeV2(any(), any());
     }
 
     // This test verifies the success status of setting the same default view already associated.
@@ -113,10 +117,11 @@ public class UpdateHandlerTest {
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(AssociateDefaultViewRequest.class), any());
     }
 
-    // This test verifies the success status of setting up a default view while there is
-    // no existed default view in an account.
+    // This test verifies the NotFound status when the default view association was removed
+    // outside of CloudFormation. The association is not re-created.
     @Test
     public void handleRequest_NonExistedDefaultView_NotFound() {
 
@@ -127,16 +132,50 @@ public class UpdateHandlerTest {
         when(proxy.injectCredentialsAndInvokeV2(eq(getDefaultViewRequest), any()))
             .thenReturn(getDefaultViewResponse);
 
-        AssociateDefaultViewRequest associateDefaultViewRequest = AssociateDefaultViewRequest.builder()
+        final ResourceModel model = ResourceModel.builder()
             .viewArn(exampleArn1)
+            .associatedAwsPrincipal(ACCOUNT_ID)
+            .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .awsAccountId(ACCOUNT_ID)
             .build();
 
-        AssociateDefaultViewResponse associateDefaultViewResponse = AssociateDefaultViewResponse.builder()
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
+        assertThat(response.getResourceModels()).isNull();
+        assertThat(response.getMessage()).isNotNull();
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(AssociateDefaultViewRequest.class), any());
+    }
+
+    // This test verifies the InvalidRequest status when the view to associate does not exist,
+    // while the current default view association is still in place.
+    @Test
+    public void handleRequest_ViewToAssociateNotFound_InvalidRequest() {
+
+        AssociateDefaultViewRequest associateDefaultViewRequest = AssociateDefaultViewRequest.builder()
             .viewArn(exampleArn1)
             .build();
 
         when(proxy.injectCredentialsAndInvokeV2( eq(associateDefaultViewRequest), any()))
-            .thenReturn(associateDefaultViewResponse);
+            .thenThrow(ResourceNotFoundException.builder().build());
+
+        GetDefaultViewRequest getDefaultViewRequest = GetDefaultViewRequest.builder().build();
+
+        GetDefaultViewResponse getDefaultViewResponse = GetDefaultViewResponse.builder()
+            .viewArn(exampleArn2)
+            .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(eq(getDefaultViewRequest), any()))
+            .thenReturn(getDefaultViewResponse);
 
         final ResourceModel model = ResourceModel.builder()
             .viewArn(exampleArn1)
@@ -153,12 +192,9 @@ public class UpdateHandlerTest {
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
-        assertThat(response.getCallbackContext()).isNull();
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
         assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
-        assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNotNull();
-        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
     }
 
     @Test
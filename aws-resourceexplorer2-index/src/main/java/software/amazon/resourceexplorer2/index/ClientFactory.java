@@ -1,9 +1,11 @@
 package software.amazon.resourceexplorer2.index;
 
 import software.amazon.awssdk.services.resourceexplorer2.ResourceExplorer2Client;
+import software.amazon.resourceexplorer2.common.CircuitBreaker;
+import software.amazon.resourceexplorer2.common.RegionalClientRegistry;
 
-import com.amazonaws.util.StringUtils;
-
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
 import java.net.URI;
 
@@ -15,19 +17,57 @@ public class ClientFactory {
 
     private static ResourceExplorer2Client client;
 
+    // Handlers ask for the client on their first service call, not when they are constructed:
+    // the HandlerWrapper constructs the handler of every action, and an invocation runs one.
     public static ResourceExplorer2Client getClient() {
 
         if(client == null) {
             client = ResourceExplorer2Client.builder()
                     .region(Region.of(getRegion()))
+                    .overrideConfiguration(o -> o.addExecutionInterceptor(getCircuitBreaker()))
                     .build();
         }
 
         return client;
     }
 
+    // Lets a host that serves several resource types from one function hand all of
+    // their handlers the same client, and so the same HTTP connection pool.
+    public static void setClient(final ResourceExplorer2Client sharedClient) {
+        client = sharedClient;
+    }
+
+    // Clients for regions other than the function's own, e.g. to look for an existing
+    // AGGREGATOR index elsewhere. They share one HTTP client with each other.
+    public static ResourceExplorer2Client getClient(final Region region) {
+        return RegionalClients.REGISTRY.getClient(region);
+    }
+
+    public static RegionalClientRegistry<ResourceExplorer2Client> getRegionalClients() {
+        return RegionalClients.REGISTRY;
+    }
+
+    // Holder class, so the registry and its HTTP client are only built once a
+    // cross-region client is first asked for.
+    private static final class RegionalClients {
+        private static final SdkHttpClient HTTP_CLIENT = ApacheHttpClient.builder().build();
+        private static final RegionalClientRegistry<ResourceExplorer2Client> REGISTRY = new RegionalClientRegistry<>(
+                ResourceExplorer2Client.class, HTTP_CLIENT,
+                (region, metricPublisher) -> ResourceExplorer2Client.builder()
+                        .region(region)
+                        .httpClient(HTTP_CLIENT)
+                        .overrideConfiguration(o -> o.addMetricPublisher(metricPublisher)
+                                .addExecutionInterceptor(getCircuitBreaker()))
+                        .build());
+    }
+
+    // One circuit breaker for every client of the process, whichever resource type built it.
+    public static CircuitBreaker getCircuitBreaker() {
+        return CircuitBreaker.shared();
+    }
+
     private static String getRegion() {
         final String envValue = System.getenv(AWS_REGION);
-        return StringUtils.isNullOrEmpty(envValue)? DEFAULT_AWS_REGION: envValue;
+        return envValue == null || envValue.isEmpty() ? DEFAULT_AWS_REGION : envValue;
     }
 }
@@ -13,42 +13,91 @@ import software.amazon.awssdk.services.resourceexplorer2.model.CreateIndexRespon
 import software.amazon.awssdk.services.resourceexplorer2.model.DeleteIndexRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.Index;
+import software.amazon.awssdk.services.resourceexplorer2.model.ListIndexesRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.ListIndexesResponse;
 import software.amazon.awssdk.services.resourceexplorer2.model.UpdateIndexTypeRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.UpdateIndexTypeResponse;
 import software.amazon.awssdk.services.resourceexplorer2.ResourceExplorer2Client;
+import software.amazon.resourceexplorer2.common.CircuitBreaker;
+import software.amazon.resourceexplorer2.common.InvocationDeadline;
 
 import static software.amazon.resourceexplorer2.index.IndexUtils.DELAY_CONSTANT;
 import static software.amazon.resourceexplorer2.index.IndexUtils.MAX_RETRIES;
 import static software.amazon.resourceexplorer2.index.IndexUtils.ACTIVE;
 import static software.amazon.resourceexplorer2.index.IndexUtils.AGGREGATOR;
+import static software.amazon.resourceexplorer2.index.IndexUtils.AGGREGATOR_CONFLICT_MESSAGE;
 import static software.amazon.resourceexplorer2.index.IndexUtils.LOCAL;
 
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
 public class CreateHandler extends REBaseHandler<CallbackContext> {
 
-    private final ResourceExplorer2Client client;
+    // CreateIndex is sent with the request's client token, so an attempt that failed on the way
+    // can be sent again: the service answers with the index the first one created.
+    static final int CREATE_INDEX_ATTEMPTS = 3;
+    // Before attempt n + 1 the handler waits a random time of up to CREATE_INDEX_BACKOFF * 2^(n - 1),
+    // so that the handlers of a stack whose calls failed together do not send them again together.
+    static final Duration CREATE_INDEX_BACKOFF = Duration.ofMillis(200);
+
+    private final Supplier<ResourceExplorer2Client> client;
+    private final Sleeper sleeper;
 
     public CreateHandler() {
-        client = ClientFactory.getClient();
+        this(Thread::sleep);
+    }
+
+    // Lets callers that work across regions, like IndexRolloutOrchestrator, pass the client of a region.
+    public CreateHandler(final ResourceExplorer2Client client) {
+        this.client = () -> client;
+        this.sleeper = Thread::sleep;
+    }
+
+    CreateHandler(final Sleeper sleeper) {
+        this.client = ClientFactory::getClient;
+        this.sleeper = sleeper;
     }
 
     @Override
-    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+    protected boolean changesResources() {
+        return true;
+    }
+
+    @Override
+    protected ProgressEvent<ResourceModel, CallbackContext> handleResourceRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
 
-        logRequestInfo(request, logger);
-
         final ResourceModel model = request.getDesiredResourceState();
 
         if (TagTools.containsSystemTags(model)) {
             return ProgressEvent.failed(model, null, HandlerErrorCode.InvalidRequest, TagTools.INVALID_SYSTEM_TAG);
         }
 
+        final String schemaError = SchemaConstraints.get().validate(model);
+        if (schemaError != null) {
+            logger.log("[CREATE] " + schemaError);
+            return ProgressEvent.failed(model, null, HandlerErrorCode.InvalidRequest, schemaError);
+        }
+
         // First, we check if this is the first time CREATE handler invoked.
         // If it is the first time, we go invokeCreateIndex().
         if (callbackContext == null) {
+            // An account can only have one aggregator index. If another region already has it,
+            // UpdateIndexType would fail only after the new index became ACTIVE, and we would
+            // have to delete the index again. We check for it before creating anything.
+            if (AGGREGATOR.equalsIgnoreCase(model.getType())) {
+                final Index existingAggregator = findExistingAggregator(proxy, logger);
+                if (existingAggregator != null) {
+                    return ProgressEvent.failed(model, null, HandlerErrorCode.ResourceConflict,
+                            String.format(AGGREGATOR_CONFLICT_MESSAGE,
+                                    existingAggregator.region(), existingAggregator.arn()));
+                }
+            }
             return invokeCreateIndex(model, logger, request, proxy);
         }
 
@@ -58,7 +107,7 @@ public class CreateHandler extends REBaseHandler<CallbackContext> {
         GetIndexRequest getIndexRequest = GetIndexRequest.builder().build();
         GetIndexResponse getIndexResponse;
         try{
-            getIndexResponse = proxy.injectCredentialsAndInvokeV2(getIndexRequest, client::getIndex);
+            getIndexResponse = invoke(proxy, getIndexRequest, client.get()::getIndex);
         } catch (RuntimeException e){
             HandlerErrorCode thisErrorCode = Convertor.convertExceptionToErrorCode(e, logger);
             logger.log(String.format("[CREATE] Error code: %s.", thisErrorCode));
@@ -73,6 +122,11 @@ public class CreateHandler extends REBaseHandler<CallbackContext> {
             // Check if CreateInProgress is true, it meant an index is created successfully and
             // its state is ACTIVE. We need to update index type if required.
             if (callbackContext.isCreateInProgress()){
+                // The next invocation finds the index ACTIVE again and updates its type then.
+                if (!hasTimeForAnotherStep()) {
+                    logger.log("[CREATE] Too little time left to update the index type, continuing later.");
+                    return ProgressEvent.defaultInProgressHandler(callbackContext, 0, model);
+                }
                 callbackContext.setCreateInProgress(false);
                 callbackContext.setUpdateInProgress(true);
                 // We reset retryCount because UpdateIndexType requires some time to finish.
@@ -100,7 +154,7 @@ public class CreateHandler extends REBaseHandler<CallbackContext> {
                     .arn(getIndexResponse.arn())
                     .build();
             try {
-                proxy.injectCredentialsAndInvokeV2(deleteIndexRequest, client::deleteIndex);
+                invoke(proxy, deleteIndexRequest, client.get()::deleteIndex);
             } catch (RuntimeException e){
                 HandlerErrorCode thisErrorCode = Convertor.convertExceptionToErrorCode(e, logger);
                 return ProgressEvent.failed(model, null, thisErrorCode,
@@ -114,18 +168,40 @@ public class CreateHandler extends REBaseHandler<CallbackContext> {
         return ProgressEvent.defaultInProgressHandler(callbackContext, DELAY_CONSTANT, model);
     }
 
+    // Returns the aggregator index of this account, or null if there is none. If ListIndexes
+    // itself fails, we go on with the creation and let UpdateIndexType report any conflict.
+    private Index findExistingAggregator(final AmazonWebServicesClientProxy proxy, final Logger logger) {
+        ListIndexesRequest listIndexesRequest = ListIndexesRequest.builder()
+                .type(AGGREGATOR)
+                .build();
+        ListIndexesResponse listIndexesResponse;
+        logger.log("[CREATE] Invoking ListIndexes to look for an existing aggregator index.");
+        try {
+            listIndexesResponse = invoke(proxy, listIndexesRequest, client.get()::listIndexes);
+        } catch (RuntimeException e) {
+            logger.log(String.format("[CREATE] Could not look for an existing aggregator index: %s", e.getMessage()));
+            return null;
+        }
+
+        return listIndexesResponse.indexes().stream()
+                .filter(index -> AGGREGATOR.equalsIgnoreCase(index.typeAsString()))
+                .findFirst()
+                .orElse(null);
+    }
+
     private ProgressEvent<ResourceModel, CallbackContext> invokeCreateIndex (
             ResourceModel model, Logger logger,
             final ResourceHandlerRequest<ResourceModel> request,
             final AmazonWebServicesClientProxy proxy){
 
         CreateIndexRequest createIndexRequest = CreateIndexRequest.builder()
+                .clientToken(request.getClientRequestToken())
                 .tags(TagTools.combineAllTypesOfTags(model, request, logger))
                 .build();
         CreateIndexResponse createIndexResponse;
         logger.log("[CREATE] Invoking CreateIndex.");
         try{
-            createIndexResponse = proxy.injectCredentialsAndInvokeV2(createIndexRequest, client::createIndex);
+            createIndexResponse = createIndexWithRetries(createIndexRequest, proxy, logger);
         } catch (RuntimeException e){
             HandlerErrorCode thisErrorCode = Convertor.convertExceptionToErrorCode(e, logger);
             logger.log(String.format("[CREATE] Error code: %s.", thisErrorCode));
@@ -150,6 +226,12 @@ public class CreateHandler extends REBaseHandler<CallbackContext> {
         // users want a different index type. We need to check if the index is ACTIVE before staring the
         // updating process.
         if (createIndexResponse.stateAsString().equalsIgnoreCase(ACTIVE)){
+            // The index exists now. Rather than run out of time in UpdateIndexType, which would
+            // delete it again on failure, we leave the type to the next invocation.
+            if (!hasTimeForAnotherStep()) {
+                logger.log("[CREATE] Too little time left to update the index type, continuing later.");
+                return ProgressEvent.defaultInProgressHandler(newCallbackContext, 0, model);
+            }
             newCallbackContext.setCreateInProgress(false);
             newCallbackContext.setUpdateInProgress(true);
             return updateIndexTypeHelper(model, logger, proxy, newCallbackContext);
@@ -159,6 +241,44 @@ public class CreateHandler extends REBaseHandler<CallbackContext> {
 
     }
 
+    // Sends CreateIndex again, after a backoff, when an attempt timed out or the service was
+    // unavailable, as long as there is time for the wait and the attempt. Other failures, such as
+    // a ConflictException, are thrown at once. So is throttling: the SDK has already retried it
+    // with its own backoff, and the Throttling failure has CloudFormation retry it later.
+    private CreateIndexResponse createIndexWithRetries(
+            final CreateIndexRequest createIndexRequest,
+            final AmazonWebServicesClientProxy proxy,
+            final Logger logger) {
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return invoke(proxy, createIndexRequest, client.get()::createIndex);
+            } catch (RuntimeException e) {
+                final boolean retriable = CircuitBreaker.isUnhealthy(e) || InvocationDeadline.isTimeout(e);
+                if (attempt >= CREATE_INDEX_ATTEMPTS || !retriable) {
+                    throw e;
+                }
+                final Duration backoff = backoff(attempt);
+                if (!hasTimeForAnotherStepAfter(backoff)) {
+                    throw e;
+                }
+                logger.log(String.format("[CREATE] CreateIndex attempt %d failed, sending it again in %d ms: %s",
+                        attempt, backoff.toMillis(), e.getMessage()));
+                try {
+                    sleeper.sleep(backoff.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    static Duration backoff(final int attempt) {
+        final long ceilingMillis = CREATE_INDEX_BACKOFF.toMillis() << (attempt - 1);
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceilingMillis + 1));
+    }
+
     // This method checks if users want to create an aggregator index, it will invoke
     // UPDATE handler.
     private ProgressEvent<ResourceModel, CallbackContext> updateIndexTypeHelper (
@@ -180,7 +300,7 @@ public class CreateHandler extends REBaseHandler<CallbackContext> {
                 .build();
         UpdateIndexTypeResponse updateIndexTypeResponse;
         try{
-            updateIndexTypeResponse = proxy.injectCredentialsAndInvokeV2(updateIndexTypeRequest, client::updateIndexType);
+            updateIndexTypeResponse = invoke(proxy, updateIndexTypeRequest, client.get()::updateIndexType);
         } catch (RuntimeException updateException){
             // If there is exception while invoking UpdateIndexType,
             // we delete the index and return Failed.
@@ -188,7 +308,7 @@ public class CreateHandler extends REBaseHandler<CallbackContext> {
                     .arn(model.getArn())
                     .build();
             try {
-                proxy.injectCredentialsAndInvokeV2(deleteIndexRequest, client::deleteIndex);
+                invoke(proxy, deleteIndexRequest, client.get()::deleteIndex);
             } catch (RuntimeException deleteException){
                 HandlerErrorCode thisErrorCode = Convertor.convertExceptionToErrorCode(deleteException, logger);
                 return ProgressEvent.failed(model, null,
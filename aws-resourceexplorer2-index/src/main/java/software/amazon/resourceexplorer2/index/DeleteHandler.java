@@ -16,24 +16,29 @@ import software.amazon.awssdk.services.resourceexplorer2.model.UpdateIndexTypeRe
 
 import static software.amazon.resourceexplorer2.index.IndexUtils.*;
 
+import java.util.function.Supplier;
+
 
 public class DeleteHandler extends REBaseHandler<CallbackContext> {
 
-    private final ResourceExplorer2Client client;
+    private final Supplier<ResourceExplorer2Client> client;
 
     public DeleteHandler() {
-        client = ClientFactory.getClient();
+        client = ClientFactory::getClient;
     }
 
     @Override
-    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+    protected boolean changesResources() {
+        return true;
+    }
+
+    @Override
+    protected ProgressEvent<ResourceModel, CallbackContext> handleResourceRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
 
-        logRequestInfo(request, logger);
-
         final ResourceModel model = request.getDesiredResourceState();
 
         // First, we need to check if there is an index existed in this region. This to make
@@ -41,7 +46,7 @@ public class DeleteHandler extends REBaseHandler<CallbackContext> {
         final GetIndexRequest getIndexRequest = GetIndexRequest.builder().build();
         GetIndexResponse getIndexResponse;
         try {
-            getIndexResponse = proxy.injectCredentialsAndInvokeV2(getIndexRequest, client::getIndex);
+            getIndexResponse = invoke(proxy, getIndexRequest, client.get()::getIndex);
         } catch (RuntimeException e){
             HandlerErrorCode thisErrorCode = Convertor.convertExceptionToErrorCode(e, logger);
             return ProgressEvent.failed(model, callbackContext, thisErrorCode,
@@ -87,7 +92,7 @@ public class DeleteHandler extends REBaseHandler<CallbackContext> {
                 .arn(model.getArn())
                 .build();
         try {
-            proxy.injectCredentialsAndInvokeV2(deleteIndexRequest, client::deleteIndex);
+            invoke(proxy, deleteIndexRequest, client.get()::deleteIndex);
         } catch (RuntimeException e){
             HandlerErrorCode thisErrorCode = Convertor.convertExceptionToErrorCode(e, logger);
             String errorMessage = e.getMessage();
@@ -0,0 +1,158 @@
+package software.amazon.resourceexplorer2.index;
+
+// CloudFormation package
+import software.amazon.cloudformation.proxy.Logger;
+
+// Resource Explorer package
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.resourceexplorer2.ResourceExplorer2Client;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.Index;
+import software.amazon.awssdk.services.resourceexplorer2.model.ListIndexesRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.ListIndexesResponse;
+import software.amazon.resourceexplorer2.common.InventorySnapshot;
+import software.amazon.resourceexplorer2.common.InventorySnapshot.DriftKind;
+
+import static software.amazon.resourceexplorer2.index.IndexUtils.DELETED;
+import static software.amazon.resourceexplorer2.index.IndexUtils.DELETING;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Compares the indexes of the account, in all regions, against the snapshot of the previous run
+// and reports only what changed. ListIndexes finds the indexes, and each one is read with GetIndex
+// in its own region and translated like ReadHandler does, so a change is reported exactly when
+// CloudFormation would read a different model. The snapshot is then replaced by the current state.
+public class IndexDriftDetector {
+
+    // Properties and tags in a fixed order, so that equal models always hash the same.
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    @lombok.Value
+    public static class Drift {
+        DriftKind kind;
+        String arn;
+        // The current index; null when it was removed.
+        ResourceModel model;
+    }
+
+    @lombok.Value
+    public static class DriftReport {
+        long unchanged;
+        long added;
+        long changed;
+        long removed;
+        // Indexes that could not be read; they keep their previous state in the snapshot.
+        long unreadable;
+    }
+
+    private final ResourceExplorer2Client listClient;
+    private final Function<Region, ResourceExplorer2Client> clientProvider;
+    private final Logger logger;
+
+    public IndexDriftDetector(final Logger logger) {
+        this(ClientFactory.getClient(), ClientFactory::getClient, logger);
+    }
+
+    // listClient runs ListIndexes, which covers every region; clientProvider gives the client
+    // of the region of each index for GetIndex.
+    public IndexDriftDetector(
+            final ResourceExplorer2Client listClient,
+            final Function<Region, ResourceExplorer2Client> clientProvider,
+            final Logger logger) {
+        this.listClient = listClient;
+        this.clientProvider = clientProvider;
+        this.logger = logger;
+    }
+
+    public DriftReport detect(final Path snapshotFile, final Consumer<Drift> listener) throws IOException {
+        final InventorySnapshot.Comparison comparison = InventorySnapshot.open(snapshotFile).compare();
+        long unchanged = 0;
+        long added = 0;
+        long changed = 0;
+        long unreadable = 0;
+
+        String nextToken = null;
+        do {
+            final ListIndexesResponse listIndexesResponse = listClient.listIndexes(ListIndexesRequest.builder()
+                    .nextToken(nextToken)
+                    .build());
+
+            for (final Index index : listIndexesResponse.indexes()) {
+                final ResourceModel model;
+                try {
+                    model = read(index);
+                } catch (RuntimeException e) {
+                    logger.log(String.format("[DRIFT] Could not get index %s: %s", index.arn(), e.getMessage()));
+                    comparison.keep(index.arn());
+                    unreadable++;
+                    continue;
+                }
+                // An index on its way out reads as NotFound, so it counts as removed.
+                if (model == null) {
+                    continue;
+                }
+
+                final DriftKind kind = comparison.record(model.getArn(), contentHash(model));
+                if (kind == null) {
+                    unchanged++;
+                    continue;
+                }
+                if (kind == DriftKind.ADDED) {
+                    added++;
+                } else {
+                    changed++;
+                }
+                listener.accept(new Drift(kind, model.getArn(), model));
+            }
+            nextToken = listIndexesResponse.nextToken();
+        } while (nextToken != null);
+
+        final long[] removed = new long[1];
+        comparison.forEachRemoved(arn -> {
+            removed[0]++;
+            listener.accept(new Drift(DriftKind.REMOVED, arn, null));
+        });
+        comparison.writeTo(snapshotFile);
+
+        final DriftReport report = new DriftReport(unchanged, added, changed, removed[0], unreadable);
+        logger.log(String.format("[DRIFT] %s", report));
+        return report;
+    }
+
+    // Returns null when the index is being deleted.
+    private ResourceModel read(final Index index) {
+        final GetIndexResponse getIndexResponse = clientProvider.apply(Region.of(index.region()))
+                .getIndex(GetIndexRequest.builder().build());
+        if (getIndexResponse.stateAsString().equalsIgnoreCase(DELETING) ||
+                getIndexResponse.stateAsString().equalsIgnoreCase(DELETED)) {
+            return null;
+        }
+        return ReadHandler.translateToResourceModel(getIndexResponse, ResourceModel.builder().build());
+    }
+
+    // IndexState is left out: CREATING or UPDATING is progress, not a change to the index.
+    static long contentHash(final ResourceModel model) {
+        final ResourceModel configuration = ResourceModel.builder()
+                .arn(model.getArn())
+                .type(model.getType())
+                .tags(model.getTags())
+                .build();
+        try {
+            return InventorySnapshot.contentHash(MAPPER.writeValueAsBytes(configuration));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
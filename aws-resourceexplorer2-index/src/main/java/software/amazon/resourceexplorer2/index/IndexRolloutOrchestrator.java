@@ -0,0 +1,369 @@
+package software.amazon.resourceexplorer2.index;
+
+// CloudFormation package
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+// Resource Explorer package
+import software.amazon.awssdk.services.resourceexplorer2.ResourceExplorer2Client;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.resourceexplorer2.common.RegionalClientRegistry;
+
+import static software.amazon.resourceexplorer2.index.IndexUtils.ACTIVE;
+import static software.amazon.resourceexplorer2.index.IndexUtils.AGGREGATOR;
+import static software.amazon.resourceexplorer2.index.IndexUtils.LOCAL;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+// Turns Resource Explorer on across many regions at once, outside of CloudFormation.
+// It creates a LOCAL index in every requested region with bounded parallelism, waits for all
+// of them to become ACTIVE in one polling loop, then promotes one region to AGGREGATOR.
+// Each step runs the same CreateHandler, ReadHandler and UpdateHandler logic as the resource
+// provider, against the client of the region concerned. With the regional client registry, the
+// rollout leases one client per region for its whole duration, so that polling more regions than
+// the registry keeps does not evict and rebuild clients every round.
+public class IndexRolloutOrchestrator {
+
+    static final int DEFAULT_PARALLELISM = 8;
+    static final Duration DEFAULT_POLL_INTERVAL = Duration.ofSeconds(5);
+    static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(30);
+
+    public enum RegionStatus {
+        // A new index was created and is ACTIVE.
+        CREATED,
+        // The region already had an index, which is ACTIVE.
+        EXISTING,
+        FAILED
+    }
+
+    @lombok.Value
+    public static class RegionResult {
+        Region region;
+        RegionStatus status;
+        String arn;
+        String type;
+        String message;
+        // From the start of the rollout until CreateIndex returned.
+        Duration createTime;
+        // From the start of the rollout until the index was seen ACTIVE; null if it never was.
+        Duration activeTime;
+    }
+
+    @lombok.Value
+    public static class RolloutReport {
+        List<RegionResult> regions;
+        Region aggregatorRegion;
+        boolean aggregatorPromoted;
+        String aggregatorMessage;
+        // From the UpdateIndexType call until the index was seen ACTIVE as AGGREGATOR.
+        Duration promotionTime;
+        Duration totalTime;
+
+        public boolean isSuccessful() {
+            return regions.stream().noneMatch(result -> result.getStatus() == RegionStatus.FAILED)
+                    && (aggregatorRegion == null || aggregatorPromoted);
+        }
+    }
+
+    private final AmazonWebServicesClientProxy proxy;
+    private final Function<Region, ResourceExplorer2Client> clientProvider;
+    private final RegionalClientRegistry<ResourceExplorer2Client> regionalClients;
+    private final Logger logger;
+    private final int parallelism;
+    private final Duration pollInterval;
+    private final Duration timeout;
+    private final LongSupplier nanoClock;
+    private final Sleeper sleeper;
+
+    public IndexRolloutOrchestrator(final AmazonWebServicesClientProxy proxy, final Logger logger) {
+        this(proxy, null, ClientFactory.getRegionalClients(), logger,
+                DEFAULT_PARALLELISM, DEFAULT_POLL_INTERVAL, DEFAULT_TIMEOUT, System::nanoTime, Thread::sleep);
+    }
+
+    public IndexRolloutOrchestrator(
+            final AmazonWebServicesClientProxy proxy,
+            final Function<Region, ResourceExplorer2Client> clientProvider,
+            final Logger logger,
+            final int parallelism,
+            final Duration pollInterval,
+            final Duration timeout) {
+        this(proxy, clientProvider, null, logger, parallelism, pollInterval, timeout, System::nanoTime, Thread::sleep);
+    }
+
+    // Exactly one of clientProvider and regionalClients is given.
+    IndexRolloutOrchestrator(
+            final AmazonWebServicesClientProxy proxy,
+            final Function<Region, ResourceExplorer2Client> clientProvider,
+            final RegionalClientRegistry<ResourceExplorer2Client> regionalClients,
+            final Logger logger,
+            final int parallelism,
+            final Duration pollInterval,
+            final Duration timeout,
+            final LongSupplier nanoClock,
+            final Sleeper sleeper) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.proxy = proxy;
+        this.clientProvider = clientProvider;
+        this.regionalClients = regionalClients;
+        this.logger = logger;
+        this.parallelism = parallelism;
+        this.pollInterval = pollInterval;
+        this.timeout = timeout;
+        this.nanoClock = nanoClock;
+        this.sleeper = sleeper;
+    }
+
+    // Creates LOCAL indexes in all regions, then promotes aggregatorRegion to AGGREGATOR.
+    // aggregatorRegion may be null to only create LOCAL indexes; otherwise it must be one of regions.
+    public RolloutReport rollout(final List<Region> regions, final Region aggregatorRegion) throws InterruptedException {
+        if (aggregatorRegion != null && !regions.contains(aggregatorRegion)) {
+            throw new IllegalArgumentException("The aggregator region " + aggregatorRegion + " is not one of the rollout regions.");
+        }
+
+        final long start = nanoClock.getAsLong();
+        final long deadline = start + timeout.toNanos();
+        final List<RegionalClientRegistry.Lease<ResourceExplorer2Client>> leases = new ArrayList<>();
+        final Map<Region, RegionRollout> rollouts = new LinkedHashMap<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, regions.size())));
+        try {
+            for (final Region region : regions) {
+                final ResourceExplorer2Client client;
+                if (regionalClients != null) {
+                    final RegionalClientRegistry.Lease<ResourceExplorer2Client> lease = regionalClients.lease(region);
+                    leases.add(lease);
+                    client = lease.client();
+                } else {
+                    client = clientProvider.apply(region);
+                }
+                rollouts.put(region, new RegionRollout(region, client));
+            }
+
+            runAll(executor, rollouts.values(), rollout -> () -> create(rollout, start));
+            awaitState(executor, rollouts.values(), null, start, deadline);
+
+            final Promotion promotion = aggregatorRegion == null
+                    ? new Promotion(false, null, null)
+                    : promote(executor, rollouts.get(aggregatorRegion), start, deadline);
+
+            final RolloutReport report = new RolloutReport(
+                    rollouts.values().stream().map(RegionRollout::toResult).collect(Collectors.toList()),
+                    aggregatorRegion,
+                    promotion.promoted,
+                    promotion.message,
+                    promotion.time,
+                    Duration.ofNanos(nanoClock.getAsLong() - start));
+            logger.log(String.format("[ROLLOUT] Finished in %d ms, successful: %s.",
+                    report.getTotalTime().toMillis(), report.isSuccessful()));
+            return report;
+        } finally {
+            executor.shutdownNow();
+            leases.forEach(RegionalClientRegistry.Lease::close);
+        }
+    }
+
+    private void create(final RegionRollout rollout, final long start) {
+        final ResourceModel model = ResourceModel.builder().type(LOCAL).build();
+        final ProgressEvent<ResourceModel, CallbackContext> event = new CreateHandler(rollout.client)
+                .handleRequest(proxy, requestFor(model), null, rollout.logger);
+        rollout.createNanos = nanoClock.getAsLong() - start;
+
+        if (event.getStatus() == OperationStatus.FAILED) {
+            // An index that already exists is taken over as it is; polling reads its ARN and state.
+            if (event.getErrorCode() == HandlerErrorCode.AlreadyExists) {
+                rollout.status = RegionStatus.EXISTING;
+                rollout.waiting = true;
+                return;
+            }
+            rollout.fail(event.getMessage());
+            return;
+        }
+
+        rollout.status = RegionStatus.CREATED;
+        rollout.arn = event.getResourceModel().getArn();
+        rollout.type = LOCAL;
+        rollout.waiting = event.getStatus() != OperationStatus.SUCCESS;
+        if (!rollout.waiting) {
+            rollout.activeNanos = rollout.createNanos;
+        }
+    }
+
+    // Polls every waiting region once per interval, in parallel, until each is ACTIVE (and of
+    // expectedType, when given) or the deadline passes.
+    private void awaitState(
+            final ExecutorService executor,
+            final Iterable<RegionRollout> rollouts,
+            final String expectedType,
+            final long start,
+            final long deadline) throws InterruptedException {
+
+        List<RegionRollout> waiting = waiting(rollouts);
+        while (!waiting.isEmpty()) {
+            if (nanoClock.getAsLong() >= deadline) {
+                waiting.forEach(rollout -> rollout.fail("Timed out waiting for the index to become ACTIVE."));
+                return;
+            }
+            sleeper.sleep(pollInterval.toMillis());
+            runAll(executor, waiting, rollout -> () -> poll(rollout, expectedType, start));
+            waiting = waiting(rollouts);
+        }
+    }
+
+    private void poll(final RegionRollout rollout, final String expectedType, final long start) {
+        final ProgressEvent<ResourceModel, CallbackContext> event = new ReadHandler(rollout.client)
+                .handleRequest(proxy, requestFor(ResourceModel.builder().build()), null, rollout.logger);
+        if (event.getStatus() == OperationStatus.FAILED) {
+            rollout.fail(event.getMessage());
+            return;
+        }
+
+        final ResourceModel model = event.getResourceModel();
+        rollout.arn = model.getArn();
+        rollout.type = model.getType();
+        if (ACTIVE.equalsIgnoreCase(model.getIndexState())
+                && (expectedType == null || expectedType.equalsIgnoreCase(model.getType()))) {
+            rollout.waiting = false;
+            if (rollout.activeNanos == null) {
+                rollout.activeNanos = nanoClock.getAsLong() - start;
+            }
+        }
+    }
+
+    private Promotion promote(
+            final ExecutorService executor,
+            final RegionRollout rollout,
+            final long start,
+            final long deadline) throws InterruptedException {
+
+        if (rollout.status == RegionStatus.FAILED) {
+            return new Promotion(false, "The aggregator region has no ACTIVE index.", null);
+        }
+        if (AGGREGATOR.equalsIgnoreCase(rollout.type)) {
+            return new Promotion(true, "The index is already the AGGREGATOR.", Duration.ZERO);
+        }
+
+        logger.log(String.format("[ROLLOUT] Promoting %s to AGGREGATOR.", rollout.region));
+        final long promotionStart = nanoClock.getAsLong();
+        final ResourceModel model = ResourceModel.builder().arn(rollout.arn).type(AGGREGATOR).build();
+        final ProgressEvent<ResourceModel, CallbackContext> event = new UpdateHandler(rollout.client)
+                .handleRequest(proxy, requestFor(model), null, rollout.logger);
+        if (event.getStatus() == OperationStatus.FAILED) {
+            return new Promotion(false, event.getMessage(), null);
+        }
+
+        if (event.getStatus() == OperationStatus.IN_PROGRESS) {
+            rollout.waiting = true;
+            final List<RegionRollout> aggregator = new ArrayList<>();
+            aggregator.add(rollout);
+            awaitState(executor, aggregator, AGGREGATOR, start, deadline);
+            if (rollout.status == RegionStatus.FAILED) {
+                return new Promotion(false, rollout.message, null);
+            }
+        }
+        rollout.type = AGGREGATOR;
+        return new Promotion(true, null, Duration.ofNanos(nanoClock.getAsLong() - promotionStart));
+    }
+
+    private static void runAll(
+            final ExecutorService executor,
+            final Iterable<RegionRollout> rollouts,
+            final Function<RegionRollout, Runnable> step) throws InterruptedException {
+
+        final List<Callable<Void>> tasks = new ArrayList<>();
+        final List<RegionRollout> targets = new ArrayList<>();
+        for (final RegionRollout rollout : rollouts) {
+            final Runnable runnable = step.apply(rollout);
+            targets.add(rollout);
+            tasks.add(() -> {
+                runnable.run();
+                return null;
+            });
+        }
+
+        final List<Future<Void>> futures = executor.invokeAll(tasks);
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get();
+            } catch (ExecutionException e) {
+                targets.get(i).fail(String.valueOf(e.getCause()));
+            }
+        }
+    }
+
+    private static List<RegionRollout> waiting(final Iterable<RegionRollout> rollouts) {
+        final List<RegionRollout> waiting = new ArrayList<>();
+        for (final RegionRollout rollout : rollouts) {
+            if (rollout.waiting && rollout.status != RegionStatus.FAILED) {
+                waiting.add(rollout);
+            }
+        }
+        return waiting;
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> requestFor(final ResourceModel model) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+    }
+
+    // Progress of one region. Each instance is only touched by one task at a time.
+    private final class RegionRollout {
+        private final Region region;
+        private final ResourceExplorer2Client client;
+        private final Logger logger;
+        private volatile RegionStatus status;
+        private volatile boolean waiting;
+        private volatile String arn;
+        private volatile String type;
+        private volatile String message;
+        private volatile Long createNanos;
+        private volatile Long activeNanos;
+
+        private RegionRollout(final Region region, final ResourceExplorer2Client client) {
+            this.region = region;
+            this.client = client;
+            this.logger = line -> IndexRolloutOrchestrator.this.logger.log(String.format("[%s] %s", region, line));
+        }
+
+        private void fail(final String failureMessage) {
+            status = RegionStatus.FAILED;
+            waiting = false;
+            message = failureMessage;
+        }
+
+        private RegionResult toResult() {
+            return new RegionResult(region, status, arn, type, message,
+                    createNanos == null ? null : Duration.ofNanos(createNanos),
+                    activeNanos == null ? null : Duration.ofNanos(activeNanos));
+        }
+    }
+
+    private static final class Promotion {
+        private final boolean promoted;
+        private final String message;
+        private final Duration time;
+
+        private Promotion(final boolean promoted, final String message, final Duration time) {
+            this.promoted = promoted;
+            this.message = message;
+            this.time = time;
+        }
+    }
+}
@@ -13,6 +13,10 @@ public class IndexUtils {
     public static final String DELETING = "DELETING";
     public static final String DELETED = "DELETED";
 
+    // Reported when an AGGREGATOR index is requested while another region already has one.
+    public static final String AGGREGATOR_CONFLICT_MESSAGE = "An AGGREGATOR index already exists in %s (%s). "
+            + "An account can have only one AGGREGATOR index; change that index to LOCAL first.";
+
     // A callback is scheduled with an initial delay of no less than the number
     // of seconds of DELAY_CONSTANT.
     public static final int DELAY_CONSTANT = 30;
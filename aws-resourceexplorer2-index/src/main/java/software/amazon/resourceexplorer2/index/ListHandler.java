@@ -15,24 +15,23 @@ import software.amazon.awssdk.services.resourceexplorer2.model.ListIndexesRespon
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 
 public class ListHandler extends REBaseHandler<CallbackContext> {
 
-    private final ResourceExplorer2Client client;
+    private final Supplier<ResourceExplorer2Client> client;
 
     public ListHandler() {
-        client = ClientFactory.getClient();
+        client = ClientFactory::getClient;
     }
     @Override
-    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+    protected ProgressEvent<ResourceModel, CallbackContext> handleResourceRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
 
-        logRequestInfo(request, logger);
-
         final ResourceModel model = request.getDesiredResourceState();
         List<ResourceModel> models = new ArrayList<>();
 
@@ -51,7 +50,7 @@ public class ListHandler extends REBaseHandler<CallbackContext> {
                     .nextToken(thisNextToken)
                     .build();
             try {
-                listIndexesResponse = proxy.injectCredentialsAndInvokeV2(listIndexesRequest, client::listIndexes);
+                listIndexesResponse = invoke(proxy, listIndexesRequest, client.get()::listIndexes);
             } catch (RuntimeException e) {
                 HandlerErrorCode errorCode = Convertor.convertExceptionToErrorCode(e, logger);
                 logger.log(String.format("[LIST] Error Code: %s.", errorCode));
@@ -1,14 +1,108 @@
 package software.amazon.resourceexplorer2.index;
 
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.resourceexplorer2.common.HedgingPolicy;
+import software.amazon.resourceexplorer2.common.ServiceCallCounter;
 
+import java.time.Duration;
+import java.util.function.Function;
+
+// Runs each invocation through the common REBaseHandler, which counts and times out the calls,
+// answers duplicate deliveries and buffers the log lines.
 public abstract class REBaseHandler<T> extends BaseHandler<T> {
-    protected void logRequestInfo(
+
+    static final int CIRCUIT_OPEN_CALLBACK_DELAY_SECONDS =
+            software.amazon.resourceexplorer2.common.REBaseHandler.CIRCUIT_OPEN_CALLBACK_DELAY_SECONDS;
+    static final int DEADLINE_CALLBACK_DELAY_SECONDS =
+            software.amazon.resourceexplorer2.common.REBaseHandler.DEADLINE_CALLBACK_DELAY_SECONDS;
+
+    private final Invocations invocations = new Invocations();
+
+    @Override
+    public ProgressEvent<ResourceModel, T> handleRequest(
+            final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
+            final T callbackContext,
             final Logger logger) {
 
-        logger.log(String.format("Starting request for %s with token %s, stack %s", request.getAwsAccountId(), request.getClientRequestToken(), request.getStackId()));
+        return invocations.handleRequest(proxy, request, callbackContext, logger);
     }
 
+    protected abstract ProgressEvent<ResourceModel, T> handleResourceRequest(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final T callbackContext,
+            final Logger logger);
+
+    // Every Resource Explorer call goes through here, so that it is counted against this invocation.
+    protected <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT invoke(
+            final AmazonWebServicesClientProxy proxy,
+            final RequestT request,
+            final Function<RequestT, ResponseT> requestFunction) {
+
+        return invocations.invoke(proxy, request, requestFunction);
+    }
+
+    // For idempotent reads only: the request may be sent twice when hedging is on.
+    protected <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT invokeRead(
+            final AmazonWebServicesClientProxy proxy,
+            final RequestT request,
+            final Function<RequestT, ResponseT> requestFunction) {
+
+        return invocations.invokeRead(proxy, request, requestFunction);
+    }
+
+    // Whether there is time left for another step of work, e.g. UpdateIndexType after CreateIndex.
+    protected boolean hasTimeForAnotherStep() {
+        return invocations.hasTimeForAnotherStep();
+    }
+
+    protected boolean hasTimeForAnotherStepAfter(final Duration delay) {
+        return invocations.hasTimeForAnotherStepAfter(delay);
+    }
+
+    // True for Create, Update and Delete, see the common REBaseHandler.
+    protected boolean changesResources() {
+        return false;
+    }
+
+    void setTimeBudget(final Duration timeBudget) {
+        invocations.setTimeBudget(timeBudget);
+    }
+
+    void setHedgingPolicy(final HedgingPolicy hedgingPolicy) {
+        invocations.setHedgingPolicy(hedgingPolicy);
+    }
+
+    ServiceCallCounter getServiceCallCounter() {
+        return invocations.getServiceCallCounter();
+    }
+
+    private final class Invocations extends software.amazon.resourceexplorer2.common.REBaseHandler<ResourceModel, T> {
+
+        @Override
+        protected ProgressEvent<ResourceModel, T> handleResourceRequest(
+                final AmazonWebServicesClientProxy proxy,
+                final ResourceHandlerRequest<ResourceModel> request,
+                final T callbackContext,
+                final Logger logger) {
+
+            return REBaseHandler.this.handleResourceRequest(proxy, request, callbackContext, logger);
+        }
+
+        @Override
+        protected Class<?> handlerClass() {
+            return REBaseHandler.this.getClass();
+        }
+
+        @Override
+        protected boolean changesResources() {
+            return REBaseHandler.this.changesResources();
+        }
+    }
 }
@@ -16,28 +16,33 @@ import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexResponse;
 import static software.amazon.resourceexplorer2.index.IndexUtils.DELETING;
 import static software.amazon.resourceexplorer2.index.IndexUtils.DELETED;
 
+import java.util.function.Supplier;
+
 
 public class ReadHandler extends REBaseHandler<CallbackContext> {
 
-    private final ResourceExplorer2Client client;
+    private final Supplier<ResourceExplorer2Client> client;
 
     public ReadHandler() {
-        client = ClientFactory.getClient();
+        this.client = ClientFactory::getClient;
+    }
+
+    // Lets callers that work across regions, like IndexRolloutOrchestrator, pass the client of a region.
+    public ReadHandler(final ResourceExplorer2Client client) {
+        this.client = () -> client;
     }
     @Override
-    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+    protected ProgressEvent<ResourceModel, CallbackContext> handleResourceRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
 
-        logRequestInfo(request, logger);
-
         final ResourceModel model = request.getDesiredResourceState();
         final GetIndexRequest getIndexRequest = GetIndexRequest.builder().build();
         final GetIndexResponse getIndexResponse;
         try{
-            getIndexResponse = proxy.injectCredentialsAndInvokeV2(getIndexRequest, client::getIndex);
+            getIndexResponse = invokeRead(proxy, getIndexRequest, client.get()::getIndex);
         } catch (RuntimeException e){
             HandlerErrorCode thisErrorCode = Convertor.convertExceptionToErrorCode(e, logger);
             logger.log(String.format("[READ] Error code: %s.", thisErrorCode));
@@ -50,14 +55,20 @@ public class ReadHandler extends REBaseHandler<CallbackContext> {
             return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.NotFound, "The index has been deleted.");
         }
 
-        model.setArn(getIndexResponse.arn());
-        model.setIndexState(getIndexResponse.stateAsString());
-        model.setType(getIndexResponse.typeAsString());
-        model.setTags(getIndexResponse.tags());
+        translateToResourceModel(getIndexResponse, model);
 
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
                 .resourceModel(model)
                 .status(OperationStatus.SUCCESS)
                 .build();
     }
+
+    // Also used by IndexDriftDetector, so that drift compares what a Read returns.
+    static ResourceModel translateToResourceModel(final GetIndexResponse getIndexResponse, final ResourceModel model) {
+        model.setArn(getIndexResponse.arn());
+        model.setIndexState(getIndexResponse.stateAsString());
+        model.setType(getIndexResponse.typeAsString());
+        model.setTags(getIndexResponse.tags());
+        return model;
+    }
 }
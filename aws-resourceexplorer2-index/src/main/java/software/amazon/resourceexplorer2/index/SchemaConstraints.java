@@ -0,0 +1,57 @@
+package software.amazon.resourceexplorer2.index;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import software.amazon.resourceexplorer2.common.HandlerPhaseEvent;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+// The simple constraints of the Index schema, read from it once per container. Handlers check
+// them before any call, so that a Type outside the IndexType enum fails at once instead of after
+// CreateIndex, when the index already exists.
+final class SchemaConstraints {
+
+    private final Set<String> indexTypes;
+
+    private SchemaConstraints(final Set<String> indexTypes) {
+        this.indexTypes = indexTypes;
+    }
+
+    static SchemaConstraints get() {
+        return Holder.CONSTRAINTS;
+    }
+
+    private static class Holder {
+        static final SchemaConstraints CONSTRAINTS = from(new Configuration().resourceSchemaJSONObject());
+    }
+
+    static SchemaConstraints from(final JSONObject schema) {
+        final JSONArray indexTypes = schema.getJSONObject("definitions").getJSONObject("IndexType").getJSONArray("enum");
+        final Set<String> types = new LinkedHashSet<>();
+        for (int i = 0; i < indexTypes.length(); i++) {
+            types.add(indexTypes.getString(i));
+        }
+        return new SchemaConstraints(Collections.unmodifiableSet(types));
+    }
+
+    // Returns null when the model passes, otherwise a message for InvalidRequest. A missing Type
+    // is allowed: the index is created LOCAL.
+    String validate(final ResourceModel model) {
+        final HandlerPhaseEvent phase = HandlerPhaseEvent.started(null, HandlerPhaseEvent.VALIDATION);
+        try {
+            return violationOf(model);
+        } finally {
+            phase.commit();
+        }
+    }
+
+    private String violationOf(final ResourceModel model) {
+        if (model.getType() != null && !indexTypes.contains(model.getType())) {
+            return String.format("Type %s must be one of %s.", model.getType(), indexTypes);
+        }
+        return null;
+    }
+}
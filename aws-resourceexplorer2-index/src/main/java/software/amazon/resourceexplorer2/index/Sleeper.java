@@ -0,0 +1,6 @@
+package software.amazon.resourceexplorer2.index;
+
+// Waits between attempts; Thread::sleep outside of tests.
+interface Sleeper {
+    void sleep(long millis) throws InterruptedException;
+}
@@ -26,39 +26,58 @@ import static software.amazon.resourceexplorer2.index.IndexUtils.UPDATING;
 
 import com.google.common.annotations.VisibleForTesting;
 import java.util.Map;
-import java.util.HashMap;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 
 public class UpdateHandler extends REBaseHandler<CallbackContext> {
 
-    private final ResourceExplorer2Client client;
+    private final Supplier<ResourceExplorer2Client> client;
 
     public UpdateHandler() {
-        client = ClientFactory.getClient();
+        this.client = ClientFactory::getClient;
+    }
+
+    // Lets callers that work across regions, like IndexRolloutOrchestrator, pass the client of a region.
+    public UpdateHandler(final ResourceExplorer2Client client) {
+        this.client = () -> client;
     }
     
     @Override
-    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+    protected boolean changesResources() {
+        return true;
+    }
+
+    @Override
+    protected ProgressEvent<ResourceModel, CallbackContext> handleResourceRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             CallbackContext callbackContext,
             final Logger logger) {
 
-        logRequestInfo(request, logger);
-
         final ResourceModel model = request.getDesiredResourceState();
 
         if (TagTools.containsSystemTags(model)) {
             return ProgressEvent.failed(model, null, HandlerErrorCode.InvalidRequest, TagTools.INVALID_SYSTEM_TAG);
         }
 
+        final String schemaError = SchemaConstraints.get().validate(model);
+        if (schemaError != null) {
+            logger.log("[UPDATE] " + schemaError);
+            return ProgressEvent.failed(model, null, HandlerErrorCode.InvalidRequest, schemaError);
+        }
+
+        final UpdatePlan plan = UpdatePlan.of(request, callbackContext, logger);
+        if (plan.isTagsOnly()) {
+            logger.log("[UPDATE] Only the tags change, updating them without GetIndex.");
+            return updateTagsHelper(proxy, model, plan, logger);
+        }
+
         // Check if an index exists in this region by GetIndex before updating.
         GetIndexRequest getIndexRequest = GetIndexRequest.builder().build();
         GetIndexResponse getIndexResponse;
         try {
-            getIndexResponse = proxy.injectCredentialsAndInvokeV2(getIndexRequest, client::getIndex);
+            getIndexResponse = invoke(proxy, getIndexRequest, client.get()::getIndex);
         } catch (RuntimeException e){
             HandlerErrorCode thisErrorCode = Convertor.convertExceptionToErrorCode(e, logger);
             logger.log(String.format("[UPDATE] Error code at GetIndex: %s.", thisErrorCode));
@@ -77,7 +96,7 @@ public class UpdateHandler extends REBaseHandler<CallbackContext> {
 
         // If there is no callbackContext, this is a new UPDATE handler call.
         if (callbackContext == null ) {
-            return invokeUpdateIndexType(model, request, getIndexResponse, logger, proxy);
+            return invokeUpdateIndexType(model, plan, getIndexResponse, logger, proxy);
         }
 
         // If the UPDATE handler is IN_PROGRESS, we increment retryCount.
@@ -87,7 +106,7 @@ public class UpdateHandler extends REBaseHandler<CallbackContext> {
         if (getIndexResponse.stateAsString().equalsIgnoreCase(ACTIVE) &&
                 getIndexResponse.typeAsString().equalsIgnoreCase(model.getType())){
             model.setIndexState(ACTIVE);
-            return updateTagsHelper(proxy, model, request, logger);
+            return updateTagsHelper(proxy, model, plan, logger);
         }
 
         // If UpdateIndexType has not finished, and it already exceeded MAX_RETRIES, we return failed.
@@ -100,7 +119,7 @@ public class UpdateHandler extends REBaseHandler<CallbackContext> {
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> invokeUpdateIndexType (
-            ResourceModel model, final ResourceHandlerRequest<ResourceModel> request,
+            ResourceModel model, final UpdatePlan plan,
             GetIndexResponse getIndexResponse, final Logger logger,
             final AmazonWebServicesClientProxy proxy){
 
@@ -115,7 +134,7 @@ public class UpdateHandler extends REBaseHandler<CallbackContext> {
         // If the current type is the same as the desired type, we do not need to update index type.
         // We execute UpdateTagsHelper before return success.
         if (getIndexResponse.typeAsString().equalsIgnoreCase(model.getType()) ){
-            return updateTagsHelper(proxy, model, request, logger);
+            return updateTagsHelper(proxy, model, plan, logger);
         }
 
         UpdateIndexTypeRequest updateIndexTypeRequest = UpdateIndexTypeRequest.builder()
@@ -126,8 +145,8 @@ public class UpdateHandler extends REBaseHandler<CallbackContext> {
         logger.log("[UPDATE] UpdateIndexTypeRequest invokes.");
 
         try{
-            updateIndexTypeResponse = proxy.injectCredentialsAndInvokeV2(updateIndexTypeRequest,
-                    client::updateIndexType);
+            updateIndexTypeResponse = invoke(proxy, updateIndexTypeRequest,
+                    client.get()::updateIndexType);
         } catch (RuntimeException e) {
             HandlerErrorCode thisErrorCode = Convertor.convertExceptionToErrorCode(e, logger);
             logger.log(String.format("[UPDATE] Error code at UpdateIndexType: %s.", thisErrorCode));
@@ -137,26 +156,32 @@ public class UpdateHandler extends REBaseHandler<CallbackContext> {
         }
 
         logger.log("[UPDATE] Invoked UpdateIndexType successfully.");
+        CallbackContext newCallbackContext = CallbackContext.builder()
+                .updateInProgress(true)
+                .retryCount(1)
+                .build();
+
         // Check if the index state is "active", the index is updated.
         if (updateIndexTypeResponse.stateAsString().equalsIgnoreCase(ACTIVE)){
             model.setIndexState(ACTIVE);
-            return updateTagsHelper(proxy, model, request, logger);
+            if (hasTimeForAnotherStep()) {
+                return updateTagsHelper(proxy, model, plan, logger);
+            }
+            // The next invocation finds the index ACTIVE with the new type and only updates the tags.
+            logger.log("[UPDATE] Too little time left to update the tags, continuing later.");
+            return ProgressEvent.defaultInProgressHandler(newCallbackContext, 0, model);
         }
         model.setIndexState(UPDATING);
 
-        CallbackContext newCallbackContext = CallbackContext.builder()
-                .updateInProgress(true)
-                .retryCount(1)
-                .build();
         return ProgressEvent.defaultInProgressHandler(newCallbackContext, DELAY_CONSTANT, model);
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> updateTagsHelper (
             AmazonWebServicesClientProxy proxy, ResourceModel model,
-            ResourceHandlerRequest<ResourceModel> request, Logger logger){
+            UpdatePlan plan, Logger logger){
         logger.log("[UPDATE] updateTagsHelper invokes.");
         try {
-            updateTags(proxy, request, logger);
+            updateTags(proxy, model, plan, logger);
         }catch (RuntimeException e) {
             HandlerErrorCode thisErrorCode = Convertor.convertExceptionToErrorCode(e, logger);
             logger.log(String.format("[UPDATE] Update Tags error code: %s.", thisErrorCode));
@@ -167,44 +192,20 @@ public class UpdateHandler extends REBaseHandler<CallbackContext> {
 
     // Update tags if required. This requires to access both TagResource and UntagResource.
     private void updateTags ( AmazonWebServicesClientProxy proxy,
-                              ResourceHandlerRequest<ResourceModel> request,
+                              ResourceModel desiredModel,
+                              UpdatePlan plan,
                               Logger logger) {
         logger.log("[UPDATE] UpdateTags invoked.");
 
-        ResourceModel desiredModel = request.getDesiredResourceState();
-
-        // First, we need to get the current tags of this Index by using ListTagsForResource.
-        Map<String, String> currentTags = new HashMap<>();
-
-        Map<String, String> previousResourceTags = request.getPreviousResourceTags();
-        Map<String, String> previousSystemTags = request.getPreviousSystemTags();
-        Map<String, String> previousTags = null;
-        if (request.getPreviousResourceState()!=null)
-            previousTags = request.getPreviousResourceState().getTags();
-
-        if (previousResourceTags != null) currentTags.putAll(previousResourceTags);
-        if (previousSystemTags != null) currentTags.putAll(previousSystemTags);
-        if (previousTags != null) currentTags.putAll(previousTags);
-
-        // Generate all types of desired tags into one map.
-        Map<String,String> desiredTags = TagTools.combineAllTypesOfTags(desiredModel, request, logger);
-
-        Map<String, String> tagsToAddOrModify = desiredTags.entrySet().stream()
-                .filter(entry-> !entry.getKey().toLowerCase().startsWith("aws:") )
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-
-        // Users cannot remove tags start with "aws:".
-        Set<String> tagsToUntag = currentTags.keySet().stream()
-                .filter(tagKey -> !desiredTags.containsKey(tagKey))
-                .filter(tagKey -> !tagKey.toLowerCase().startsWith("aws:"))
-                .collect(Collectors.toSet());
+        Set<String> tagsToUntag = plan.getTagsToUntag();
+        Map<String, String> tagsToAddOrModify = plan.getTagsToAddOrModify();
 
         if (!tagsToUntag.isEmpty()) {
             UntagResourceRequest untagResourceRequest = UntagResourceRequest.builder()
                     .resourceArn(desiredModel.getArn())
                     .tagKeys(tagsToUntag)
                     .build();
-            proxy.injectCredentialsAndInvokeV2(untagResourceRequest, client::untagResource);
+            invoke(proxy, untagResourceRequest, client.get()::untagResource);
             logger.log(String.format("[UPDATE] UntagResource removed some tags for %s.",
                     desiredModel.getArn()));
         }
@@ -215,7 +216,7 @@ public class UpdateHandler extends REBaseHandler<CallbackContext> {
                     .resourceArn(desiredModel.getArn())
                     .tags(tagsToAddOrModify)
                     .build();
-            proxy.injectCredentialsAndInvokeV2(tagResourceRequest, client::tagResource);
+            invoke(proxy, tagResourceRequest, client.get()::tagResource);
             logger.log(String.format("[UPDATE] TagResource updated tags for %s.",
                     desiredModel.getArn()));
         }
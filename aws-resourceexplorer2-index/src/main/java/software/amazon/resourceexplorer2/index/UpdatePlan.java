@@ -0,0 +1,79 @@
+package software.amazon.resourceexplorer2.index;
+
+// CloudFormation package
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Works out from the previous and the desired state which phases an index update needs. Most
+// updates only change tags: those go straight to TagResource and UntagResource, which answer with
+// a ResourceNotFoundException when the index is gone. GetIndex and the wait for the index to
+// become ACTIVE again are kept for type changes, callbacks, and requests that tell too little.
+final class UpdatePlan {
+
+    private final boolean tagsOnly;
+    private final Map<String, String> tagsToAddOrModify;
+    private final Set<String> tagsToUntag;
+
+    private UpdatePlan(final boolean tagsOnly, final Map<String, String> tagsToAddOrModify, final Set<String> tagsToUntag) {
+        this.tagsOnly = tagsOnly;
+        this.tagsToAddOrModify = tagsToAddOrModify;
+        this.tagsToUntag = tagsToUntag;
+    }
+
+    static UpdatePlan of(final ResourceHandlerRequest<ResourceModel> request,
+                         final CallbackContext callbackContext,
+                         final Logger logger) {
+        final ResourceModel desiredModel = request.getDesiredResourceState();
+        final ResourceModel previousModel = request.getPreviousResourceState();
+
+        // The tags the index has now, as far as CloudFormation knows them.
+        final Map<String, String> currentTags = new HashMap<>();
+        if (request.getPreviousResourceTags() != null) currentTags.putAll(request.getPreviousResourceTags());
+        if (request.getPreviousSystemTags() != null) currentTags.putAll(request.getPreviousSystemTags());
+        if (previousModel != null && previousModel.getTags() != null) currentTags.putAll(previousModel.getTags());
+
+        // Generate all types of desired tags into one map.
+        final Map<String, String> desiredTags = TagTools.combineAllTypesOfTags(desiredModel, request, logger);
+
+        final Map<String, String> tagsToAddOrModify = desiredTags.entrySet().stream()
+                .filter(entry -> !entry.getKey().toLowerCase().startsWith("aws:"))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+        // Users cannot remove tags start with "aws:".
+        final Set<String> tagsToUntag = currentTags.keySet().stream()
+                .filter(tagKey -> !desiredTags.containsKey(tagKey))
+                .filter(tagKey -> !tagKey.toLowerCase().startsWith("aws:"))
+                .collect(Collectors.toSet());
+
+        // Without a tag call there would be nothing to tell whether the index still exists.
+        final boolean tagsOnly = callbackContext == null
+                && previousModel != null
+                && desiredModel.getArn() != null
+                && desiredModel.getArn().equals(previousModel.getArn())
+                && sameType(previousModel.getType(), desiredModel.getType())
+                && !(tagsToAddOrModify.isEmpty() && tagsToUntag.isEmpty());
+
+        return new UpdatePlan(tagsOnly, tagsToAddOrModify, tagsToUntag);
+    }
+
+    boolean isTagsOnly() {
+        return tagsOnly;
+    }
+
+    Map<String, String> getTagsToAddOrModify() {
+        return tagsToAddOrModify;
+    }
+
+    Set<String> getTagsToUntag() {
+        return tagsToUntag;
+    }
+
+    private static boolean sameType(final String previousType, final String desiredType) {
+        return previousType == null ? desiredType == null : previousType.equalsIgnoreCase(desiredType);
+    }
+}
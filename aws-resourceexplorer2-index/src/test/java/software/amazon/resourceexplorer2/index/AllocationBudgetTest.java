@@ -0,0 +1,176 @@
+package software.amazon.resourceexplorer2.index;
+
+// CloudFormation package
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import software.amazon.resourceexplorer2.common.StubProxy;
+
+// Resource Explorer package
+import software.amazon.awssdk.services.resourceexplorer2.model.CreateIndexRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.CreateIndexResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.DeleteIndexRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.DeleteIndexResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.Index;
+import software.amazon.awssdk.services.resourceexplorer2.model.ListIndexesRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.ListIndexesResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.TagResourceRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.TagResourceResponse;
+
+import static software.amazon.resourceexplorer2.index.IndexUtils.ACTIVE;
+import static software.amazon.resourceexplorer2.index.IndexUtils.LOCAL;
+import static software.amazon.resourceexplorer2.index.TestConstants.INDEX_ARN_1;
+import static software.amazon.resourceexplorer2.index.TestConstants.RESOURCE_TAGS;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Bytes each handler allocates per invocation, read from the thread allocation counter over
+// MEASURED_INVOCATIONS invocations against StubProxy, after a warm-up. Every scenario has a
+// budget; a change that goes over it allocates more on every invocation and has to raise the
+// budget here, with the reason. The measurements are printed as a table and written to
+// target/allocation-budgets.txt.
+public class AllocationBudgetTest {
+
+    static final int WARMUP_INVOCATIONS = 2_000;
+    static final int MEASURED_INVOCATIONS = 1_000;
+
+    private static final long KB = 1024;
+    private static final Logger LOGGER = message -> { };
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // "Handler scenario" to {bytes per invocation, budget}.
+    private static final Map<String, long[]> MEASUREMENTS = new TreeMap<>();
+
+    @BeforeAll
+    public static void requireAllocationCounter() {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported());
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @AfterAll
+    public static void publish() throws IOException {
+        final StringBuilder table = new StringBuilder(String.format("%-40s %18s %10s%n", "Handler scenario", "Bytes/invocation", "Budget"));
+        for (Map.Entry<String, long[]> measurement : MEASUREMENTS.entrySet()) {
+            table.append(String.format("%-40s %18d %10d%n",
+                    measurement.getKey(), measurement.getValue()[0], measurement.getValue()[1]));
+        }
+        System.out.print(table);
+        final Path report = Paths.get("target", "allocation-budgets.txt");
+        Files.createDirectories(report.getParent());
+        Files.write(report, table.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void create_LocalIndex() {
+        final StubProxy proxy = new StubProxy()
+                .respond(CreateIndexRequest.class, CreateIndexResponse.builder().arn(INDEX_ARN_1).state(ACTIVE).build());
+
+        assertWithinBudget("CreateHandler local", 96 * KB, new CreateHandler(), proxy,
+                requestFor(ResourceModel.builder().type(LOCAL).tags(RESOURCE_TAGS).build()));
+    }
+
+    @Test
+    public void read_ActiveIndex() {
+        final StubProxy proxy = new StubProxy()
+                .respond(GetIndexRequest.class, activeIndex());
+
+        assertWithinBudget("ReadHandler", 48 * KB, new ReadHandler(), proxy,
+                requestFor(ResourceModel.builder().arn(INDEX_ARN_1).build()));
+    }
+
+    @Test
+    public void update_SameTypeWithTags() {
+        final StubProxy proxy = new StubProxy()
+                .respond(GetIndexRequest.class, activeIndex())
+                .respond(TagResourceRequest.class, TagResourceResponse.builder().build());
+
+        assertWithinBudget("UpdateHandler tags", 96 * KB, new UpdateHandler(), proxy,
+                requestFor(ResourceModel.builder().arn(INDEX_ARN_1).type(LOCAL).tags(RESOURCE_TAGS).build()));
+    }
+
+    @Test
+    public void update_TagsOnlyWithPreviousState() {
+        final StubProxy proxy = new StubProxy()
+                .respond(TagResourceRequest.class, TagResourceResponse.builder().build());
+
+        assertWithinBudget("UpdateHandler tags only", 96 * KB, new UpdateHandler(), proxy,
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().arn(INDEX_ARN_1).type(LOCAL).tags(RESOURCE_TAGS).build())
+                        .previousResourceState(ResourceModel.builder().arn(INDEX_ARN_1).type(LOCAL).build())
+                        .build());
+    }
+
+    @Test
+    public void delete_ActiveIndex() {
+        final StubProxy proxy = new StubProxy()
+                .respond(GetIndexRequest.class, activeIndex())
+                .respond(DeleteIndexRequest.class, DeleteIndexResponse.builder().build());
+
+        assertWithinBudget("DeleteHandler", 64 * KB, new DeleteHandler(), proxy,
+                requestFor(ResourceModel.builder().arn(INDEX_ARN_1).build()));
+    }
+
+    @Test
+    public void list_OneIndex() {
+        final StubProxy proxy = new StubProxy()
+                .respond(ListIndexesRequest.class, ListIndexesResponse.builder()
+                        .indexes(Index.builder().arn(INDEX_ARN_1).type(LOCAL).build())
+                        .build());
+
+        assertWithinBudget("ListHandler", 48 * KB, new ListHandler(), proxy,
+                requestFor(ResourceModel.builder().build()));
+    }
+
+    // The request carries no client token, so the result cache never answers in place of the handler.
+    private static void assertWithinBudget(final String scenario,
+                                           final long budget,
+                                           final REBaseHandler<CallbackContext> handler,
+                                           final StubProxy proxy,
+                                           final ResourceHandlerRequest<ResourceModel> request) {
+
+        final ProgressEvent<ResourceModel, CallbackContext> result = handler.handleRequest(proxy, request, null, LOGGER);
+        assertThat(result.getStatus()).as("status of %s", scenario).isNotEqualTo(OperationStatus.FAILED);
+
+        for (int i = 0; i < WARMUP_INVOCATIONS; i++) {
+            handler.handleRequest(proxy, request, null, LOGGER);
+        }
+        final long threadId = Thread.currentThread().getId();
+        final long before = THREADS.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_INVOCATIONS; i++) {
+            handler.handleRequest(proxy, request, null, LOGGER);
+        }
+        final long bytesPerInvocation = (THREADS.getThreadAllocatedBytes(threadId) - before) / MEASURED_INVOCATIONS;
+
+        MEASUREMENTS.put(scenario, new long[] {bytesPerInvocation, budget});
+        assertThat(bytesPerInvocation).as("bytes allocated per invocation by %s", scenario).isLessThanOrEqualTo(budget);
+    }
+
+    private static GetIndexResponse activeIndex() {
+        return GetIndexResponse.builder().arn(INDEX_ARN_1).type(LOCAL).state(ACTIVE).build();
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> requestFor(final ResourceModel model) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+    }
+}
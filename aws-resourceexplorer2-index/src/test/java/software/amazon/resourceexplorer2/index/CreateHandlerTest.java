@@ -9,17 +9,23 @@ import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 
 // Resource Explorer package
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
 import software.amazon.awssdk.services.resourceexplorer2.model.CreateIndexRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.CreateIndexResponse;
 import software.amazon.awssdk.services.resourceexplorer2.model.DeleteIndexRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.Index;
+import software.amazon.awssdk.services.resourceexplorer2.model.ListIndexesRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.ListIndexesResponse;
 import software.amazon.awssdk.services.resourceexplorer2.model.UpdateIndexTypeRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.UpdateIndexTypeResponse;
 import software.amazon.awssdk.services.resourceexplorer2.model.AccessDeniedException;
 import software.amazon.awssdk.services.resourceexplorer2.model.InternalServerException;
 import software.amazon.awssdk.services.resourceexplorer2.model.ConflictException;
 import software.amazon.awssdk.services.resourceexplorer2.model.ResourceExplorer2Request;
+import software.amazon.awssdk.services.resourceexplorer2.model.ThrottlingException;
 
 // Necessary Constants for testing
 import static software.amazon.resourceexplorer2.index.IndexUtils.DELAY_CONSTANT;
@@ -31,6 +37,7 @@ import static software.amazon.resourceexplorer2.index.IndexUtils.LOCAL;
 import static software.amazon.resourceexplorer2.index.IndexUtils.UPDATING;
 import static software.amazon.resourceexplorer2.index.TestConstants.EMPTY_TAGS;
 import static software.amazon.resourceexplorer2.index.TestConstants.INDEX_ARN_1;
+import static software.amazon.resourceexplorer2.index.TestConstants.INDEX_ARN_2;
 import static software.amazon.resourceexplorer2.index.TestConstants.STACK_LEVEL_TAGS;
 import static software.amazon.resourceexplorer2.index.TestConstants.RESOURCE_TAGS;
 import static software.amazon.resourceexplorer2.index.TestConstants.SYSTEM_TAGS;
@@ -51,7 +58,10 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -175,6 +185,10 @@ public class CreateHandlerTest {
                 .when(proxy)
                 .injectCredentialsAndInvokeV2(eq(updateIndexTypeRequest), any());
 
+        doReturn(ListIndexesResponse.builder().build())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(ListIndexesRequest.class), any());
+
         final ResourceModel model = ResourceModel.builder()
                 .type(AGGREGATOR)
                 .build();
@@ -198,16 +212,19 @@ public class CreateHandlerTest {
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
 
-        // Capture the actual CreateIndexRequest, GetIndexRequest, UpdateIndexTypeRequest
-        // and ListTagsForResource in the process.
+        // Capture the actual ListIndexesRequest, CreateIndexRequest and UpdateIndexTypeRequest
+        // in the process.
         ArgumentCaptor<ResourceExplorer2Request> capturedRequest = ArgumentCaptor.forClass(UpdateIndexTypeRequest.class);
-        verify(proxy, times(2)).injectCredentialsAndInvokeV2(capturedRequest.capture(), any());
+        verify(proxy, times(3)).injectCredentialsAndInvokeV2(capturedRequest.capture(), any());
         List<ResourceExplorer2Request> invokedResourceExplorer2Request = capturedRequest.getAllValues();
 
-        CreateIndexRequest invokedCreateIndexRequest = (CreateIndexRequest) invokedResourceExplorer2Request.get(0);
+        ListIndexesRequest invokedListIndexesRequest = (ListIndexesRequest) invokedResourceExplorer2Request.get(0);
+        assertThat(invokedListIndexesRequest.typeAsString()).isEqualTo(AGGREGATOR);
+
+        CreateIndexRequest invokedCreateIndexRequest = (CreateIndexRequest) invokedResourceExplorer2Request.get(1);
         assertThat(invokedCreateIndexRequest.tags()).isEqualTo(EMPTY_TAGS);
 
-        UpdateIndexTypeRequest invokedUpdateIndexTypeRequest = (UpdateIndexTypeRequest) invokedResourceExplorer2Request.get(1);
+        UpdateIndexTypeRequest invokedUpdateIndexTypeRequest = (UpdateIndexTypeRequest) invokedResourceExplorer2Request.get(2);
         assertThat(invokedUpdateIndexTypeRequest.arn()).isEqualTo(INDEX_ARN_1);
         assertThat(invokedUpdateIndexTypeRequest.typeAsString()).isEqualTo(AGGREGATOR);
 
@@ -450,6 +467,10 @@ public class CreateHandlerTest {
                 .when(proxy)
                 .injectCredentialsAndInvokeV2(eq(updateIndexTypeRequest), any());
 
+        doReturn(ListIndexesResponse.builder().build())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(ListIndexesRequest.class), any());
+
         final ResourceModel model = ResourceModel.builder()
                 .type(AGGREGATOR)
                 .build();
@@ -473,23 +494,59 @@ public class CreateHandlerTest {
         assertThat(response.getMessage()).isNotNull();
         assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InternalFailure);
 
-        // Capture the actual CreateIndexRequest,UpdateIndexTypeRequest and DeleteIndexRequest
-        // in the process.
+        // Capture the actual ListIndexesRequest, CreateIndexRequest, UpdateIndexTypeRequest and
+        // DeleteIndexRequest in the process.
         ArgumentCaptor<ResourceExplorer2Request> capturedRequest = ArgumentCaptor.forClass(UpdateIndexTypeRequest.class);
-        verify(proxy, times(3)).injectCredentialsAndInvokeV2(capturedRequest.capture(), any());
+        verify(proxy, times(4)).injectCredentialsAndInvokeV2(capturedRequest.capture(), any());
         List<ResourceExplorer2Request> invokedResourceExplorer2Request = capturedRequest.getAllValues();
 
-        CreateIndexRequest invokedCreateIndexRequest = (CreateIndexRequest) invokedResourceExplorer2Request.get(0);
+        assertThat(invokedResourceExplorer2Request.get(0)).isInstanceOf(ListIndexesRequest.class);
+
+        CreateIndexRequest invokedCreateIndexRequest = (CreateIndexRequest) invokedResourceExplorer2Request.get(1);
         assertThat(invokedCreateIndexRequest.tags()).isEqualTo(EMPTY_TAGS);
 
-        UpdateIndexTypeRequest invokedUpdateIndexTypeRequest = (UpdateIndexTypeRequest) invokedResourceExplorer2Request.get(1);
+        UpdateIndexTypeRequest invokedUpdateIndexTypeRequest = (UpdateIndexTypeRequest) invokedResourceExplorer2Request.get(2);
         assertThat(invokedUpdateIndexTypeRequest.arn()).isEqualTo(INDEX_ARN_1);
         assertThat(invokedUpdateIndexTypeRequest.typeAsString()).isEqualTo(AGGREGATOR);
 
-        DeleteIndexRequest invokedDeleteIndexRequest = (DeleteIndexRequest) invokedResourceExplorer2Request.get(2);
+        DeleteIndexRequest invokedDeleteIndexRequest = (DeleteIndexRequest) invokedResourceExplorer2Request.get(3);
         assertThat(invokedDeleteIndexRequest.arn()).isEqualTo(INDEX_ARN_1);
     }
 
+    // This test verifies that creating an aggregator index fails at the first try, before
+    // CreateIndex, when another region already has the aggregator index.
+    @Test
+    public void handleRequest_AggregatorExistsInAnotherRegion_FailsBeforeCreateIndex() {
+
+        doReturn(ListIndexesResponse.builder()
+                .indexes(Index.builder().arn(INDEX_ARN_2).region("us-east-1").type(AGGREGATOR).build())
+                .build())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(ListIndexesRequest.class), any());
+
+        final ResourceModel model = ResourceModel.builder()
+                .type(AGGREGATOR)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        final CreateHandler handler = new CreateHandler();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.ResourceConflict);
+        assertThat(response.getMessage()).contains("us-east-1").contains(INDEX_ARN_2);
+        assertThat(response.getResourceModel().getArn()).isNull();
+
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(any(), any());
+    }
+
     // This test throws AlreadyExist when invoking CreateIndex at the first try.
     @Test
     public void handleRequest_ThrowAlreadyExist_AtTheFirstTry() {
@@ -588,4 +645,155 @@ public class CreateHandlerTest {
         assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
         assertThat(response.getResourceModel()).isNotNull();
     }
+
+    // With too little time left after CreateIndex, UpdateIndexType is left to the next invocation,
+    // which finds the index ACTIVE with createInProgress still set.
+    @Test
+    public void handleRequest_OutOfTimeAfterCreateIndex_InProgress() {
+
+        doReturn(ListIndexesResponse.builder().build())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(ListIndexesRequest.class), any());
+        doReturn(CreateIndexResponse.builder().arn(INDEX_ARN_1).state(ACTIVE).build())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(CreateIndexRequest.class), any());
+
+        final ResourceModel model = ResourceModel.builder()
+                .type(AGGREGATOR)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        final CreateHandler handler = new CreateHandler();
+        handler.setTimeBudget(Duration.ZERO);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().isCreateInProgress()).isTrue();
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getResourceModel().getArn()).isEqualTo(INDEX_ARN_1);
+        verify(proxy, times(0)).injectCredentialsAndInvokeV2(any(UpdateIndexTypeRequest.class), any());
+    }
+
+    // CreateIndex carries the request's client token, so an attempt that timed out is sent again
+    // in the same invocation and gets the index the first attempt created.
+    @Test
+    public void handleRequest_CreateIndexTimesOut_RetriedWithTheSameClientToken() {
+
+        // Each test has its own token, as results are recorded per token, see InvocationResultCache.
+        final String clientToken = UUID.randomUUID().toString();
+
+        doThrow(ApiCallTimeoutException.create(1000))
+                .doReturn(CreateIndexResponse.builder().arn(INDEX_ARN_1).state(ACTIVE).build())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(CreateIndexRequest.class), any());
+
+        final ResourceModel model = ResourceModel.builder()
+                .type(LOCAL)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .clientRequestToken(clientToken)
+                .build();
+
+        final List<Long> sleeps = new ArrayList<>();
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = new CreateHandler(sleeps::add).handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getArn()).isEqualTo(INDEX_ARN_1);
+        assertThat(sleeps).hasSize(1);
+
+        ArgumentCaptor<CreateIndexRequest> captor = ArgumentCaptor.forClass(CreateIndexRequest.class);
+        verify(proxy, times(2)).injectCredentialsAndInvokeV2(captor.capture(), any());
+        assertThat(captor.getAllValues()).extracting(CreateIndexRequest::clientToken)
+                .containsExactly(clientToken, clientToken);
+    }
+
+    @Test
+    public void handleRequest_CreateIndexKeepsFailing_FailsAfterTheLastAttempt() {
+
+        final String clientToken = UUID.randomUUID().toString();
+
+        doThrow(InternalServerException.builder().statusCode(500).build())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(CreateIndexRequest.class), any());
+
+        final ResourceModel model = ResourceModel.builder()
+                .type(LOCAL)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .clientRequestToken(clientToken)
+                .build();
+
+        final List<Long> sleeps = new ArrayList<>();
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = new CreateHandler(sleeps::add).handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InternalFailure);
+        verify(proxy, times(CreateHandler.CREATE_INDEX_ATTEMPTS))
+                .injectCredentialsAndInvokeV2(any(CreateIndexRequest.class), any());
+
+        // A jittered wait before each new attempt, with a ceiling that doubles.
+        final long backoffMillis = CreateHandler.CREATE_INDEX_BACKOFF.toMillis();
+        assertThat(sleeps).hasSize(CreateHandler.CREATE_INDEX_ATTEMPTS - 1);
+        assertThat(sleeps.get(0)).isBetween(0L, backoffMillis);
+        assertThat(sleeps.get(1)).isBetween(0L, 2 * backoffMillis);
+    }
+
+    // The SDK has already retried the throttled call, so the handler leaves the next try to CloudFormation.
+    @Test
+    public void handleRequest_CreateIndexThrottled_FailsWithoutSendingItAgain() {
+
+        final String clientToken = UUID.randomUUID().toString();
+
+        doThrow(ThrottlingException.builder()
+                .statusCode(429)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").build())
+                .build())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(CreateIndexRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().type(LOCAL).build())
+                .clientRequestToken(clientToken)
+                .build();
+
+        final List<Long> sleeps = new ArrayList<>();
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = new CreateHandler(sleeps::add).handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.Throttling);
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(any(CreateIndexRequest.class), any());
+        assertThat(sleeps).isEmpty();
+    }
+
+    // A Type outside the schema enum fails before CreateIndex, not after the index exists.
+    @Test
+    public void handleRequest_TypeOutsideTheSchema_InvalidRequest() {
+
+        final ResourceModel model = ResourceModel.builder()
+                .type("GLOBAL")
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = new CreateHandler().handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        verify(proxy, times(0)).injectCredentialsAndInvokeV2(any(), any());
+    }
 }
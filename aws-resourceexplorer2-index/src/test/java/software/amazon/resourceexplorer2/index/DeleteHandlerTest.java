@@ -9,6 +9,7 @@ import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 
 // Resource Explorer package
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
 import software.amazon.awssdk.services.resourceexplorer2.model.AccessDeniedException;
 import software.amazon.awssdk.services.resourceexplorer2.model.DeleteIndexRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexRequest;
@@ -16,6 +17,7 @@ import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexResponse;
 import software.amazon.awssdk.services.resourceexplorer2.model.UpdateIndexTypeRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.resourceexplorer2.model.ResourceExplorer2Request;
+import software.amazon.resourceexplorer2.common.CircuitBreakerOpenException;
 
 import static software.amazon.resourceexplorer2.index.IndexUtils.ACTIVE;
 import static software.amazon.resourceexplorer2.index.IndexUtils.AGGREGATOR;
@@ -374,4 +376,56 @@ public class DeleteHandlerTest {
         assertThat(response.getResourceModel()).isNotNull();
         assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
     }
+
+    // A call turned away by the circuit breaker makes the handler run again later instead of failing.
+    @Test
+    public void handleRequest_CircuitOpen_InProgressStatus() {
+
+        final ResourceModel model = ResourceModel.builder()
+                .arn(INDEX_ARN_1)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(any(), any()))
+                .thenThrow(new CircuitBreakerOpenException("us-west-2/GetIndex", 0));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(REBaseHandler.CIRCUIT_OPEN_CALLBACK_DELAY_SECONDS);
+        assertThat(response.getResourceModel()).isEqualTo(model);
+        assertThat(response.getErrorCode()).isNull();
+    }
+
+    // A DeleteIndex that ran out of the invocation's time goes on in a new invocation instead of failing.
+    @Test
+    public void handleRequest_DeleteIndexRunsOutOfTime_InProgressStatus() {
+
+        final ResourceModel model = ResourceModel.builder()
+                .arn(INDEX_ARN_1)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        doReturn(GetIndexResponse.builder().arn(INDEX_ARN_1).state(ACTIVE).type(LOCAL).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetIndexRequest.class), any());
+        doThrow(ApiCallTimeoutException.create(55000))
+                .when(proxy).injectCredentialsAndInvokeV2(any(DeleteIndexRequest.class), any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(REBaseHandler.DEADLINE_CALLBACK_DELAY_SECONDS);
+        assertThat(response.getResourceModel()).isEqualTo(model);
+        assertThat(response.getErrorCode()).isNull();
+    }
 }
@@ -0,0 +1,152 @@
+package software.amazon.resourceexplorer2.index;
+
+// CloudFormation package
+import software.amazon.cloudformation.proxy.Logger;
+
+// Resource Explorer package
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.resourceexplorer2.ResourceExplorer2Client;
+import software.amazon.awssdk.services.resourceexplorer2.model.AccessDeniedException;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.Index;
+import software.amazon.awssdk.services.resourceexplorer2.model.ListIndexesRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.ListIndexesResponse;
+import software.amazon.resourceexplorer2.common.InventorySnapshot;
+import software.amazon.resourceexplorer2.common.InventorySnapshot.DriftKind;
+import software.amazon.resourceexplorer2.index.IndexDriftDetector.Drift;
+import software.amazon.resourceexplorer2.index.IndexDriftDetector.DriftReport;
+
+import static software.amazon.resourceexplorer2.index.IndexUtils.ACTIVE;
+import static software.amazon.resourceexplorer2.index.IndexUtils.AGGREGATOR;
+import static software.amazon.resourceexplorer2.index.IndexUtils.DELETING;
+import static software.amazon.resourceexplorer2.index.IndexUtils.LOCAL;
+import static software.amazon.resourceexplorer2.index.IndexUtils.UPDATING;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class IndexDriftDetectorTest {
+
+    private static final List<Region> REGIONS = Arrays.asList(Region.US_EAST_1, Region.US_WEST_2, Region.EU_WEST_1);
+
+    @TempDir
+    Path directory;
+
+    private final Logger logger = mock(Logger.class);
+    private ResourceExplorer2Client listClient;
+    private Map<Region, ResourceExplorer2Client> clients;
+    private Path snapshot;
+    private List<Drift> drifts;
+
+    @BeforeEach
+    public void setup() {
+        listClient = mock(ResourceExplorer2Client.class);
+        clients = new HashMap<>();
+        snapshot = directory.resolve("indexes.snapshot");
+        drifts = new ArrayList<>();
+        for (final Region region : REGIONS) {
+            index(region, LOCAL, ACTIVE, Collections.singletonMap("Team", "search"));
+        }
+        listed(REGIONS);
+    }
+
+    @Test
+    public void detect_FirstRunThenNoChanges() throws IOException {
+        assertThat(detector().detect(snapshot, drifts::add)).isEqualTo(new DriftReport(0, 3, 0, 0, 0));
+        assertThat(drifts).extracting(Drift::getKind).containsOnly(DriftKind.ADDED);
+        assertThat(drifts.get(0).getModel().getType()).isEqualTo(LOCAL);
+
+        drifts.clear();
+        assertThat(detector().detect(snapshot, drifts::add)).isEqualTo(new DriftReport(3, 0, 0, 0, 0));
+        assertThat(drifts).isEmpty();
+    }
+
+    @Test
+    public void detect_ReportsTypeAndTagChangesButNotStateChanges() throws IOException {
+        detector().detect(snapshot, drift -> { });
+        index(Region.US_EAST_1, AGGREGATOR, UPDATING, Collections.singletonMap("Team", "search"));
+        index(Region.US_WEST_2, LOCAL, UPDATING, Collections.singletonMap("Team", "search"));
+        index(Region.EU_WEST_1, LOCAL, ACTIVE, Collections.singletonMap("Team", "platform"));
+
+        final DriftReport report = detector().detect(snapshot, drifts::add);
+
+        assertThat(report).isEqualTo(new DriftReport(1, 0, 2, 0, 0));
+        assertThat(drifts).extracting(Drift::getKind, Drift::getArn).containsExactlyInAnyOrder(
+                tuple(DriftKind.CHANGED, arn(Region.US_EAST_1)),
+                tuple(DriftKind.CHANGED, arn(Region.EU_WEST_1)));
+    }
+
+    @Test
+    public void detect_DeletedAndDeletingIndexesAreRemoved() throws IOException {
+        detector().detect(snapshot, drift -> { });
+        index(Region.US_WEST_2, LOCAL, DELETING, Collections.emptyMap());
+        listed(Arrays.asList(Region.US_WEST_2, Region.EU_WEST_1));
+
+        final DriftReport report = detector().detect(snapshot, drifts::add);
+
+        assertThat(report).isEqualTo(new DriftReport(1, 0, 0, 2, 0));
+        assertThat(drifts).extracting(Drift::getKind, Drift::getArn).containsExactlyInAnyOrder(
+                tuple(DriftKind.REMOVED, arn(Region.US_EAST_1)),
+                tuple(DriftKind.REMOVED, arn(Region.US_WEST_2)));
+        assertThat(drifts).allMatch(drift -> drift.getModel() == null);
+    }
+
+    @Test
+    public void detect_UnreadableRegionKeepsItsSnapshot() throws IOException {
+        detector().detect(snapshot, drift -> { });
+        final ResourceExplorer2Client denied = mock(ResourceExplorer2Client.class);
+        when(denied.getIndex(any(GetIndexRequest.class))).thenThrow(AccessDeniedException.builder().build());
+        clients.put(Region.EU_WEST_1, denied);
+
+        final DriftReport report = detector().detect(snapshot, drifts::add);
+
+        assertThat(report).isEqualTo(new DriftReport(2, 0, 0, 0, 1));
+        assertThat(drifts).isEmpty();
+        assertThat(InventorySnapshot.open(snapshot).find(arn(Region.EU_WEST_1))).isNotNegative();
+    }
+
+    private IndexDriftDetector detector() {
+        return new IndexDriftDetector(listClient, clients::get, logger);
+    }
+
+    private void index(final Region region, final String type, final String state, final Map<String, String> tags) {
+        final ResourceExplorer2Client client = mock(ResourceExplorer2Client.class);
+        when(client.getIndex(any(GetIndexRequest.class))).thenReturn(GetIndexResponse.builder()
+                .arn(arn(region))
+                .type(type)
+                .state(state)
+                .tags(tags)
+                .build());
+        clients.put(region, client);
+    }
+
+    private void listed(final List<Region> regions) {
+        final List<Index> indexes = new ArrayList<>();
+        for (final Region region : regions) {
+            indexes.add(Index.builder().arn(arn(region)).region(region.id()).build());
+        }
+        when(listClient.listIndexes(any(ListIndexesRequest.class)))
+                .thenReturn(ListIndexesResponse.builder().indexes(indexes).build());
+    }
+
+    private static String arn(final Region region) {
+        return String.format("arn:aws:resource-explorer-2:%s:123456789012:index/%s", region.id(), region.id());
+    }
+}
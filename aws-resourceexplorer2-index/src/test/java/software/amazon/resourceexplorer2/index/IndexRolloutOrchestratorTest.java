@@ -0,0 +1,198 @@
+package software.amazon.resourceexplorer2.index;
+
+// CloudFormation package
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+
+// Resource Explorer package
+import software.amazon.awssdk.services.resourceexplorer2.ResourceExplorer2Client;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.resourceexplorer2.common.RegionalClientRegistry;
+import software.amazon.resourceexplorer2.index.IndexRolloutOrchestrator.RegionResult;
+import software.amazon.resourceexplorer2.index.IndexRolloutOrchestrator.RegionStatus;
+import software.amazon.resourceexplorer2.index.IndexRolloutOrchestrator.RolloutReport;
+
+import static software.amazon.resourceexplorer2.index.IndexUtils.AGGREGATOR;
+import static software.amazon.resourceexplorer2.index.IndexUtils.LOCAL;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Runs whole rollouts against StandInResourceExplorer, one per region, through the real handlers.
+public class IndexRolloutOrchestratorTest {
+
+    private static final List<Region> REGIONS = Arrays.asList(
+            Region.US_EAST_1, Region.US_EAST_2, Region.US_WEST_2, Region.EU_WEST_1, Region.AP_SOUTHEAST_2);
+    private static final Duration POLL_INTERVAL = Duration.ofSeconds(5);
+
+    private AmazonWebServicesClientProxy proxy;
+    private Logger logger;
+    private Map<Region, StandInResourceExplorer> standIns;
+    private AtomicInteger concurrentCreates;
+    private AtomicInteger maxConcurrentCreates;
+    private AtomicLong clock;
+    private AtomicInteger sleeps;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        proxy = mock(AmazonWebServicesClientProxy.class);
+        logger = mock(Logger.class);
+        standIns = new HashMap<>();
+        concurrentCreates = new AtomicInteger();
+        maxConcurrentCreates = new AtomicInteger();
+        clock = new AtomicLong();
+        sleeps = new AtomicInteger();
+
+        // The proxy hands each request straight to the stand-in the handler was built with.
+        doAnswer(invocation -> ((Function<Object, Object>) invocation.getArgument(1)).apply(invocation.getArgument(0)))
+                .when(proxy).injectCredentialsAndInvokeV2(any(), any());
+    }
+
+    @Test
+    public void rollout_CreatesLocalIndexesAndPromotesAggregator() throws InterruptedException {
+        REGIONS.forEach(region -> standIn(region, 2));
+
+        final RolloutReport report = orchestrator(8, Duration.ofMinutes(30)).rollout(REGIONS, Region.US_WEST_2);
+
+        assertThat(report.isSuccessful()).isTrue();
+        assertThat(report.isAggregatorPromoted()).isTrue();
+        assertThat(report.getAggregatorRegion()).isEqualTo(Region.US_WEST_2);
+        assertThat(report.getPromotionTime()).isEqualTo(POLL_INTERVAL.multipliedBy(2));
+        assertThat(report.getRegions()).hasSize(REGIONS.size());
+        for (final RegionResult result : report.getRegions()) {
+            assertThat(result.getStatus()).isEqualTo(RegionStatus.CREATED);
+            assertThat(result.getArn()).isEqualTo(standIns.get(result.getRegion()).arn());
+            assertThat(result.getType()).isEqualTo(Region.US_WEST_2.equals(result.getRegion()) ? AGGREGATOR : LOCAL);
+            assertThat(result.getActiveTime()).isEqualTo(POLL_INTERVAL.multipliedBy(2));
+        }
+
+        // One polling loop serves all regions: two rounds to become ACTIVE, two more for the promotion.
+        assertThat(sleeps.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void rollout_BoundsParallelism() throws InterruptedException {
+        final List<Region> regions = Arrays.asList(
+                Region.US_EAST_1, Region.US_EAST_2, Region.US_WEST_1, Region.US_WEST_2,
+                Region.EU_WEST_1, Region.EU_CENTRAL_1, Region.AP_SOUTHEAST_1, Region.AP_SOUTHEAST_2);
+        regions.forEach(region -> standIn(region, 0));
+
+        final RolloutReport report = orchestrator(3, Duration.ofMinutes(30)).rollout(regions, null);
+
+        assertThat(report.isSuccessful()).isTrue();
+        assertThat(maxConcurrentCreates.get()).isBetween(1, 3);
+        assertThat(sleeps.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void rollout_TakesOverExistingIndex() throws InterruptedException {
+        REGIONS.forEach(region -> standIn(region, 1));
+        final String existingArn = standIns.get(Region.EU_WEST_1).withActiveIndex(LOCAL).arn();
+
+        final RolloutReport report = orchestrator(8, Duration.ofMinutes(30)).rollout(REGIONS, Region.US_EAST_1);
+
+        assertThat(report.isSuccessful()).isTrue();
+        final RegionResult existing = result(report, Region.EU_WEST_1);
+        assertThat(existing.getStatus()).isEqualTo(RegionStatus.EXISTING);
+        assertThat(existing.getArn()).isEqualTo(existingArn);
+        assertThat(existing.getType()).isEqualTo(LOCAL);
+    }
+
+    @Test
+    public void rollout_ExistingAggregatorIsNotUpdated() throws InterruptedException {
+        REGIONS.forEach(region -> standIn(region, 1));
+        standIns.get(Region.US_EAST_1).withActiveIndex(AGGREGATOR);
+
+        final RolloutReport report = orchestrator(8, Duration.ofMinutes(30)).rollout(REGIONS, Region.US_EAST_1);
+
+        assertThat(report.isSuccessful()).isTrue();
+        assertThat(report.getPromotionTime()).isEqualTo(Duration.ZERO);
+        assertThat(result(report, Region.US_EAST_1).getType()).isEqualTo(AGGREGATOR);
+    }
+
+    @Test
+    public void rollout_RegionThatNeverBecomesActiveTimesOut() throws InterruptedException {
+        REGIONS.forEach(region -> standIn(region, 1));
+        standIn(Region.AP_SOUTHEAST_2, Integer.MAX_VALUE);
+
+        final RolloutReport report = orchestrator(8, Duration.ofMinutes(1)).rollout(REGIONS, Region.AP_SOUTHEAST_2);
+
+        assertThat(report.isSuccessful()).isFalse();
+        assertThat(report.isAggregatorPromoted()).isFalse();
+        final RegionResult stuck = result(report, Region.AP_SOUTHEAST_2);
+        assertThat(stuck.getStatus()).isEqualTo(RegionStatus.FAILED);
+        assertThat(stuck.getMessage()).contains("Timed out");
+        assertThat(stuck.getActiveTime()).isNull();
+        assertThat(result(report, Region.US_EAST_1).getStatus()).isEqualTo(RegionStatus.CREATED);
+    }
+
+    // The rollout holds one client per region throughout, even with more regions than the
+    // registry keeps, so polling does not rebuild clients.
+    @Test
+    public void rollout_WithRegistry_BuildsEachClientOnce() throws InterruptedException {
+        REGIONS.forEach(region -> standIn(region, 2));
+        final Map<Region, Integer> builds = new HashMap<>();
+        final RegionalClientRegistry<ResourceExplorer2Client> registry = new RegionalClientRegistry<>(
+                ResourceExplorer2Client.class, 2, Duration.ofMinutes(10),
+                mock(SdkHttpClient.class),
+                (region, metricPublisher) -> {
+                    synchronized (builds) {
+                        builds.merge(region, 1, Integer::sum);
+                    }
+                    return standIns.get(region);
+                },
+                clock::get);
+
+        final RolloutReport report = new IndexRolloutOrchestrator(proxy, null, registry, logger, 8, POLL_INTERVAL,
+                Duration.ofMinutes(30), clock::get, millis -> clock.addAndGet(Duration.ofMillis(millis).toNanos()))
+                .rollout(REGIONS, Region.US_WEST_2);
+
+        assertThat(report.isSuccessful()).isTrue();
+        assertThat(builds).hasSize(REGIONS.size());
+        assertThat(builds.values()).containsOnly(1);
+    }
+
+    @Test
+    public void rollout_AggregatorRegionOutsideRollout() {
+        assertThatThrownBy(() -> orchestrator(8, Duration.ofMinutes(30)).rollout(REGIONS, Region.SA_EAST_1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void standIn(final Region region, final int pollsUntilActive) {
+        standIns.put(region, new StandInResourceExplorer(
+                region.id(), pollsUntilActive, concurrentCreates, maxConcurrentCreates));
+    }
+
+    private IndexRolloutOrchestrator orchestrator(final int parallelism, final Duration timeout) {
+        return new IndexRolloutOrchestrator(proxy, standIns::get, null, logger, parallelism, POLL_INTERVAL, timeout,
+                clock::get,
+                millis -> {
+                    sleeps.incrementAndGet();
+                    clock.addAndGet(Duration.ofMillis(millis).toNanos());
+                });
+    }
+
+    private static RegionResult result(final RolloutReport report, final Region region) {
+        return report.getRegions().stream()
+                .filter(result -> region.equals(result.getRegion()))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+    }
+}
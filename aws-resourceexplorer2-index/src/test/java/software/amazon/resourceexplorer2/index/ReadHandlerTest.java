@@ -9,9 +9,11 @@ import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 
 // Resource Explorer package
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
 import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexResponse;
 import software.amazon.awssdk.services.resourceexplorer2.model.AccessDeniedException;
 import software.amazon.awssdk.services.resourceexplorer2.model.ResourceNotFoundException;
+import software.amazon.resourceexplorer2.common.CircuitBreakerOpenException;
 
 import static software.amazon.resourceexplorer2.index.TestConstants.INDEX_ARN_1;
 import static software.amazon.resourceexplorer2.index.IndexUtils.ACTIVE;
@@ -157,4 +159,44 @@ public class ReadHandlerTest {
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
     }
+
+    // Read cannot answer IN_PROGRESS, so an open circuit fails it as throttled.
+    @Test
+    public void handleRequest_CircuitOpen_Throttling() {
+
+        final ResourceModel model = ResourceModel.builder()
+                .arn(INDEX_ARN_1)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(any(), any()))
+                .thenThrow(new CircuitBreakerOpenException("us-west-2/GetIndex", 0));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.Throttling);
+    }
+
+    // A call that ran out of the invocation's time is worth trying again, not an internal failure.
+    @Test
+    public void handleRequest_CallRunsOutOfTime_NetworkFailure() {
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().arn(INDEX_ARN_1).build())
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(any(), any()))
+                .thenThrow(ApiCallTimeoutException.create(55000));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NetworkFailure);
+    }
 }
@@ -0,0 +1,28 @@
+package software.amazon.resourceexplorer2.index;
+
+import static software.amazon.resourceexplorer2.index.IndexUtils.AGGREGATOR;
+import static software.amazon.resourceexplorer2.index.IndexUtils.LOCAL;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SchemaConstraintsTest {
+
+    private final SchemaConstraints constraints = SchemaConstraints.get();
+
+    @Test
+    public void resourceSchema_IsParsedOncePerContainer() {
+        assertThat(new Configuration().resourceSchemaJSONObject())
+                .isSameAs(new Configuration().resourceSchemaJSONObject());
+    }
+
+    @Test
+    public void validate_TypeMustBeInTheIndexTypeEnum() {
+        assertThat(constraints.validate(ResourceModel.builder().type(LOCAL).build())).isNull();
+        assertThat(constraints.validate(ResourceModel.builder().type(AGGREGATOR).build())).isNull();
+        assertThat(constraints.validate(ResourceModel.builder().build())).isNull();
+        assertThat(constraints.validate(ResourceModel.builder().type("GLOBAL").build()))
+                .isEqualTo("Type GLOBAL must be one of [LOCAL, AGGREGATOR].");
+    }
+}
@@ -0,0 +1,235 @@
+package software.amazon.resourceexplorer2.index;
+
+// CloudFormation package
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+// Resource Explorer package
+import software.amazon.awssdk.services.resourceexplorer2.model.CreateIndexRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.CreateIndexResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.DeleteIndexRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.DeleteIndexResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.InternalServerException;
+import software.amazon.awssdk.services.resourceexplorer2.model.ListIndexesRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.ListIndexesResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.TagResourceRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.TagResourceResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.UpdateIndexTypeRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.UpdateIndexTypeResponse;
+import software.amazon.resourceexplorer2.common.HedgingPolicy;
+
+import static software.amazon.resourceexplorer2.index.IndexUtils.ACTIVE;
+import static software.amazon.resourceexplorer2.index.IndexUtils.AGGREGATOR;
+import static software.amazon.resourceexplorer2.index.IndexUtils.CREATING;
+import static software.amazon.resourceexplorer2.index.IndexUtils.LOCAL;
+import static software.amazon.resourceexplorer2.index.TestConstants.INDEX_ARN_1;
+import static software.amazon.resourceexplorer2.index.TestConstants.RESOURCE_TAGS;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// These tests pin the number of Resource Explorer calls each handler makes per scenario.
+// A change that adds a round trip to one of these paths has to update its budget here.
+@ExtendWith(MockitoExtension.class)
+public class ServiceCallBudgetTest {
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    private Logger logger;
+
+    @BeforeEach
+    public void setup() {
+        proxy = mock(AmazonWebServicesClientProxy.class);
+        logger = mock(Logger.class);
+    }
+
+    @Test
+    public void create_LocalIndexActiveAtFirstTry() {
+        doReturn(CreateIndexResponse.builder().arn(INDEX_ARN_1).state(ACTIVE).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(CreateIndexRequest.class), any());
+
+        final CreateHandler handler = new CreateHandler();
+        handler.handleRequest(proxy, requestFor(ResourceModel.builder().type(LOCAL).build()), null, logger);
+
+        assertBudget(handler, budget("CreateIndex", 1));
+    }
+
+    @Test
+    public void create_AggregatorIndexActiveAtFirstTry() {
+        doReturn(ListIndexesResponse.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(ListIndexesRequest.class), any());
+        doReturn(CreateIndexResponse.builder().arn(INDEX_ARN_1).state(ACTIVE).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(CreateIndexRequest.class), any());
+        doReturn(UpdateIndexTypeResponse.builder().arn(INDEX_ARN_1).type(AGGREGATOR).state(ACTIVE).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(UpdateIndexTypeRequest.class), any());
+
+        final CreateHandler handler = new CreateHandler();
+        handler.handleRequest(proxy, requestFor(ResourceModel.builder().type(AGGREGATOR).build()), null, logger);
+
+        assertBudget(handler, budget("ListIndexes", 1, "CreateIndex", 1, "UpdateIndexType", 1));
+    }
+
+    @Test
+    public void create_UpdateIndexTypeFails_IndexIsCleanedUp() {
+        doReturn(ListIndexesResponse.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(ListIndexesRequest.class), any());
+        doReturn(CreateIndexResponse.builder().arn(INDEX_ARN_1).state(ACTIVE).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(CreateIndexRequest.class), any());
+        doThrow(InternalServerException.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(UpdateIndexTypeRequest.class), any());
+        doReturn(DeleteIndexResponse.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(DeleteIndexRequest.class), any());
+
+        final CreateHandler handler = new CreateHandler();
+        handler.handleRequest(proxy, requestFor(ResourceModel.builder().type(AGGREGATOR).build()), null, logger);
+
+        assertBudget(handler, budget("ListIndexes", 1, "CreateIndex", 1, "UpdateIndexType", 1, "DeleteIndex", 1));
+    }
+
+    @Test
+    public void create_CallbackWhileIndexIsCreating() {
+        doReturn(GetIndexResponse.builder().arn(INDEX_ARN_1).state(CREATING).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetIndexRequest.class), any());
+
+        final CreateHandler handler = new CreateHandler();
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .createInProgress(true)
+                .retryCount(1)
+                .build();
+        handler.handleRequest(proxy, requestFor(ResourceModel.builder().type(LOCAL).build()), callbackContext, logger);
+
+        assertBudget(handler, budget("GetIndex", 1));
+    }
+
+    @Test
+    public void read_ActiveIndex() {
+        doReturn(GetIndexResponse.builder().arn(INDEX_ARN_1).type(LOCAL).state(ACTIVE).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetIndexRequest.class), any());
+
+        final ReadHandler handler = new ReadHandler();
+        handler.handleRequest(proxy, requestFor(ResourceModel.builder().arn(INDEX_ARN_1).build()), null, logger);
+
+        assertBudget(handler, budget("GetIndex", 1));
+    }
+
+    @Test
+    public void read_SlowGetIndexIsHedged() {
+        final GetIndexResponse getIndexResponse = GetIndexResponse.builder().arn(INDEX_ARN_1).type(LOCAL).state(ACTIVE).build();
+        final HedgingPolicy hedgingPolicy = new HedgingPolicy(95, 1.0);
+        // GetIndex usually takes about 10 ms.
+        for (int i = 0; i < HedgingPolicy.MIN_SAMPLES; i++) {
+            hedgingPolicy.call("GetIndex", () -> {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+                return getIndexResponse;
+            });
+        }
+        final AtomicInteger attempts = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (attempts.incrementAndGet() == 1) {
+                Thread.sleep(500);
+            }
+            return getIndexResponse;
+        }).when(proxy).injectCredentialsAndInvokeV2(any(GetIndexRequest.class), any());
+
+        final ReadHandler handler = new ReadHandler();
+        handler.setHedgingPolicy(hedgingPolicy);
+        handler.handleRequest(proxy, requestFor(ResourceModel.builder().arn(INDEX_ARN_1).build()), null, logger);
+
+        // Both attempts count against the invocation.
+        assertBudget(handler, budget("GetIndex", 2));
+        assertThat(hedgingPolicy.stats("GetIndex").hedgeWins.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void delete_ActiveIndex() {
+        doReturn(GetIndexResponse.builder().arn(INDEX_ARN_1).type(LOCAL).state(ACTIVE).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetIndexRequest.class), any());
+        doReturn(DeleteIndexResponse.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(DeleteIndexRequest.class), any());
+
+        final DeleteHandler handler = new DeleteHandler();
+        handler.handleRequest(proxy, requestFor(ResourceModel.builder().arn(INDEX_ARN_1).build()), null, logger);
+
+        assertBudget(handler, budget("GetIndex", 1, "DeleteIndex", 1));
+    }
+
+    @Test
+    public void update_SameTypeWithTags() {
+        doReturn(GetIndexResponse.builder().arn(INDEX_ARN_1).type(LOCAL).state(ACTIVE).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetIndexRequest.class), any());
+        doReturn(TagResourceResponse.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+
+        final UpdateHandler handler = new UpdateHandler();
+        handler.handleRequest(proxy,
+                requestFor(ResourceModel.builder().arn(INDEX_ARN_1).type(LOCAL).tags(RESOURCE_TAGS).build()),
+                null, logger);
+
+        assertBudget(handler, budget("GetIndex", 1, "TagResource", 1));
+    }
+
+    @Test
+    public void update_TagsOnlyWithPreviousState() {
+        doReturn(TagResourceResponse.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+
+        final UpdateHandler handler = new UpdateHandler();
+        handler.handleRequest(proxy, ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().arn(INDEX_ARN_1).type(LOCAL).tags(RESOURCE_TAGS).build())
+                        .previousResourceState(ResourceModel.builder().arn(INDEX_ARN_1).type(LOCAL).build())
+                        .build(),
+                null, logger);
+
+        assertBudget(handler, budget("TagResource", 1));
+    }
+
+    @Test
+    public void list_SinglePage() {
+        doReturn(ListIndexesResponse.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(ListIndexesRequest.class), any());
+
+        final ListHandler handler = new ListHandler();
+        handler.handleRequest(proxy, requestFor(ResourceModel.builder().build()), null, logger);
+
+        assertBudget(handler, budget("ListIndexes", 1));
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> requestFor(final ResourceModel model) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+    }
+
+    private static Map<String, Integer> budget(final Object... operationsAndCounts) {
+        final Map<String, Integer> budget = new HashMap<>();
+        for (int i = 0; i < operationsAndCounts.length; i += 2) {
+            budget.put((String) operationsAndCounts[i], (Integer) operationsAndCounts[i + 1]);
+        }
+        return budget;
+    }
+
+    private static void assertBudget(final REBaseHandler<CallbackContext> handler, final Map<String, Integer> budget) {
+        assertThat(handler.getServiceCallCounter().counts()).isEqualTo(budget);
+    }
+}
@@ -0,0 +1,121 @@
+package software.amazon.resourceexplorer2.index;
+
+// Resource Explorer package
+import software.amazon.awssdk.services.resourceexplorer2.ResourceExplorer2Client;
+import software.amazon.awssdk.services.resourceexplorer2.model.ConflictException;
+import software.amazon.awssdk.services.resourceexplorer2.model.CreateIndexRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.CreateIndexResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetIndexResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.resourceexplorer2.model.UpdateIndexTypeRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.UpdateIndexTypeResponse;
+
+import static software.amazon.resourceexplorer2.index.IndexUtils.ACTIVE;
+import static software.amazon.resourceexplorer2.index.IndexUtils.CREATING;
+import static software.amazon.resourceexplorer2.index.IndexUtils.LOCAL;
+import static software.amazon.resourceexplorer2.index.IndexUtils.UPDATING;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// In-memory Resource Explorer of one region, for driving the handlers end-to-end without AWS.
+// An index stays CREATING or UPDATING for pollsUntilActive GetIndex calls, then turns ACTIVE.
+class StandInResourceExplorer implements ResourceExplorer2Client {
+
+    private final String region;
+    private final int pollsUntilActive;
+    private final AtomicInteger concurrentCreates;
+    private final AtomicInteger maxConcurrentCreates;
+
+    private String arn;
+    private String type;
+    private String state;
+    private String pendingType;
+    private int remainingPolls;
+
+    StandInResourceExplorer(
+            final String region,
+            final int pollsUntilActive,
+            final AtomicInteger concurrentCreates,
+            final AtomicInteger maxConcurrentCreates) {
+        this.region = region;
+        this.pollsUntilActive = pollsUntilActive;
+        this.concurrentCreates = concurrentCreates;
+        this.maxConcurrentCreates = maxConcurrentCreates;
+    }
+
+    synchronized StandInResourceExplorer withActiveIndex(final String existingType) {
+        arn = newArn();
+        type = existingType;
+        state = ACTIVE;
+        return this;
+    }
+
+    synchronized String arn() {
+        return arn;
+    }
+
+    @Override
+    public CreateIndexResponse createIndex(final CreateIndexRequest request) {
+        maxConcurrentCreates.accumulateAndGet(concurrentCreates.incrementAndGet(), Math::max);
+        try {
+            // Hold the call open briefly so that concurrent creates overlap.
+            Thread.sleep(20);
+            synchronized (this) {
+                if (arn != null) {
+                    throw ConflictException.builder().message("An index already exists in " + region).build();
+                }
+                arn = newArn();
+                type = LOCAL;
+                remainingPolls = pollsUntilActive;
+                state = remainingPolls == 0 ? ACTIVE : CREATING;
+                return CreateIndexResponse.builder().arn(arn).state(state).build();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            concurrentCreates.decrementAndGet();
+        }
+    }
+
+    @Override
+    public synchronized GetIndexResponse getIndex(final GetIndexRequest request) {
+        if (arn == null) {
+            throw ResourceNotFoundException.builder().message("No index in " + region).build();
+        }
+        if (!ACTIVE.equals(state) && --remainingPolls <= 0) {
+            state = ACTIVE;
+            if (pendingType != null) {
+                type = pendingType;
+                pendingType = null;
+            }
+        }
+        return GetIndexResponse.builder().arn(arn).type(type).state(state).build();
+    }
+
+    @Override
+    public synchronized UpdateIndexTypeResponse updateIndexType(final UpdateIndexTypeRequest request) {
+        if (!request.arn().equals(arn)) {
+            throw ResourceNotFoundException.builder().message("No index " + request.arn()).build();
+        }
+        pendingType = request.typeAsString();
+        remainingPolls = pollsUntilActive;
+        state = UPDATING;
+        return UpdateIndexTypeResponse.builder().arn(arn).type(type).state(state).build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private String newArn() {
+        return String.format("arn:aws:resource-explorer-2:%s:123456789012:index/%s", region, UUID.randomUUID());
+    }
+}
@@ -689,4 +689,101 @@ public class UpdateHandlerTest {
 
     }
 
+    // When the previous state has the same ARN and type, only the tags change and the handler
+    // goes straight to TagResource without GetIndex.
+    @Test
+    public void handleRequest_TagsOnly_SkipsGetIndex() {
+
+        final ResourceModel previousModel = ResourceModel.builder()
+                .arn(INDEX_ARN_1)
+                .type(LOCAL)
+                .build();
+
+        final ResourceModel desiredModel = ResourceModel.builder()
+                .tags(RESOURCE_TAGS)
+                .arn(INDEX_ARN_1)
+                .type(LOCAL)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(desiredModel)
+                .previousResourceState(previousModel)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+
+        ArgumentCaptor<ResourceExplorer2Request> capturedRequest = ArgumentCaptor.forClass(ResourceExplorer2Request.class);
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(capturedRequest.capture(), any());
+        TagResourceRequest invokedTagResourceRequest = (TagResourceRequest) capturedRequest.getValue();
+        assertThat(invokedTagResourceRequest.resourceArn()).isEqualTo(INDEX_ARN_1);
+        assertThat(invokedTagResourceRequest.tags()).isEqualTo(RESOURCE_TAGS);
+    }
+
+    // A tag-only update of an index that no longer exists learns it from TagResource.
+    @Test
+    public void handleRequest_TagsOnly_IndexGone_NotFound() {
+
+        doThrow(ResourceNotFoundException.builder().build())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+
+        final ResourceModel previousModel = ResourceModel.builder()
+                .arn(INDEX_ARN_1)
+                .type(AGGREGATOR)
+                .build();
+
+        final ResourceModel desiredModel = ResourceModel.builder()
+                .tags(RESOURCE_TAGS)
+                .arn(INDEX_ARN_1)
+                .type(AGGREGATOR)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(desiredModel)
+                .previousResourceState(previousModel)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        verify(proxy, times(0)).injectCredentialsAndInvokeV2(any(GetIndexRequest.class), any());
+    }
+
+    // A type change still reads the index first, even when tags change as well.
+    @Test
+    public void handleRequest_TypeChange_StillInvokesGetIndex() {
+
+        doReturn(GetIndexResponse.builder().arn(INDEX_ARN_1).type(LOCAL).state(CREATING).build())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(GetIndexRequest.class), any());
+
+        final ResourceModel previousModel = ResourceModel.builder()
+                .arn(INDEX_ARN_1)
+                .type(LOCAL)
+                .build();
+
+        final ResourceModel desiredModel = ResourceModel.builder()
+                .tags(RESOURCE_TAGS)
+                .arn(INDEX_ARN_1)
+                .type(AGGREGATOR)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(desiredModel)
+                .previousResourceState(previousModel)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(any(GetIndexRequest.class), any());
+        verify(proxy, times(0)).injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+    }
 }
@@ -7,4 +7,6 @@ import software.amazon.cloudformation.proxy.StdCallbackContext;
 @lombok.ToString
 @lombok.EqualsAndHashCode(callSuper = true)
 public class CallbackContext extends StdCallbackContext {
+    // Set by an UPDATE that ran out of time after UpdateView, so that the next invocation only updates the tags.
+    private boolean viewUpdated;
 }
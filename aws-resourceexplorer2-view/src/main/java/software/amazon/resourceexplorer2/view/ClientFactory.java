@@ -1,8 +1,7 @@
 package software.amazon.resourceexplorer2.view;
 
 import software.amazon.awssdk.services.resourceexplorer2.ResourceExplorer2Client;
-
-import com.amazonaws.util.StringUtils;
+import software.amazon.resourceexplorer2.common.CircuitBreaker;
 
 import software.amazon.awssdk.regions.Region;
 import java.net.URI;
@@ -15,19 +14,33 @@ public class ClientFactory {
 
     private static ResourceExplorer2Client client;
 
+    // Handlers ask for the client on their first service call, not when they are constructed:
+    // the HandlerWrapper constructs the handler of every action, and an invocation runs one.
     public static ResourceExplorer2Client getClient() {
 
         if(client == null) {
             client = ResourceExplorer2Client.builder()
                     .region(Region.of(getRegion()))
+                    .overrideConfiguration(o -> o.addExecutionInterceptor(getCircuitBreaker()))
                     .build();
         }
 
         return client;
     }
 
+    // Lets a host that serves several resource types from one function hand all of
+    // their handlers the same client, and so the same HTTP connection pool.
+    public static void setClient(final ResourceExplorer2Client sharedClient) {
+        client = sharedClient;
+    }
+
+    // One circuit breaker for every client of the process, whichever resource type built it.
+    public static CircuitBreaker getCircuitBreaker() {
+        return CircuitBreaker.shared();
+    }
+
     private static String getRegion() {
         final String envValue = System.getenv(AWS_REGION);
-        return StringUtils.isNullOrEmpty(envValue)? DEFAULT_AWS_REGION: envValue;
+        return envValue == null || envValue.isEmpty() ? DEFAULT_AWS_REGION : envValue;
     }
 }
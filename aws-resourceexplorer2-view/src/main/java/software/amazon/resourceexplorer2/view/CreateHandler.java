@@ -1,7 +1,5 @@
 package software.amazon.resourceexplorer2.view;
 
-import com.amazonaws.util.StringUtils;
-
 // CloudFormation package
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
@@ -17,31 +15,35 @@ import software.amazon.awssdk.services.resourceexplorer2.model.CreateViewRespons
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 
 public class CreateHandler extends REBaseHandler<CallbackContext> {
 
-    private final ResourceExplorer2Client client;
+    private final Supplier<ResourceExplorer2Client> client;
 
     public CreateHandler() {
-        client = ClientFactory.getClient();
+        client = ClientFactory::getClient;
     }
 
     @Override
-    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+    protected boolean changesResources() {
+        return true;
+    }
+
+    @Override
+    protected ProgressEvent<ResourceModel, CallbackContext> handleResourceRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
 
-        logRequestInfo(request, logger);
-
         final ResourceModel model = request.getDesiredResourceState();
 
         // A client cannot create ViewArn, so if there is input in the ViewArn field,
         // the request is invalid. We expect ViewArn of model to be null.
         String modelViewArn = model.getViewArn();
-        if (!StringUtils.isNullOrEmpty(modelViewArn)){
+        if (modelViewArn != null && !modelViewArn.isEmpty()){
             logger.log("[CREATE] ViewArn cannot be set by the caller.");
             return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.InvalidRequest,
                     "ViewArn cannot be set by the caller." );
@@ -51,10 +53,23 @@ public class CreateHandler extends REBaseHandler<CallbackContext> {
             return ProgressEvent.failed(model, null, HandlerErrorCode.InvalidRequest, TagTools.INVALID_SYSTEM_TAG);
         }
 
+        final String schemaError = SchemaConstraints.get().validate(model);
+        if (schemaError != null) {
+            logger.log("[CREATE] " + schemaError);
+            return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.InvalidRequest, schemaError);
+        }
+
+        // Reject filters that the service would refuse anyway, before calling it.
+        final String filterError = FilterStringParser.validate(model.getFilters());
+        if (filterError != null) {
+            logger.log("[CREATE] " + filterError);
+            return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.InvalidRequest, filterError);
+        }
+
         CreateViewRequest createViewRequest = translateToCreateViewRequest(model, logger, request);
         CreateViewResponse createViewResponse;
         try {
-            createViewResponse = proxy.injectCredentialsAndInvokeV2(createViewRequest, client::createView);
+            createViewResponse = invoke(proxy, createViewRequest, client.get()::createView);
         } catch (Exception e) {
             logger.log("[CREATE] Error at CreateView.");
             HandlerErrorCode thisErrorCode = Convertor.convertExceptionToErrorCode(e, logger);
@@ -12,24 +12,29 @@ import software.amazon.awssdk.services.resourceexplorer2.ResourceExplorer2Client
 import software.amazon.awssdk.services.resourceexplorer2.model.DeleteViewRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.GetViewRequest;
 
+import java.util.function.Supplier;
+
 
 public class DeleteHandler extends REBaseHandler<CallbackContext> {
 
-    private final ResourceExplorer2Client client;
+    private final Supplier<ResourceExplorer2Client> client;
 
     public DeleteHandler() {
-        client = ClientFactory.getClient();
+        client = ClientFactory::getClient;
     }
 
     @Override
-    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+    protected boolean changesResources() {
+        return true;
+    }
+
+    @Override
+    protected ProgressEvent<ResourceModel, CallbackContext> handleResourceRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
 
-        logRequestInfo(request, logger);
-
         final ResourceModel model = request.getDesiredResourceState();
         String errorMessage = "There are internal failures";
 
@@ -38,7 +43,7 @@ public class DeleteHandler extends REBaseHandler<CallbackContext> {
                 .viewArn(model.getViewArn())
                 .build();
         try {
-            proxy.injectCredentialsAndInvokeV2(getViewRequest, client::getView);
+            invoke(proxy, getViewRequest, client.get()::getView);
         } catch (RuntimeException e){
             HandlerErrorCode errorCode = Convertor.convertExceptionToErrorCode(e, logger);
             logger.log(String.format("[DELETE] Error Code: %s.", errorCode));
@@ -51,7 +56,7 @@ public class DeleteHandler extends REBaseHandler<CallbackContext> {
                 .viewArn(model.getViewArn())
                 .build();
         try {
-            proxy.injectCredentialsAndInvokeV2(deleteViewRequest, client::deleteView);
+            invoke(proxy, deleteViewRequest, client.get()::deleteView);
         } catch (Exception e) {
             HandlerErrorCode errorCode = Convertor.convertExceptionToErrorCode(e, logger);
             logger.log(String.format("[DELETE] Error Code: %s.", errorCode));
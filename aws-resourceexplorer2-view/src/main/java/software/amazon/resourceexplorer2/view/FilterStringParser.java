@@ -0,0 +1,241 @@
+package software.amazon.resourceexplorer2.view;
+
+import software.amazon.resourceexplorer2.common.HandlerPhaseEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Parses the Resource Explorer query syntax used by View filters, so that a malformed
+// FilterString fails the handler before any call instead of with a ValidationException.
+// A filter is a whitespace separated list of terms. A term is either a filter such as
+// "region:us-east-1", "service:s3", "resourcetype:ec2:instance" or "tag:key=value", or a free
+// text keyword. A leading '-' negates a term, and double quotes keep spaces inside one term.
+// Filter prefixes are case-insensitive.
+//
+// Only filters that are certainly invalid are rejected: unbalanced quotes, a '-' with nothing
+// after it, a known prefix with an empty value, and strings longer than the schema allows.
+// Anything else is left for the service to judge.
+public final class FilterStringParser {
+
+    public static final int MAX_FILTER_STRING_LENGTH = 2048;
+
+    static final String TAG_PREFIX = "tag";
+    static final Set<String> KNOWN_PREFIXES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "accountid", "id", "region", "resourcetype", "resourcetype.supports", "service", TAG_PREFIX)));
+
+    private static final char NEGATION = '-';
+    private static final char QUOTE = '"';
+    private static final char PREFIX_SEPARATOR = ':';
+    private static final char TAG_VALUE_SEPARATOR = '=';
+
+    // Parsed filters by filter string. Templates reuse a handful of filter strings, so a small
+    // least recently used cache is enough to make repeated validation a map lookup.
+    private static final int CACHE_SIZE = 256;
+    private static final Map<String, ParsedFilter> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<String, ParsedFilter>(CACHE_SIZE, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, ParsedFilter> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    private FilterStringParser() {
+    }
+
+    // Returns null when the filters are absent or valid, otherwise a message for InvalidRequest.
+    public static String validate(final SearchFilter filters) {
+        if (filters == null || filters.getFilterString() == null) {
+            return null;
+        }
+        final HandlerPhaseEvent phase = HandlerPhaseEvent.started(null, HandlerPhaseEvent.VALIDATION);
+        try {
+            return parse(filters.getFilterString()).getError();
+        } finally {
+            phase.commit();
+        }
+    }
+
+    public static ParsedFilter parse(final String filterString) {
+        final ParsedFilter cached = CACHE.get(filterString);
+        if (cached != null) {
+            return cached;
+        }
+        final ParsedFilter parsed = parseUncached(filterString);
+        CACHE.put(filterString, parsed);
+        return parsed;
+    }
+
+    // Canonical form of a filter string: its distinct terms with lower case prefixes, sorted, with
+    // quotes only around values that contain whitespace and around keywords that could be read as
+    // a filter or a negation. Filter strings that differ only in spacing, term order, prefix case or
+    // quoting have the same canonical form. Invalid filter strings are returned unchanged. The
+    // canonical form is only used for comparison and is never sent.
+    public static String canonicalize(final String filterString) {
+        if (filterString == null) {
+            return "";
+        }
+        final ParsedFilter parsed = parse(filterString);
+        return parsed.isValid() ? parsed.canonical() : filterString;
+    }
+
+    // Whether two filter strings select the same resources, treating null like an empty filter.
+    public static boolean equivalent(final String first, final String second) {
+        if (Objects.equals(first, second)) {
+            return true;
+        }
+        return canonicalize(first).equals(canonicalize(second));
+    }
+
+    static void clearCache() {
+        CACHE.clear();
+    }
+
+    static ParsedFilter parseUncached(final String filterString) {
+        if (filterString.length() > MAX_FILTER_STRING_LENGTH) {
+            return ParsedFilter.invalid(String.format("FilterString is %d characters long; the maximum is %d.",
+                    filterString.length(), MAX_FILTER_STRING_LENGTH));
+        }
+
+        final List<Term> terms = new ArrayList<>();
+        final int length = filterString.length();
+        int position = 0;
+        while (position < length) {
+            if (Character.isWhitespace(filterString.charAt(position))) {
+                position++;
+                continue;
+            }
+
+            // A term runs until the next whitespace outside of quotes.
+            final int start = position;
+            boolean inQuotes = false;
+            while (position < length && (inQuotes || !Character.isWhitespace(filterString.charAt(position)))) {
+                if (filterString.charAt(position) == QUOTE) {
+                    inQuotes = !inQuotes;
+                }
+                position++;
+            }
+            if (inQuotes) {
+                return ParsedFilter.invalid(String.format(
+                        "FilterString has an unbalanced quote in the term starting at position %d.", start));
+            }
+
+            final String error = parseTerm(filterString.substring(start, position), start, terms);
+            if (error != null) {
+                return ParsedFilter.invalid(error);
+            }
+        }
+        return ParsedFilter.valid(terms);
+    }
+
+    private static String parseTerm(final String rawTerm, final int start, final List<Term> terms) {
+        final boolean negated = rawTerm.charAt(0) == NEGATION;
+        final String body = negated ? rawTerm.substring(1) : rawTerm;
+        if (body.isEmpty()) {
+            return String.format("FilterString has a '-' with no term after it at position %d.", start);
+        }
+
+        final int separator = indexOfUnquoted(body, PREFIX_SEPARATOR);
+        final String prefix = separator < 0 ? null : body.substring(0, separator).toLowerCase(Locale.ROOT);
+        if (prefix == null || !KNOWN_PREFIXES.contains(prefix)) {
+            terms.add(new Term(negated, null, unquote(body)));
+            return null;
+        }
+
+        final String value = unquote(body.substring(separator + 1));
+        if (value.isEmpty()) {
+            return String.format("FilterString has no value for the filter '%s' at position %d.", rawTerm, start);
+        }
+        if (TAG_PREFIX.equals(prefix) && value.charAt(0) == TAG_VALUE_SEPARATOR) {
+            return String.format("FilterString has no tag key in the filter '%s' at position %d.", rawTerm, start);
+        }
+        terms.add(new Term(negated, prefix, value));
+        return null;
+    }
+
+    private static int indexOfUnquoted(final String text, final char target) {
+        boolean inQuotes = false;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c == QUOTE) {
+                inQuotes = !inQuotes;
+            } else if (c == target && !inQuotes) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String unquote(final String text) {
+        return text.indexOf(QUOTE) < 0 ? text : text.replace(String.valueOf(QUOTE), "");
+    }
+
+    // One term of a filter string. prefix is lower case, or null for a free text keyword;
+    // value has its quotes removed.
+    @lombok.Value
+    public static class Term {
+        boolean negated;
+        String prefix;
+        String value;
+
+        String canonical() {
+            final StringBuilder canonical = new StringBuilder();
+            if (negated) {
+                canonical.append(NEGATION);
+            }
+            if (prefix != null) {
+                canonical.append(prefix).append(PREFIX_SEPARATOR);
+            }
+            if (value.chars().anyMatch(Character::isWhitespace) || prefix == null && looksLikeSyntax(value)) {
+                canonical.append(QUOTE).append(value).append(QUOTE);
+            } else {
+                canonical.append(value);
+            }
+            return canonical.toString();
+        }
+
+        // A quoted keyword such as "service:s3" or "-foo" is free text, unlike the same text unquoted.
+        private static boolean looksLikeSyntax(final String keyword) {
+            return keyword.indexOf(PREFIX_SEPARATOR) >= 0
+                    || keyword.indexOf(NEGATION) >= 0
+                    || keyword.indexOf(TAG_VALUE_SEPARATOR) >= 0;
+        }
+    }
+
+    @lombok.Value
+    public static class ParsedFilter {
+        List<Term> terms;
+        // Null when the filter string is valid.
+        String error;
+
+        public boolean isValid() {
+            return error == null;
+        }
+
+        public String canonical() {
+            return terms.stream()
+                    .map(Term::canonical)
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.joining(" "));
+        }
+
+        static ParsedFilter valid(final List<Term> terms) {
+            return new ParsedFilter(Collections.unmodifiableList(terms), null);
+        }
+
+        static ParsedFilter invalid(final String error) {
+            return new ParsedFilter(Collections.emptyList(), error);
+        }
+    }
+}
@@ -16,25 +16,24 @@ import software.amazon.awssdk.services.resourceexplorer2.model.ListViewsResponse
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 
 public class ListHandler extends REBaseHandler<CallbackContext> {
 
-    private final ResourceExplorer2Client client;
+    private final Supplier<ResourceExplorer2Client> client;
 
     public ListHandler() {
-        client = ClientFactory.getClient();
+        client = ClientFactory::getClient;
     }
 
     @Override
-    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+    protected ProgressEvent<ResourceModel, CallbackContext> handleResourceRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
 
-        logRequestInfo(request, logger);
-
         final ResourceModel model = request.getDesiredResourceState();
         List<ResourceModel> models = new ArrayList<>();
 
@@ -46,7 +45,7 @@ public class ListHandler extends REBaseHandler<CallbackContext> {
                     .nextToken(thisNextToken)
                     .build();
             try {
-                listViewsResponse = proxy.injectCredentialsAndInvokeV2(listViewsRequest, client::listViews);
+                listViewsResponse = invoke(proxy, listViewsRequest, client.get()::listViews);
             } catch (RuntimeException e) {
                 HandlerErrorCode errorCode = Convertor.convertExceptionToErrorCode(e, logger);
                 logger.log(String.format("[LIST] Error Code: %s.", errorCode));
@@ -15,25 +15,24 @@ import software.amazon.awssdk.services.resourceexplorer2.model.GetViewResponse;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 
 public class ReadHandler extends REBaseHandler<CallbackContext> {
 
-    private final ResourceExplorer2Client client;
+    private final Supplier<ResourceExplorer2Client> client;
 
     public ReadHandler() {
-        client = ClientFactory.getClient();
+        client = ClientFactory::getClient;
     }
 
     @Override
-    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+    protected ProgressEvent<ResourceModel, CallbackContext> handleResourceRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
 
-        logRequestInfo(request, logger);
-
         final ResourceModel model = request.getDesiredResourceState();
 
         GetViewRequest getViewRequest = GetViewRequest.builder()
@@ -41,7 +40,7 @@ public class ReadHandler extends REBaseHandler<CallbackContext> {
                 .build();
         GetViewResponse getViewResponse;
         try {
-            getViewResponse = proxy.injectCredentialsAndInvokeV2(getViewRequest, client::getView);
+            getViewResponse = invokeRead(proxy, getViewRequest, client.get()::getView);
 
         } catch (RuntimeException e){
             HandlerErrorCode thisErrorCode = Convertor.convertExceptionToErrorCode(e, logger);
@@ -49,6 +48,15 @@ public class ReadHandler extends REBaseHandler<CallbackContext> {
         }
 
         ResourceModel resultModel = translateToResourceModel(getViewResponse);
+
+        // GetView may return the filter string in another spelling than the template, e.g. with
+        // the terms in another order. Keep the desired spelling when both select the same
+        // resources, so that CloudFormation does not report drift.
+        if (model.getFilters() != null && FilterStringParser.equivalent(
+                model.getFilters().getFilterString(), resultModel.getFilters().getFilterString())) {
+            resultModel.getFilters().setFilterString(model.getFilters().getFilterString());
+        }
+
         logger.log("[READ] View existed.");
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
                 .resourceModel(resultModel)
@@ -56,7 +64,8 @@ public class ReadHandler extends REBaseHandler<CallbackContext> {
                 .build();
     }
 
-    private ResourceModel translateToResourceModel (GetViewResponse getViewResponse){
+    // Also used by ViewInventoryExporter, so that exported views look exactly like a Read.
+    static ResourceModel translateToResourceModel (GetViewResponse getViewResponse){
         List<IncludedProperty> modelIncludedProperties = new ArrayList<>();
 
         if (getViewResponse.view().includedProperties() != null) {
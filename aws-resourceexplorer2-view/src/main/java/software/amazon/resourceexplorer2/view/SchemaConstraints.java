@@ -0,0 +1,72 @@
+package software.amazon.resourceexplorer2.view;
+
+import org.json.JSONObject;
+
+import software.amazon.resourceexplorer2.common.HandlerPhaseEvent;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+// The simple constraints of the View schema, read from it once per container with the pattern
+// compiled. Handlers check them before any call, so that a ViewName the service would refuse
+// fails at once. FilterString is left to FilterStringParser, which also checks its length.
+final class SchemaConstraints {
+
+    private final Pattern viewNamePattern;
+    private final int includedPropertyNameMinLength;
+    private final int includedPropertyNameMaxLength;
+
+    private SchemaConstraints(final Pattern viewNamePattern,
+                              final int includedPropertyNameMinLength,
+                              final int includedPropertyNameMaxLength) {
+        this.viewNamePattern = viewNamePattern;
+        this.includedPropertyNameMinLength = includedPropertyNameMinLength;
+        this.includedPropertyNameMaxLength = includedPropertyNameMaxLength;
+    }
+
+    static SchemaConstraints get() {
+        return Holder.CONSTRAINTS;
+    }
+
+    private static class Holder {
+        static final SchemaConstraints CONSTRAINTS = from(new Configuration().resourceSchemaJSONObject());
+    }
+
+    static SchemaConstraints from(final JSONObject schema) {
+        final JSONObject viewName = schema.getJSONObject("properties").getJSONObject("ViewName");
+        final JSONObject includedPropertyName = schema.getJSONObject("definitions")
+                .getJSONObject("IncludedProperty").getJSONObject("properties").getJSONObject("Name");
+        return new SchemaConstraints(
+                Pattern.compile(viewName.getString("pattern")),
+                includedPropertyName.optInt("minLength", 0),
+                includedPropertyName.optInt("maxLength", Integer.MAX_VALUE));
+    }
+
+    // Returns null when the model passes, otherwise a message for InvalidRequest.
+    String validate(final ResourceModel model) {
+        final HandlerPhaseEvent phase = HandlerPhaseEvent.started(null, HandlerPhaseEvent.VALIDATION);
+        try {
+            return violationOf(model);
+        } finally {
+            phase.commit();
+        }
+    }
+
+    private String violationOf(final ResourceModel model) {
+        if (model.getViewName() != null && !viewNamePattern.matcher(model.getViewName()).find()) {
+            return String.format("ViewName %s does not match %s.", model.getViewName(), viewNamePattern.pattern());
+        }
+        final List<IncludedProperty> includedProperties = model.getIncludedProperties();
+        if (includedProperties != null) {
+            for (IncludedProperty includedProperty : includedProperties) {
+                final String name = includedProperty.getName();
+                if (name == null || name.length() < includedPropertyNameMinLength
+                        || name.length() > includedPropertyNameMaxLength) {
+                    return String.format("IncludedProperties Name must be between %d and %d characters long.",
+                            includedPropertyNameMinLength, includedPropertyNameMaxLength);
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -10,6 +10,7 @@ import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 // Resource Explorer package
 import software.amazon.awssdk.services.resourceexplorer2.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.ListTagsForResourceResponse;
+import software.amazon.resourceexplorer2.common.HandlerPhaseEvent;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -22,6 +23,7 @@ public class TagTools {
     public static Map<String, String> combineAllTypesOfTags(
             ResourceModel resourceModel,
             ResourceHandlerRequest<ResourceModel> request, Logger logger) {
+        final HandlerPhaseEvent phase = HandlerPhaseEvent.started(null, HandlerPhaseEvent.TAGS);
         Map<String, String> tagMap = new HashMap<>();
 
         // DesiredResourceTags includes stack-level tags
@@ -34,6 +36,7 @@ public class TagTools {
             tagMap.putAll(resourceModel.getTags());
         }
 
+        phase.commit();
         return tagMap;
     }
 
@@ -11,50 +11,112 @@ import software.amazon.cloudformation.proxy.HandlerErrorCode;
 
 //Import Resource Explorer package
 import software.amazon.awssdk.services.resourceexplorer2.ResourceExplorer2Client;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetViewRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.UpdateViewRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.TagResourceRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.UntagResourceRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.View;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.HashMap;
 import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 
 public class UpdateHandler extends REBaseHandler<CallbackContext> {
 
-    private final ResourceExplorer2Client client;
+    private final Supplier<ResourceExplorer2Client> client;
 
     public UpdateHandler() {
-        client = ClientFactory.getClient();
+        client = ClientFactory::getClient;
     }
 
     @Override
-    public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+    protected boolean changesResources() {
+        return true;
+    }
+
+    @Override
+    protected ProgressEvent<ResourceModel, CallbackContext> handleResourceRequest(
             AmazonWebServicesClientProxy proxy,
             ResourceHandlerRequest<ResourceModel> request,
             CallbackContext callbackContext,
             Logger logger) {
 
-        logRequestInfo(request, logger);
-
         final ResourceModel desiredModel = request.getDesiredResourceState();
 
         if (TagTools.containsSystemTags(desiredModel)) {
             return ProgressEvent.failed(desiredModel, null, HandlerErrorCode.InvalidRequest, TagTools.INVALID_SYSTEM_TAG);
         }
 
-        UpdateViewRequest updateViewRequest = translateToUpdateViewRequest(desiredModel);
+        final String schemaError = SchemaConstraints.get().validate(desiredModel);
+        if (schemaError != null) {
+            logger.log("[UPDATE handler] " + schemaError);
+            return ProgressEvent.failed(desiredModel, callbackContext, HandlerErrorCode.InvalidRequest, schemaError);
+        }
+
+        // Reject filters that the service would refuse anyway, before calling it.
+        final String filterError = FilterStringParser.validate(desiredModel.getFilters());
+        if (filterError != null) {
+            logger.log("[UPDATE handler] " + filterError);
+            return ProgressEvent.failed(desiredModel, callbackContext, HandlerErrorCode.InvalidRequest, filterError);
+        }
+
+        // A change that only touches tags, or respells the filter string without changing what it
+        // selects, leaves the view itself as it is. The view is compared as GetView returns it, not
+        // with the previous template, so that a view changed outside of CloudFormation is corrected.
+        if (callbackContext != null && callbackContext.isViewUpdated()) {
+            logger.log("[UPDATE handler] UpdateView already ran in an earlier invocation.");
+            return updateTagsAndFinish(proxy, request, callbackContext, logger);
+        }
+
+        final View currentView;
         try {
-           proxy.injectCredentialsAndInvokeV2(updateViewRequest, client::updateView);
-        }catch (RuntimeException e){
+            GetViewRequest getViewRequest = GetViewRequest.builder()
+                    .viewArn(desiredModel.getViewArn())
+                    .build();
+            currentView = invokeRead(proxy, getViewRequest, client.get()::getView).view();
+        } catch (RuntimeException e) {
             HandlerErrorCode thisErrorCode = Convertor.convertExceptionToErrorCode(e, logger);
-            logger.log(String.format("[UPDATE handler] Error code: %s.", thisErrorCode));
-            return ProgressEvent.failed(desiredModel, callbackContext, thisErrorCode, e.getMessage());
+            logger.log(String.format("[UPDATE handler] GetView error code: %s.", thisErrorCode));
+            return ProgressEvent.failed(desiredModel, callbackContext, thisErrorCode, "Could not get the view: " + e.getMessage());
         }
 
+        if (viewSettingsChanged(currentView, desiredModel)) {
+            UpdateViewRequest updateViewRequest = translateToUpdateViewRequest(desiredModel);
+            try {
+               invoke(proxy, updateViewRequest, client.get()::updateView);
+            }catch (RuntimeException e){
+                HandlerErrorCode thisErrorCode = Convertor.convertExceptionToErrorCode(e, logger);
+                logger.log(String.format("[UPDATE handler] Error code: %s.", thisErrorCode));
+                return ProgressEvent.failed(desiredModel, callbackContext, thisErrorCode, e.getMessage());
+            }
+
+            if (!hasTimeForAnotherStep()) {
+                logger.log("[UPDATE handler] Too little time left to update the tags, continuing later.");
+                final CallbackContext nextCallbackContext = callbackContext != null ? callbackContext : new CallbackContext();
+                nextCallbackContext.setViewUpdated(true);
+                return ProgressEvent.defaultInProgressHandler(nextCallbackContext, 0, desiredModel);
+            }
+        } else {
+            logger.log("[UPDATE handler] Filters and included properties already match, skipping UpdateView.");
+        }
+
+        return updateTagsAndFinish(proxy, request, callbackContext, logger);
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> updateTagsAndFinish(
+            AmazonWebServicesClientProxy proxy,
+            ResourceHandlerRequest<ResourceModel> request,
+            CallbackContext callbackContext,
+            Logger logger) {
+
+        final ResourceModel desiredModel = request.getDesiredResourceState();
+
         // Update tags for this view.
         try {
             updateTags(proxy, request, logger);
@@ -107,7 +169,7 @@ public class UpdateHandler extends REBaseHandler<CallbackContext> {
                     .resourceArn(desiredModel.getViewArn())
                     .tagKeys(tagsToUntag)
                     .build();
-            proxy.injectCredentialsAndInvokeV2(untagResourceRequest, client::untagResource);
+            invoke(proxy, untagResourceRequest, client.get()::untagResource);
             logger.log(String.format("[UPDATE handler]  UntagResource removed some tags for %s.",
                     desiredModel.getViewArn()));
         }
@@ -118,13 +180,33 @@ public class UpdateHandler extends REBaseHandler<CallbackContext> {
                     .resourceArn(desiredModel.getViewArn())
                     .tags(tagsToAddOrModify)
                     .build();
-            proxy.injectCredentialsAndInvokeV2(tagResourceRequest, client::tagResource);
+            invoke(proxy, tagResourceRequest, client.get()::tagResource);
             logger.log(String.format("[UPDATE handler]  TagResource updated tags for %s.",
                     desiredModel.getViewArn()));
         }
 
     }
 
+    private static boolean viewSettingsChanged(final View currentView, final ResourceModel desiredModel) {
+        final String currentFilterString = currentView.filters() == null ? null : currentView.filters().filterString();
+        final String desiredFilterString = desiredModel.getFilters() == null ? null : desiredModel.getFilters().getFilterString();
+        if (!FilterStringParser.equivalent(currentFilterString, desiredFilterString)) {
+            return true;
+        }
+
+        final Set<String> currentNames = currentView.includedProperties() == null
+                ? Collections.emptySet()
+                : currentView.includedProperties().stream()
+                        .map(software.amazon.awssdk.services.resourceexplorer2.model.IncludedProperty::name)
+                        .collect(Collectors.toSet());
+        final Set<String> desiredNames = desiredModel.getIncludedProperties() == null
+                ? Collections.emptySet()
+                : desiredModel.getIncludedProperties().stream()
+                        .map(IncludedProperty::getName)
+                        .collect(Collectors.toSet());
+        return !currentNames.equals(desiredNames);
+    }
+
     private UpdateViewRequest translateToUpdateViewRequest (ResourceModel model){
 
         List<software.amazon.awssdk.services.resourceexplorer2.model.IncludedProperty>
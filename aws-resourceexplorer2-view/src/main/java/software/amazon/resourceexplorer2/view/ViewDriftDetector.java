@@ -0,0 +1,102 @@
+package software.amazon.resourceexplorer2.view;
+
+// CloudFormation package
+import software.amazon.cloudformation.proxy.Logger;
+
+import software.amazon.resourceexplorer2.common.InventorySnapshot;
+import software.amazon.resourceexplorer2.common.InventorySnapshot.DriftKind;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Compares the views of the account against the snapshot of the previous run and reports only
+// what changed: views that were added, changed or removed. Views are read page by page like
+// ViewInventoryExporter does, in the shape of a Read, so a change is reported exactly when
+// CloudFormation would read a different model. The snapshot is then replaced by the current state.
+public class ViewDriftDetector {
+
+    // Properties and tags in a fixed order, so that equal models always hash the same.
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    @lombok.Value
+    public static class Drift {
+        DriftKind kind;
+        String viewArn;
+        // The current view; null when it was removed.
+        ResourceModel model;
+    }
+
+    @lombok.Value
+    public static class DriftReport {
+        long unchanged;
+        long added;
+        long changed;
+        long removed;
+        // Views that could not be read; they keep their previous state in the snapshot.
+        long unreadable;
+    }
+
+    private final ViewInventoryExporter reader;
+    private final Logger logger;
+
+    public ViewDriftDetector(final Logger logger) {
+        this(new ViewInventoryExporter(logger), logger);
+    }
+
+    public ViewDriftDetector(final ViewInventoryExporter reader, final Logger logger) {
+        this.reader = reader;
+        this.logger = logger;
+    }
+
+    public DriftReport detect(final Path snapshotFile, final Consumer<Drift> listener) throws IOException, InterruptedException {
+        final InventorySnapshot.Comparison comparison = InventorySnapshot.open(snapshotFile).compare();
+        final AtomicLong unchanged = new AtomicLong();
+        final AtomicLong added = new AtomicLong();
+        final AtomicLong changed = new AtomicLong();
+        final AtomicLong removed = new AtomicLong();
+        final AtomicLong unreadable = new AtomicLong();
+
+        reader.forEachPage(null, (views, unreadableArns, nextToken) -> {
+            for (final ResourceModel model : views) {
+                final DriftKind kind = comparison.record(model.getViewArn(), contentHash(model));
+                if (kind == null) {
+                    unchanged.incrementAndGet();
+                    continue;
+                }
+                (kind == DriftKind.ADDED ? added : changed).incrementAndGet();
+                listener.accept(new Drift(kind, model.getViewArn(), model));
+            }
+            unreadableArns.forEach(comparison::keep);
+            unreadable.addAndGet(unreadableArns.size());
+        });
+
+        comparison.forEachRemoved(viewArn -> {
+            removed.incrementAndGet();
+            listener.accept(new Drift(DriftKind.REMOVED, viewArn, null));
+        });
+        comparison.writeTo(snapshotFile);
+
+        final DriftReport report = new DriftReport(
+                unchanged.get(), added.get(), changed.get(), removed.get(), unreadable.get());
+        logger.log(String.format("[DRIFT] %s", report));
+        return report;
+    }
+
+    static long contentHash(final ResourceModel model) {
+        try {
+            return InventorySnapshot.contentHash(MAPPER.writeValueAsBytes(model));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
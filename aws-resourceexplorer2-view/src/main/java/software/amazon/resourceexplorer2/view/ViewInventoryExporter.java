@@ -0,0 +1,270 @@
+package software.amazon.resourceexplorer2.view;
+
+// CloudFormation package
+import software.amazon.cloudformation.proxy.Logger;
+
+// Resource Explorer package
+import software.amazon.awssdk.services.resourceexplorer2.ResourceExplorer2Client;
+import software.amazon.awssdk.services.resourceexplorer2.model.BatchGetViewError;
+import software.amazon.awssdk.services.resourceexplorer2.model.BatchGetViewRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.BatchGetViewResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetViewResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.ListViewsRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.ListViewsResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.View;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Exports every view of the account and region as newline-delimited JSON, one ResourceModel
+// per line in the same shape a Read returns. ListViews is paged, each page is hydrated with
+// BatchGetView and ListTagsForResource in parallel, and the page is appended to the output
+// before the next one is listed, so memory stays bounded by one page however many views exist.
+//
+// After each page the exporter writes a checkpoint next to the output with the nextToken and
+// the output length. An interrupted export resumes from there: the output is cut back to the
+// checkpointed length and listing continues from the token, so no view is written twice.
+// The checkpoint is removed once the export completes.
+public class ViewInventoryExporter {
+
+    static final int DEFAULT_PARALLELISM = 8;
+    // The largest page ListViews returns.
+    static final int LIST_PAGE_SIZE = 50;
+    // The most ARNs BatchGetView accepts per call.
+    static final int BATCH_GET_VIEW_LIMIT = 20;
+
+    static final String CHECKPOINT_SUFFIX = ".checkpoint";
+    private static final String NEXT_TOKEN = "nextToken";
+    private static final String OUTPUT_BYTES = "outputBytes";
+
+    @lombok.Value
+    public static class ExportSummary {
+        // Views written by this run; a resumed run does not count the views written before.
+        long views;
+        // Views that could not be read, e.g. because they were deleted while the export ran.
+        long failures;
+        int pages;
+        boolean resumed;
+    }
+
+    private final ResourceExplorer2Client client;
+    private final Logger logger;
+    private final int parallelism;
+
+    public ViewInventoryExporter(final Logger logger) {
+        this(ClientFactory.getClient(), logger, DEFAULT_PARALLELISM);
+    }
+
+    public ViewInventoryExporter(final ResourceExplorer2Client client, final Logger logger, final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.client = client;
+        this.logger = logger;
+        this.parallelism = parallelism;
+    }
+
+    public ExportSummary export(final Path output) throws IOException, InterruptedException {
+        final Path checkpointFile = checkpointFor(output);
+        final Properties checkpoint = readCheckpoint(checkpointFile);
+        final boolean resumed = checkpoint != null;
+        final String startToken = resumed ? checkpoint.getProperty(NEXT_TOKEN) : null;
+        final long outputBytes = resumed ? Long.parseLong(checkpoint.getProperty(OUTPUT_BYTES)) : 0L;
+        if (resumed) {
+            logger.log(String.format("[EXPORT] Resuming %s at byte %d.", output, outputBytes));
+        }
+
+        final AtomicLong views = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+        final AtomicInteger pages = new AtomicInteger();
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Drops a page that was written after the last checkpoint, or a previous complete export.
+            channel.truncate(outputBytes);
+            channel.position(outputBytes);
+
+            forEachPage(startToken, (pageViews, unreadableArns, nextToken) -> {
+                final ByteArrayOutputStream lines = new ByteArrayOutputStream();
+                writeLines(lines, pageViews);
+                channel.write(ByteBuffer.wrap(lines.toByteArray()));
+                channel.force(false);
+                views.addAndGet(pageViews.size());
+                failures.addAndGet(unreadableArns.size());
+                pages.incrementAndGet();
+
+                if (nextToken != null) {
+                    writeCheckpoint(checkpointFile, nextToken, channel.position());
+                }
+            });
+        }
+
+        Files.deleteIfExists(checkpointFile);
+        logger.log(String.format("[EXPORT] Wrote %d views in %d pages to %s, %d failed.",
+                views.get(), pages.get(), output, failures.get()));
+        return new ExportSummary(views.get(), failures.get(), pages.get(), resumed);
+    }
+
+    static Path checkpointFor(final Path output) {
+        return output.resolveSibling(output.getFileName() + CHECKPOINT_SUFFIX);
+    }
+
+    interface PageConsumer {
+        // nextToken is null for the last page.
+        void accept(List<ResourceModel> views, List<String> unreadableArns, String nextToken) throws IOException;
+    }
+
+    // Lists the views from startToken on, one ListViews page at a time, and hands each page to
+    // consumer as Read models. Also used by ViewDriftDetector.
+    void forEachPage(final String startToken, final PageConsumer consumer) throws IOException, InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            String nextToken = startToken;
+            do {
+                final ListViewsResponse listViewsResponse = client.listViews(ListViewsRequest.builder()
+                        .maxResults(LIST_PAGE_SIZE)
+                        .nextToken(nextToken)
+                        .build());
+
+                final List<String> unreadableArns = Collections.synchronizedList(new ArrayList<>());
+                final List<ResourceModel> pageViews = readPage(executor, listViewsResponse.views(), unreadableArns);
+                nextToken = listViewsResponse.nextToken();
+                consumer.accept(pageViews, unreadableArns, nextToken);
+            } while (nextToken != null);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Reads the views of one ListViews page. ARNs of views that could not be read go to unreadableArns.
+    private List<ResourceModel> readPage(
+            final ExecutorService executor,
+            final List<String> viewArns,
+            final List<String> unreadableArns) throws InterruptedException {
+
+        final List<Callable<List<View>>> batches = new ArrayList<>();
+        for (int from = 0; from < viewArns.size(); from += BATCH_GET_VIEW_LIMIT) {
+            final List<String> batch = viewArns.subList(from, Math.min(from + BATCH_GET_VIEW_LIMIT, viewArns.size()));
+            batches.add(() -> batchGetViews(batch, unreadableArns));
+        }
+        final List<View> pageViews = new ArrayList<>();
+        for (final List<View> batchViews : getAll(executor.invokeAll(batches))) {
+            pageViews.addAll(batchViews);
+        }
+
+        final List<Callable<Map<String, String>>> tagLookups = new ArrayList<>();
+        for (final View view : pageViews) {
+            tagLookups.add(() -> listTags(view.viewArn(), unreadableArns));
+        }
+        final List<Map<String, String>> pageTags = getAll(executor.invokeAll(tagLookups));
+
+        final List<ResourceModel> models = new ArrayList<>(pageViews.size());
+        for (int i = 0; i < pageViews.size(); i++) {
+            // A view whose tags could not be read is left out rather than exported without them.
+            if (pageTags.get(i) == null) {
+                continue;
+            }
+            models.add(ReadHandler.translateToResourceModel(GetViewResponse.builder()
+                    .view(pageViews.get(i))
+                    .tags(pageTags.get(i))
+                    .build()));
+        }
+        return models;
+    }
+
+    private List<View> batchGetViews(final List<String> viewArns, final List<String> unreadableArns) {
+        final BatchGetViewResponse response = client.batchGetView(BatchGetViewRequest.builder()
+                .viewArns(viewArns)
+                .build());
+        for (final BatchGetViewError error : response.errors()) {
+            unreadableArns.add(error.viewArn());
+            logger.log(String.format("[EXPORT] Could not get view %s: %s", error.viewArn(), error.errorMessage()));
+        }
+        return response.views();
+    }
+
+    // Returns null when the tags could not be read.
+    private Map<String, String> listTags(final String viewArn, final List<String> unreadableArns) {
+        try {
+            return client.listTagsForResource(ListTagsForResourceRequest.builder()
+                    .resourceArn(viewArn)
+                    .build()).tags();
+        } catch (RuntimeException e) {
+            unreadableArns.add(viewArn);
+            logger.log(String.format("[EXPORT] Could not list the tags of view %s: %s", viewArn, e.getMessage()));
+            return null;
+        }
+    }
+
+    private static <T> List<T> getAll(final List<Future<T>> futures) throws InterruptedException {
+        final List<T> results = new ArrayList<>(futures.size());
+        for (final Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                // A failed BatchGetView call stops the export; the checkpoint lets it resume.
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return results;
+    }
+
+    // One generator per page, writing the JSON ObjectMapper would, see ResourceModelCodec.
+    private static void writeLines(final ByteArrayOutputStream lines, final List<ResourceModel> models) throws IOException {
+        try (JsonGenerator generator = ResourceModelCodec.createGenerator(lines)) {
+            for (final ResourceModel model : models) {
+                ResourceModelCodec.write(generator, model);
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private static Properties readCheckpoint(final Path checkpointFile) throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return null;
+        }
+        final Properties checkpoint = new Properties();
+        try (InputStream in = Files.newInputStream(checkpointFile)) {
+            checkpoint.load(in);
+        }
+        return checkpoint;
+    }
+
+    // Written to a temporary file and moved into place, so a crash never leaves half a checkpoint.
+    private static void writeCheckpoint(final Path checkpointFile, final String nextToken, final long outputBytes) throws IOException {
+        final Properties checkpoint = new Properties();
+        checkpoint.setProperty(NEXT_TOKEN, nextToken);
+        checkpoint.setProperty(OUTPUT_BYTES, Long.toString(outputBytes));
+
+        final Path temporary = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temporary)) {
+            checkpoint.store(out, null);
+        }
+        Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -38,6 +38,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -252,6 +253,28 @@ public class CreateHandlerTest {
         assertThat(response.getResourceModel()).isNotNull();
     }
 
+    // This test verifies that a malformed filter fails the creation before any Resource Explorer call.
+    @Test
+    public void handleRequest_InvalidFilterString_NoServiceCall(){
+
+        final ResourceModel model = ResourceModel.builder()
+                .viewName(VIEW_NAME)
+                .includedProperties(MODEL_INCLUDED_PROPERTY_LIST)
+                .filters(SearchFilter.builder().filterString("Service:s3 tag:\"Team=Blue").build())
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, null, logger);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(response.getMessage()).contains("quote");
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(), any());
+    }
+
     @Test
     public void handleRequest_ThrowInternalServerException(){
 
@@ -0,0 +1,103 @@
+package software.amazon.resourceexplorer2.view;
+
+// Resource Explorer package
+import software.amazon.awssdk.services.resourceexplorer2.ResourceExplorer2Client;
+import software.amazon.awssdk.services.resourceexplorer2.model.BatchGetViewError;
+import software.amazon.awssdk.services.resourceexplorer2.model.BatchGetViewRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.BatchGetViewResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.InternalServerException;
+import software.amazon.awssdk.services.resourceexplorer2.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.ListViewsRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.ListViewsResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.View;
+
+import static software.amazon.resourceexplorer2.view.TestConstants.CLIENT_INCLUDED_PROPERTY_LIST;
+import static software.amazon.resourceexplorer2.view.TestConstants.CLIENT_SEARCH_FILTER;
+import static software.amazon.resourceexplorer2.view.TestConstants.RESOURCE_TAGS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory views for the exporter and the drift detector: count views named view-0, view-1, ...
+// served in pages of the requested size. Individual views can be deleted, made unreadable, or
+// given other tags between runs.
+class FakeViews implements ResourceExplorer2Client {
+
+    volatile int count;
+    final Set<String> deletedViews = ConcurrentHashMap.newKeySet();
+    final Set<String> missingViews = ConcurrentHashMap.newKeySet();
+    final Set<String> untaggableViews = ConcurrentHashMap.newKeySet();
+    final Map<String, Map<String, String>> tags = new ConcurrentHashMap<>();
+    volatile int failListViewsAtPage = -1;
+    volatile int largestBatch;
+
+    FakeViews(final int count) {
+        this.count = count;
+    }
+
+    static String arn(final int index) {
+        return String.format("arn:aws:resource-explorer-2:us-west-2:123456789012:view/view-%d/%08d", index, index);
+    }
+
+    @Override
+    public ListViewsResponse listViews(final ListViewsRequest request) {
+        final int from = request.nextToken() == null ? 0 : Integer.parseInt(request.nextToken());
+        if (from / request.maxResults() + 1 == failListViewsAtPage) {
+            throw InternalServerException.builder().message("Injected failure").build();
+        }
+        final int to = Math.min(from + request.maxResults(), count);
+        final List<String> arns = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            if (!deletedViews.contains(arn(i))) {
+                arns.add(arn(i));
+            }
+        }
+        return ListViewsResponse.builder()
+                .views(arns)
+                .nextToken(to < count ? Integer.toString(to) : null)
+                .build();
+    }
+
+    @Override
+    public synchronized BatchGetViewResponse batchGetView(final BatchGetViewRequest request) {
+        largestBatch = Math.max(largestBatch, request.viewArns().size());
+        final List<View> views = new ArrayList<>();
+        final List<BatchGetViewError> errors = new ArrayList<>();
+        for (final String viewArn : request.viewArns()) {
+            if (missingViews.contains(viewArn)) {
+                errors.add(BatchGetViewError.builder().viewArn(viewArn).errorMessage("View not found").build());
+                continue;
+            }
+            views.add(View.builder()
+                    .viewArn(viewArn)
+                    .filters(CLIENT_SEARCH_FILTER)
+                    .includedProperties(CLIENT_INCLUDED_PROPERTY_LIST)
+                    .scope("arn:aws:iam::123456789012:root")
+                    .build());
+        }
+        return BatchGetViewResponse.builder().views(views).errors(errors).build();
+    }
+
+    @Override
+    public ListTagsForResourceResponse listTagsForResource(final ListTagsForResourceRequest request) {
+        if (untaggableViews.contains(request.resourceArn())) {
+            throw InternalServerException.builder().message("Injected failure").build();
+        }
+        return ListTagsForResourceResponse.builder()
+                .tags(tags.getOrDefault(request.resourceArn(), RESOURCE_TAGS))
+                .build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+}
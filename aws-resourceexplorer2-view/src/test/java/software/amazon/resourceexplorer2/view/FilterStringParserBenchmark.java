@@ -0,0 +1,55 @@
+package software.amazon.resourceexplorer2.view;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Times FilterStringParser on filter strings like those of View templates: a parse of a string
+// never seen before, and the cache lookup that answers one seen before. Not a unit test, so it does
+// not run with surefire:
+//
+//     mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+//     java -cp target/test-classes:target/classes:$(cat target/classpath.txt) \
+//         software.amazon.resourceexplorer2.view.FilterStringParserBenchmark 200000
+public final class FilterStringParserBenchmark {
+
+    private static final List<String> FILTER_STRINGS = Arrays.asList(
+            "service:s3",
+            "Service:s3 Region:us-west-2",
+            "resourcetype:ec2:instance region:us-west-2 -tag:Environment=test",
+            "-resourcetype:ec2:instance tag:\"cost center\"=\"team a\" tag:none  \"free text\" -region:us-east-1",
+            "accountid:123456789012 resourcetype.supports:tags owner:alice");
+
+    private FilterStringParserBenchmark() {
+    }
+
+    public static void main(final String[] args) {
+        final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        // Warm up both paths so that the JIT has compiled them before they are timed.
+        run(iterations, false);
+        run(iterations, true);
+
+        final double uncached = run(iterations, false);
+        final double cached = run(iterations, true);
+        System.out.printf("uncached: %.3f us per parse%n", uncached);
+        System.out.printf("cached: %.3f us per parse%n", cached);
+    }
+
+    // Returns the microseconds per parse.
+    private static double run(final int iterations, final boolean cached) {
+        FilterStringParser.clearCache();
+        int terms = 0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            final String filterString = FILTER_STRINGS.get(i % FILTER_STRINGS.size());
+            terms += (cached ? FilterStringParser.parse(filterString) : FilterStringParser.parseUncached(filterString))
+                    .getTerms().size();
+        }
+        final long elapsed = System.nanoTime() - start;
+        // Uses the result, so that the parses cannot be left out.
+        if (terms == 0) {
+            throw new IllegalStateException("No terms parsed.");
+        }
+        return elapsed / 1e3 / iterations;
+    }
+}
@@ -0,0 +1,122 @@
+package software.amazon.resourceexplorer2.view;
+
+import software.amazon.resourceexplorer2.view.FilterStringParser.ParsedFilter;
+import software.amazon.resourceexplorer2.view.FilterStringParser.Term;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class FilterStringParserTest {
+
+    @BeforeEach
+    public void setup() {
+        FilterStringParser.clearCache();
+    }
+
+    @Test
+    public void parse_PrefixesAreCaseInsensitive() {
+        final ParsedFilter parsed = FilterStringParser.parse("Service:s3 Region:us-west-2");
+
+        assertThat(parsed.isValid()).isTrue();
+        assertThat(parsed.getTerms()).containsExactly(
+                new Term(false, "service", "s3"),
+                new Term(false, "region", "us-west-2"));
+    }
+
+    @Test
+    public void parse_NegationQuotesAndTags() {
+        final ParsedFilter parsed = FilterStringParser.parse(
+                "-resourcetype:ec2:instance tag:\"cost center\"=\"team a\" tag:none  \"free text\" -region:us-east-1");
+
+        assertThat(parsed.isValid()).isTrue();
+        assertThat(parsed.getTerms()).containsExactly(
+                new Term(true, "resourcetype", "ec2:instance"),
+                new Term(false, "tag", "cost center=team a"),
+                new Term(false, "tag", "none"),
+                new Term(false, null, "free text"),
+                new Term(true, "region", "us-east-1"));
+    }
+
+    @Test
+    public void parse_UnknownPrefixIsFreeText() {
+        final ParsedFilter parsed = FilterStringParser.parse("owner:alice resourcetype.supports:tags");
+
+        assertThat(parsed.isValid()).isTrue();
+        assertThat(parsed.getTerms()).containsExactly(
+                new Term(false, null, "owner:alice"),
+                new Term(false, "resourcetype.supports", "tags"));
+    }
+
+    @Test
+    public void parse_EmptyFilterString() {
+        assertThat(FilterStringParser.parse("").isValid()).isTrue();
+        assertThat(FilterStringParser.parse("   ").getTerms()).isEmpty();
+        assertThat(FilterStringParser.validate(null)).isNull();
+    }
+
+    @Test
+    public void parse_RejectsInvalidFilters() {
+        for (final String invalid : Arrays.asList(
+                "service:s3 tag:\"Team=Blue",
+                "service:s3 -",
+                "- service:s3",
+                "region:",
+                "Service:s3 REGION:\"\"",
+                "tag:=blue")) {
+            assertThat(FilterStringParser.parse(invalid).isValid()).as(invalid).isFalse();
+            assertThat(FilterStringParser.parse(invalid).getError()).as(invalid).startsWith("FilterString");
+        }
+    }
+
+    @Test
+    public void parse_RejectsTooLongFilter() {
+        final String tooLong = "service:" + String.join("", Collections.nCopies(FilterStringParser.MAX_FILTER_STRING_LENGTH, "a"));
+
+        assertThat(FilterStringParser.parse(tooLong).getError()).contains("maximum is 2048");
+    }
+
+    @Test
+    public void canonicalize_IgnoresOrderSpacingCaseAndQuotes() {
+        final String canonical = FilterStringParser.canonicalize("Service:s3 Region:us-west-2 tag:\"Team\"=Blue");
+
+        assertThat(canonical).isEqualTo("region:us-west-2 service:s3 tag:Team=Blue");
+        assertThat(FilterStringParser.canonicalize("  tag:Team=Blue   REGION:us-west-2 service:s3 service:s3"))
+                .isEqualTo(canonical);
+        assertThat(FilterStringParser.canonicalize("tag:\"cost center\"=a -\"free text\""))
+                .isEqualTo("-\"free text\" tag:\"cost center=a\"");
+    }
+
+    @Test
+    public void equivalent_ComparesWhatTheFilterSelects() {
+        assertThat(FilterStringParser.equivalent("Service:s3 Region:us-west-2", "region:us-west-2  service:s3")).isTrue();
+        assertThat(FilterStringParser.equivalent(null, "")).isTrue();
+        assertThat(FilterStringParser.equivalent(null, "   ")).isTrue();
+        assertThat(FilterStringParser.equivalent("service:s3", "-service:s3")).isFalse();
+        assertThat(FilterStringParser.equivalent("service:s3", "service:S3")).isFalse();
+        assertThat(FilterStringParser.equivalent("service:s3 region:us-west-2", "service:s3 region:us-east-1")).isFalse();
+        // A quoted keyword is free text, not the filter or negation it spells.
+        assertThat(FilterStringParser.equivalent("\"service:s3\"", "service:s3")).isFalse();
+        assertThat(FilterStringParser.equivalent("\"-foo\"", "-foo")).isFalse();
+        assertThat(FilterStringParser.equivalent("\"owner:alice\"", "owner:alice")).isTrue();
+        // Invalid filters are only equivalent when they are the same string.
+        assertThat(FilterStringParser.equivalent("region:", "region:")).isTrue();
+        assertThat(FilterStringParser.equivalent("region:", "REGION:")).isFalse();
+    }
+
+    // Validation runs on every Create and Update; a filter string seen before is answered from the cache.
+    @Test
+    public void parse_SameFilterString_ReturnsCachedResult() {
+        final String filterString = "resourcetype:ec2:instance region:us-west-2 -tag:Environment=test";
+
+        final ParsedFilter first = FilterStringParser.parse(filterString);
+
+        assertThat(FilterStringParser.parse(new String(filterString))).isSameAs(first);
+        FilterStringParser.clearCache();
+        assertThat(FilterStringParser.parse(filterString)).isNotSameAs(first);
+    }
+}
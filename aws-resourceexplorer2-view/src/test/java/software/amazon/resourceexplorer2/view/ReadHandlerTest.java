@@ -12,6 +12,7 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.awssdk.services.resourceexplorer2.model.GetViewRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.GetViewResponse;
 import software.amazon.awssdk.services.resourceexplorer2.model.View;
+import software.amazon.awssdk.services.resourceexplorer2.model.SearchFilter;
 import software.amazon.awssdk.services.resourceexplorer2.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.resourceexplorer2.model.AccessDeniedException;
 import software.amazon.awssdk.services.resourceexplorer2.model.UnauthorizedException;
@@ -110,6 +111,68 @@ public class ReadHandlerTest {
         assertThat(response.getResourceModel()).isEqualTo(model);
 
     }
+    // This test verifies that Read keeps the template's spelling of an equivalent filter string.
+    @Test
+    public void handleRequest_EquivalentFilterString_KeepsDesiredSpelling() {
+
+        GetViewResponse getViewResponse = GetViewResponse.builder()
+                .view( View.builder()
+                        .viewArn(EXAMPLE_ARN)
+                        .filters(SearchFilter.builder().filterString("region:us-west-2 service:s3").build())
+                        .scope(ORG_STRING)
+                        .build())
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(any(GetViewRequest.class), any()))
+                .thenReturn(getViewResponse);
+
+        final ResourceModel model = ResourceModel.builder()
+                .viewArn(EXAMPLE_ARN)
+                .filters(new software.amazon.resourceexplorer2.view.SearchFilter("Service:s3  Region:us-west-2"))
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getFilters().getFilterString()).isEqualTo("Service:s3  Region:us-west-2");
+    }
+
+    // This test verifies that Read reports a filter string that selects other resources as it is.
+    @Test
+    public void handleRequest_DifferentFilterString_ReportsActualFilter() {
+
+        GetViewResponse getViewResponse = GetViewResponse.builder()
+                .view( View.builder()
+                        .viewArn(EXAMPLE_ARN)
+                        .filters(SearchFilter.builder().filterString("region:us-east-1 service:s3").build())
+                        .scope(ORG_STRING)
+                        .build())
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(any(GetViewRequest.class), any()))
+                .thenReturn(getViewResponse);
+
+        final ResourceModel model = ResourceModel.builder()
+                .viewArn(EXAMPLE_ARN)
+                .filters(new software.amazon.resourceexplorer2.view.SearchFilter("Service:s3 Region:us-west-2"))
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getFilters().getFilterString()).isEqualTo("region:us-east-1 service:s3");
+    }
+
     @Test
     public void handleRequest_throwResourceNotFoundException() {
 
@@ -0,0 +1,103 @@
+package software.amazon.resourceexplorer2.view;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static software.amazon.resourceexplorer2.view.TestConstants.EXAMPLE_ARN;
+import static software.amazon.resourceexplorer2.view.TestConstants.MODEL_INCLUDED_PROPERTY_LIST;
+import static software.amazon.resourceexplorer2.view.TestConstants.RESOURCE_TAGS;
+import static software.amazon.resourceexplorer2.view.TestConstants.VIEW_NAME;
+
+// Compares how ViewInventoryExporter writes a page of models, one line each: ObjectMapper with
+// NON_NULL inclusion, as it did before, against ResourceModelCodec on one generator. Two payloads
+// of fully set models are timed, a single model and a page of 10k. Not a unit test, so it does not
+// run with surefire:
+//
+//     mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+//     java -cp target/test-classes:target/classes:$(cat target/classpath.txt) \
+//         software.amazon.resourceexplorer2.view.ResourceModelCodecBenchmark 20
+public final class ResourceModelCodecBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    private interface Writer {
+        void write(ByteArrayOutputStream lines, List<ResourceModel> models) throws IOException;
+    }
+
+    private ResourceModelCodecBenchmark() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        // Rounds of the 10k payload; the single model is written as many times in all.
+        final int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        final List<ResourceModel> single = Collections.singletonList(model(0));
+        final List<ResourceModel> page = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            page.add(model(i));
+        }
+        final int singleRepetitions = rounds * page.size();
+
+        // Warm up both writers so that the JIT has compiled them before they are timed.
+        run(ResourceModelCodecBenchmark::writeWithMapper, page, rounds);
+        run(ResourceModelCodecBenchmark::writeWithCodec, page, rounds);
+
+        System.out.printf("single model: ObjectMapper %.2f us, codec %.2f us%n",
+                run(ResourceModelCodecBenchmark::writeWithMapper, single, singleRepetitions) / 1e3,
+                run(ResourceModelCodecBenchmark::writeWithCodec, single, singleRepetitions) / 1e3);
+        System.out.printf("10k models: ObjectMapper %.2f ms, codec %.2f ms%n",
+                run(ResourceModelCodecBenchmark::writeWithMapper, page, rounds) / 1e6,
+                run(ResourceModelCodecBenchmark::writeWithCodec, page, rounds) / 1e6);
+    }
+
+    private static ResourceModel model(final int i) {
+        return ResourceModel.builder()
+                .viewArn(EXAMPLE_ARN + i)
+                .viewName(VIEW_NAME + i)
+                .scope("arn:aws:iam::123456789012:root")
+                .filters(SearchFilter.builder().filterString("region:us-east-1 \"tag:team=data lake\"").build())
+                .includedProperties(MODEL_INCLUDED_PROPERTY_LIST)
+                .tags(RESOURCE_TAGS)
+                .build();
+    }
+
+    // Returns the nanoseconds per payload.
+    private static double run(final Writer writer, final List<ResourceModel> models, final int repetitions) throws IOException {
+        long bytes = 0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < repetitions; i++) {
+            final ByteArrayOutputStream lines = new ByteArrayOutputStream();
+            writer.write(lines, models);
+            bytes += lines.size();
+        }
+        final long elapsed = System.nanoTime() - start;
+        // Uses the output, so that the writes cannot be left out.
+        if (bytes == 0) {
+            throw new IllegalStateException("Nothing written.");
+        }
+        return (double) elapsed / repetitions;
+    }
+
+    private static void writeWithMapper(final ByteArrayOutputStream lines, final List<ResourceModel> models) throws IOException {
+        for (final ResourceModel model : models) {
+            MAPPER.writeValue(lines, model);
+            lines.write('\n');
+        }
+    }
+
+    private static void writeWithCodec(final ByteArrayOutputStream lines, final List<ResourceModel> models) throws IOException {
+        try (JsonGenerator generator = ResourceModelCodec.createGenerator(lines)) {
+            for (final ResourceModel model : models) {
+                ResourceModelCodec.write(generator, model);
+                generator.writeRaw('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package software.amazon.resourceexplorer2.view;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static software.amazon.resourceexplorer2.view.TestConstants.EXAMPLE_ARN;
+import static software.amazon.resourceexplorer2.view.TestConstants.MODEL_INCLUDED_PROPERTY_LIST;
+import static software.amazon.resourceexplorer2.view.TestConstants.RESOURCE_TAGS;
+import static software.amazon.resourceexplorer2.view.TestConstants.VIEW_NAME;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ResourceModelCodecTest {
+
+    // What ViewInventoryExporter wrote models with before.
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    @Test
+    public void write_EveryPropertySet_SameJsonAsObjectMapper() throws IOException {
+        final ResourceModel model = ResourceModel.builder()
+                .viewArn(EXAMPLE_ARN)
+                .viewName(VIEW_NAME)
+                .scope("arn:aws:iam::123456789012:root")
+                .filters(SearchFilter.builder().filterString("region:us-east-1 \"tag:team=data lake\"").build())
+                .includedProperties(MODEL_INCLUDED_PROPERTY_LIST)
+                .tags(RESOURCE_TAGS)
+                .build();
+
+        assertSameJson(model);
+    }
+
+    // The model is generated from the schema, so this fails for a property the codec does not write yet.
+    @Test
+    public void write_EveryGeneratedFieldSet_SameJsonAsObjectMapper() throws Exception {
+        assertSameJson(populated(ResourceModel.class));
+    }
+
+    @Test
+    public void write_NullsAndEmptyValues_SameJsonAsObjectMapper() throws IOException {
+        final Map<String, String> tags = new HashMap<>();
+        tags.put("empty", "");
+        tags.put("missing", null);
+        final List<IncludedProperty> includedProperties = new ArrayList<>(Arrays.asList(
+                IncludedProperty.builder().build(), null));
+
+        assertSameJson(ResourceModel.builder().build());
+        assertSameJson(ResourceModel.builder()
+                .viewName("with-empty-collections")
+                .filters(SearchFilter.builder().build())
+                .includedProperties(Collections.emptyList())
+                .tags(Collections.emptyMap())
+                .build());
+        assertSameJson(ResourceModel.builder()
+                .viewName("with-null-entries")
+                .includedProperties(includedProperties)
+                .tags(tags)
+                .build());
+    }
+
+    @Test
+    public void write_ManyModelsOnOneGenerator_OneLineEach() throws IOException {
+        final List<ResourceModel> models = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            models.add(ResourceModel.builder()
+                    .viewArn(EXAMPLE_ARN + i)
+                    .viewName(VIEW_NAME + i)
+                    .tags(RESOURCE_TAGS)
+                    .build());
+        }
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (JsonGenerator generator = ResourceModelCodec.createGenerator(output)) {
+            for (ResourceModel model : models) {
+                ResourceModelCodec.write(generator, model);
+                generator.writeRaw('\n');
+            }
+        }
+
+        final String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(models.size());
+        for (int i = 0; i < lines.length; i++) {
+            assertThat(MAPPER.readTree(lines[i])).isEqualTo(MAPPER.valueToTree(models.get(i)));
+        }
+    }
+
+    private static void assertSameJson(final ResourceModel model) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (JsonGenerator generator = ResourceModelCodec.createGenerator(output)) {
+            ResourceModelCodec.write(generator, model);
+        }
+
+        assertThat(MAPPER.readTree(output.toByteArray())).isEqualTo(MAPPER.readTree(MAPPER.writeValueAsBytes(model)));
+    }
+
+    // An instance with every field set, including those of the models it holds.
+    private static <T> T populated(final Class<T> type) throws ReflectiveOperationException {
+        final T instance = type.getDeclaredConstructor().newInstance();
+        for (final Field field : instanceFields(type)) {
+            field.setAccessible(true);
+            field.set(instance, valueFor(field.getName(), field.getGenericType()));
+        }
+        return instance;
+    }
+
+    private static List<Field> instanceFields(final Class<?> type) {
+        final List<Field> fields = new ArrayList<>();
+        for (final Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    private static Object valueFor(final String name, final Type type) throws ReflectiveOperationException {
+        if (type == String.class) {
+            return name + "-value";
+        }
+        if (type == Integer.class) {
+            return 1;
+        }
+        if (type == Boolean.class) {
+            return Boolean.TRUE;
+        }
+        if (type == Double.class) {
+            return 1.5;
+        }
+        if (type instanceof ParameterizedType) {
+            final Class<?> rawType = (Class<?>) ((ParameterizedType) type).getRawType();
+            final Type[] typeArguments = ((ParameterizedType) type).getActualTypeArguments();
+            if (Map.class.isAssignableFrom(rawType)) {
+                return Collections.singletonMap(name + "-key", valueFor(name, typeArguments[1]));
+            }
+            if (Collection.class.isAssignableFrom(rawType)) {
+                final Collection<Object> values = Set.class.isAssignableFrom(rawType) ? new LinkedHashSet<>() : new ArrayList<>();
+                values.add(valueFor(name, typeArguments[0]));
+                return values;
+            }
+        }
+        if (type instanceof Class && ((Class<?>) type).getPackage() == ResourceModel.class.getPackage()) {
+            return populated((Class<?>) type);
+        }
+        throw new IllegalArgumentException("No test value for " + name + " of type " + type);
+    }
+}
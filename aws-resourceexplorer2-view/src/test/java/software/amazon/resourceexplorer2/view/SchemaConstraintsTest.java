@@ -0,0 +1,48 @@
+package software.amazon.resourceexplorer2.view;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+
+public class SchemaConstraintsTest {
+
+    private final SchemaConstraints constraints = SchemaConstraints.get();
+
+    @Test
+    public void resourceSchema_IsParsedOncePerContainer() {
+        assertThat(new Configuration().resourceSchemaJSONObject())
+                .isSameAs(new Configuration().resourceSchemaJSONObject());
+    }
+
+    @Test
+    public void validate_AcceptsAModelWithinTheSchema() {
+        final ResourceModel model = ResourceModel.builder()
+                .viewName("example-View-1")
+                .includedProperties(Collections.singletonList(IncludedProperty.builder().name("tags").build()))
+                .build();
+
+        assertThat(constraints.validate(model)).isNull();
+        assertThat(constraints.validate(ResourceModel.builder().build())).isNull();
+    }
+
+    @Test
+    public void validate_RejectsAViewNameOutsideThePattern() {
+        assertThat(constraints.validate(ResourceModel.builder().viewName("my view").build()))
+                .contains("ViewName my view");
+        assertThat(constraints.validate(ResourceModel.builder().viewName("").build())).isNotNull();
+        assertThat(constraints.validate(ResourceModel.builder().viewName(String.join("", Collections.nCopies(65, "a"))).build()))
+                .isNotNull();
+    }
+
+    @Test
+    public void validate_RejectsAnEmptyIncludedPropertyName() {
+        final ResourceModel model = ResourceModel.builder()
+                .viewName("exampleView")
+                .includedProperties(Collections.singletonList(IncludedProperty.builder().name("").build()))
+                .build();
+
+        assertThat(constraints.validate(model)).isEqualTo("IncludedProperties Name must be between 1 and 1011 characters long.");
+    }
+}
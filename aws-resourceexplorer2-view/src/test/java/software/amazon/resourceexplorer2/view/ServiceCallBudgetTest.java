@@ -0,0 +1,161 @@
+package software.amazon.resourceexplorer2.view;
+
+// CloudFormation package
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+// Resource Explorer package
+import software.amazon.awssdk.services.resourceexplorer2.model.CreateViewRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.CreateViewResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.DeleteViewRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.DeleteViewResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetViewRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetViewResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.ListViewsRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.ListViewsResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.SearchFilter;
+import software.amazon.awssdk.services.resourceexplorer2.model.TagResourceRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.TagResourceResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.UpdateViewRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.UpdateViewResponse;
+import software.amazon.awssdk.services.resourceexplorer2.model.View;
+
+import static software.amazon.resourceexplorer2.view.TestConstants.CLIENT_SEARCH_FILTER;
+import static software.amazon.resourceexplorer2.view.TestConstants.EXAMPLE_ARN;
+import static software.amazon.resourceexplorer2.view.TestConstants.MODEL_FILTERS;
+import static software.amazon.resourceexplorer2.view.TestConstants.RESOURCE_TAGS;
+import static software.amazon.resourceexplorer2.view.TestConstants.VIEW_NAME;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// These tests pin the number of Resource Explorer calls each handler makes per scenario.
+// A change that adds a round trip to one of these paths has to update its budget here.
+@ExtendWith(MockitoExtension.class)
+public class ServiceCallBudgetTest {
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    private Logger logger;
+
+    private static final View VIEW = View.builder()
+            .viewArn(EXAMPLE_ARN)
+            .filters(CLIENT_SEARCH_FILTER)
+            .build();
+
+    // The view as it was before the update, with other filters than the template's.
+    private static final View VIEW_BEFORE_UPDATE = VIEW.toBuilder()
+            .filters(SearchFilter.builder().filterString("Service:ec2").build())
+            .build();
+
+    @BeforeEach
+    public void setup() {
+        proxy = mock(AmazonWebServicesClientProxy.class);
+        logger = mock(Logger.class);
+    }
+
+    @Test
+    public void create_View() {
+        doReturn(CreateViewResponse.builder().view(VIEW).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(CreateViewRequest.class), any());
+
+        final CreateHandler handler = new CreateHandler();
+        handler.handleRequest(proxy,
+                requestFor(ResourceModel.builder().viewName(VIEW_NAME).filters(MODEL_FILTERS).build()),
+                null, logger);
+
+        assertBudget(handler, budget("CreateView", 1));
+    }
+
+    @Test
+    public void read_View() {
+        doReturn(GetViewResponse.builder().view(VIEW).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetViewRequest.class), any());
+
+        final ReadHandler handler = new ReadHandler();
+        handler.handleRequest(proxy, requestFor(ResourceModel.builder().viewArn(EXAMPLE_ARN).build()), null, logger);
+
+        assertBudget(handler, budget("GetView", 1));
+    }
+
+    @Test
+    public void delete_View() {
+        doReturn(GetViewResponse.builder().view(VIEW).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetViewRequest.class), any());
+        doReturn(DeleteViewResponse.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(DeleteViewRequest.class), any());
+
+        final DeleteHandler handler = new DeleteHandler();
+        handler.handleRequest(proxy, requestFor(ResourceModel.builder().viewArn(EXAMPLE_ARN).build()), null, logger);
+
+        assertBudget(handler, budget("GetView", 1, "DeleteView", 1));
+    }
+
+    @Test
+    public void update_FiltersAndTags() {
+        doReturn(GetViewResponse.builder().view(VIEW_BEFORE_UPDATE).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetViewRequest.class), any());
+        doReturn(UpdateViewResponse.builder().view(VIEW).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(UpdateViewRequest.class), any());
+        doReturn(TagResourceResponse.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+
+        final ResourceModel desiredModel = ResourceModel.builder()
+                .viewArn(EXAMPLE_ARN)
+                .filters(MODEL_FILTERS)
+                .tags(RESOURCE_TAGS)
+                .build();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(ResourceModel.builder().viewArn(EXAMPLE_ARN).build())
+                .desiredResourceState(desiredModel)
+                .build();
+
+        final UpdateHandler handler = new UpdateHandler();
+        handler.handleRequest(proxy, request, null, logger);
+
+        assertBudget(handler, budget("GetView", 1, "UpdateView", 1, "TagResource", 1));
+    }
+
+    @Test
+    public void list_SinglePage() {
+        doReturn(ListViewsResponse.builder().build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(ListViewsRequest.class), any());
+
+        final ListHandler handler = new ListHandler();
+        handler.handleRequest(proxy, requestFor(ResourceModel.builder().build()), null, logger);
+
+        assertBudget(handler, budget("ListViews", 1));
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> requestFor(final ResourceModel model) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+    }
+
+    private static Map<String, Integer> budget(final Object... operationsAndCounts) {
+        final Map<String, Integer> budget = new HashMap<>();
+        for (int i = 0; i < operationsAndCounts.length; i += 2) {
+            budget.put((String) operationsAndCounts[i], (Integer) operationsAndCounts[i + 1]);
+        }
+        return budget;
+    }
+
+    private static void assertBudget(final REBaseHandler<CallbackContext> handler, final Map<String, Integer> budget) {
+        assertThat(handler.getServiceCallCounter().counts()).isEqualTo(budget);
+    }
+}
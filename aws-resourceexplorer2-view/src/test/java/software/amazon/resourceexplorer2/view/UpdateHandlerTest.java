@@ -9,13 +9,17 @@ import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 
 // Resource Explorer package
+import software.amazon.awssdk.services.resourceexplorer2.model.GetViewRequest;
+import software.amazon.awssdk.services.resourceexplorer2.model.GetViewResponse;
 import software.amazon.awssdk.services.resourceexplorer2.model.UpdateViewRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.ResourceExplorer2Request;
 import software.amazon.awssdk.services.resourceexplorer2.model.TagResourceRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.UntagResourceRequest;
 import software.amazon.awssdk.services.resourceexplorer2.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.resourceexplorer2.model.View;
 
 
+import static software.amazon.resourceexplorer2.view.TestConstants.CLIENT_INCLUDED_PROPERTY_LIST;
 import static software.amazon.resourceexplorer2.view.TestConstants.EXAMPLE_ARN;
 import static software.amazon.resourceexplorer2.view.TestConstants.RESOURCE_TAGS;
 import static software.amazon.resourceexplorer2.view.TestConstants.STACK_LEVEL_TAGS;
@@ -40,6 +44,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -95,6 +101,7 @@ public class UpdateHandlerTest {
                 .systemTags(SYSTEM_TAGS)
                 .build();
 
+        stubGetView(thisFilters.getFilterString(), CLIENT_INCLUDED_PROPERTY_LIST);
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
 
@@ -109,16 +116,17 @@ public class UpdateHandlerTest {
 
         assertThat(response.getResourceModel()).isEqualTo(desiredModel);
 
-        // Capture the actual UpdateViewRequest, and UntagResourceRequest in the Update handler.
+        // Capture the actual GetViewRequest, UpdateViewRequest, and UntagResourceRequest in the Update handler.
         ArgumentCaptor<ResourceExplorer2Request> capturedRequest = ArgumentCaptor.forClass(UpdateViewRequest.class);
-        verify(proxy, times(2)).injectCredentialsAndInvokeV2(capturedRequest.capture(), any());
+        verify(proxy, times(3)).injectCredentialsAndInvokeV2(capturedRequest.capture(), any());
         List<ResourceExplorer2Request> invokedResourceExplorer2Request = capturedRequest.getAllValues();
 
-        UpdateViewRequest invokedUpdateViewRequest = (UpdateViewRequest) invokedResourceExplorer2Request.get(0);
+        assertThat(invokedResourceExplorer2Request.get(0)).isInstanceOf(GetViewRequest.class);
+        UpdateViewRequest invokedUpdateViewRequest = (UpdateViewRequest) invokedResourceExplorer2Request.get(1);
         assertThat(invokedUpdateViewRequest.viewArn()).isEqualTo(desiredModel.getViewArn());
         assertThat(invokedUpdateViewRequest.filters().filterString()).isEqualTo(newFilters.getFilterString());
 
-        UntagResourceRequest invokedUntagResourceRequest = (UntagResourceRequest) invokedResourceExplorer2Request.get(1);
+        UntagResourceRequest invokedUntagResourceRequest = (UntagResourceRequest) invokedResourceExplorer2Request.get(2);
         assertThat(invokedUntagResourceRequest.tagKeys().size()).isEqualTo(1);
         assertThat(invokedUntagResourceRequest.tagKeys().get(0)).isEqualTo("StackLevelTag");
 
@@ -154,6 +162,7 @@ public class UpdateHandlerTest {
                 .systemTags(SYSTEM_TAGS)
                 .build();
 
+        stubGetView(thisFilters.getFilterString(), Collections.emptyList());
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, null, logger);
 
@@ -166,17 +175,17 @@ public class UpdateHandlerTest {
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
 
-        // Capture the actual UpdateViewRequest and TagResourceRequest in the Update handler.
+        // Capture the actual GetViewRequest, UpdateViewRequest and TagResourceRequest in the Update handler.
         // There is no UntagResourceRequest since no tag is removed.
         ArgumentCaptor<ResourceExplorer2Request> capturedRequest = ArgumentCaptor.forClass(UpdateViewRequest.class);
-        verify(proxy, times(2)).injectCredentialsAndInvokeV2(capturedRequest.capture(), any());
+        verify(proxy, times(3)).injectCredentialsAndInvokeV2(capturedRequest.capture(), any());
         List<ResourceExplorer2Request> invokedResourceExplorer2Request = capturedRequest.getAllValues();
 
-        UpdateViewRequest invokedUpdateViewRequest = (UpdateViewRequest) invokedResourceExplorer2Request.get(0);
+        UpdateViewRequest invokedUpdateViewRequest = (UpdateViewRequest) invokedResourceExplorer2Request.get(1);
         assertThat(invokedUpdateViewRequest.viewArn()).isEqualTo(desiredModel.getViewArn());
         assertThat(invokedUpdateViewRequest.filters().filterString()).isEqualTo(newFilters.getFilterString());
 
-        TagResourceRequest invokedTagResourceRequest = (TagResourceRequest) invokedResourceExplorer2Request.get(1);
+        TagResourceRequest invokedTagResourceRequest = (TagResourceRequest) invokedResourceExplorer2Request.get(2);
         Map<String, String> expectedAddAndModifyTags = new HashMap<String, String>() {{
             putAll(RESOURCE_TAGS);
             putAll(STACK_LEVEL_TAGS);
@@ -205,7 +214,7 @@ public class UpdateHandlerTest {
                 .desiredResourceState(desiredModel)
                 .build();
 
-        //If the resource is already deleted, the update API throws ResourceNotFoundException.
+        //If the resource is already deleted, GetView throws ResourceNotFoundException.
         when(proxy.injectCredentialsAndInvokeV2(any(), any()))
                 .thenThrow(ResourceNotFoundException.builder().build());
 
@@ -248,4 +257,212 @@ public class UpdateHandlerTest {
         assertThat(response.getResourceModel()).isNotNull();
 
     }
+
+    // This test verifies that a malformed filter fails the update before any Resource Explorer call.
+    @Test
+    public void handleRequest_InvalidFilterString_NoServiceCall() {
+
+        final ResourceModel previousModel = ResourceModel.builder()
+                .viewArn(EXAMPLE_ARN)
+                .filters(thisFilters)
+                .build();
+
+        final ResourceModel desiredModel = ResourceModel.builder()
+                .viewArn(EXAMPLE_ARN)
+                .filters(new SearchFilter("Service:s3 Region:"))
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(previousModel)
+                .desiredResourceState(desiredModel)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(response.getMessage()).contains("Region:");
+        verify(proxy, times(0)).injectCredentialsAndInvokeV2(any(), any());
+    }
+
+    // This test verifies that respelling the filter string only updates the tags, without UpdateView.
+    @Test
+    public void handleRequest_EquivalentFilterString_SkipsUpdateView() {
+
+        final ResourceModel previousModel = ResourceModel.builder()
+                .viewArn(EXAMPLE_ARN)
+                .includedProperties(MODEL_INCLUDED_PROPERTY_LIST)
+                .filters(thisFilters)
+                .build();
+
+        final ResourceModel desiredModel = ResourceModel.builder()
+                .tags(RESOURCE_TAGS)
+                .viewArn(EXAMPLE_ARN)
+                .includedProperties(MODEL_INCLUDED_PROPERTY_LIST)
+                .filters(new SearchFilter("region:us-west-2   service:s3"))
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(previousModel)
+                .desiredResourceState(desiredModel)
+                .build();
+
+        stubGetView(thisFilters.getFilterString(), CLIENT_INCLUDED_PROPERTY_LIST);
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isEqualTo(desiredModel);
+
+        ArgumentCaptor<ResourceExplorer2Request> capturedRequest = ArgumentCaptor.forClass(ResourceExplorer2Request.class);
+        verify(proxy, times(2)).injectCredentialsAndInvokeV2(capturedRequest.capture(), any());
+        assertThat(capturedRequest.getAllValues().get(0)).isInstanceOf(GetViewRequest.class);
+        assertThat(capturedRequest.getValue()).isInstanceOf(TagResourceRequest.class);
+        assertThat(((TagResourceRequest) capturedRequest.getValue()).tags()).isEqualTo(RESOURCE_TAGS);
+    }
+
+    // This test verifies that a changed included property still updates the view when the filters are equivalent.
+    @Test
+    public void handleRequest_EquivalentFilterString_IncludedPropertiesChanged_UpdatesView() {
+
+        final ResourceModel previousModel = ResourceModel.builder()
+                .viewArn(EXAMPLE_ARN)
+                .filters(thisFilters)
+                .build();
+
+        final ResourceModel desiredModel = ResourceModel.builder()
+                .viewArn(EXAMPLE_ARN)
+                .includedProperties(MODEL_INCLUDED_PROPERTY_LIST)
+                .filters(new SearchFilter("region:us-west-2 service:s3"))
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(previousModel)
+                .desiredResourceState(desiredModel)
+                .build();
+
+        stubGetView(thisFilters.getFilterString(), Collections.emptyList());
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+
+        ArgumentCaptor<ResourceExplorer2Request> capturedRequest = ArgumentCaptor.forClass(ResourceExplorer2Request.class);
+        verify(proxy, times(2)).injectCredentialsAndInvokeV2(capturedRequest.capture(), any());
+        assertThat(capturedRequest.getValue()).isInstanceOf(UpdateViewRequest.class);
+        assertThat(((UpdateViewRequest) capturedRequest.getValue()).filters().filterString())
+                .isEqualTo("region:us-west-2 service:s3");
+    }
+
+    // With too little time left after UpdateView, the tags are left to the next invocation.
+    @Test
+    public void handleRequest_OutOfTimeAfterUpdateView_InProgress() {
+
+        final ResourceModel previousModel = ResourceModel.builder()
+                .viewArn(EXAMPLE_ARN)
+                .filters(thisFilters)
+                .build();
+
+        final ResourceModel desiredModel = ResourceModel.builder()
+                .tags(RESOURCE_TAGS)
+                .viewArn(EXAMPLE_ARN)
+                .filters(newFilters)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(previousModel)
+                .desiredResourceState(desiredModel)
+                .build();
+
+        stubGetView(thisFilters.getFilterString(), Collections.emptyList());
+        handler.setTimeBudget(Duration.ZERO);
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().isViewUpdated()).isTrue();
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+
+        ArgumentCaptor<ResourceExplorer2Request> capturedRequest = ArgumentCaptor.forClass(ResourceExplorer2Request.class);
+        verify(proxy, times(2)).injectCredentialsAndInvokeV2(capturedRequest.capture(), any());
+        assertThat(capturedRequest.getValue()).isInstanceOf(UpdateViewRequest.class);
+    }
+
+    // The invocation after it only updates the tags.
+    @Test
+    public void handleRequest_ViewAlreadyUpdated_OnlyUpdatesTags() {
+
+        final ResourceModel previousModel = ResourceModel.builder()
+                .viewArn(EXAMPLE_ARN)
+                .filters(thisFilters)
+                .build();
+
+        final ResourceModel desiredModel = ResourceModel.builder()
+                .tags(RESOURCE_TAGS)
+                .viewArn(EXAMPLE_ARN)
+                .filters(newFilters)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(previousModel)
+                .desiredResourceState(desiredModel)
+                .build();
+
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setViewUpdated(true);
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, callbackContext, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+
+        ArgumentCaptor<ResourceExplorer2Request> capturedRequest = ArgumentCaptor.forClass(ResourceExplorer2Request.class);
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(capturedRequest.capture(), any());
+        assertThat(capturedRequest.getValue()).isInstanceOf(TagResourceRequest.class);
+    }
+
+    // A view changed outside of CloudFormation is set back, although the template did not change.
+    @Test
+    public void handleRequest_ViewChangedOutOfBand_UpdatesView() {
+
+        final ResourceModel model = ResourceModel.builder()
+                .viewArn(EXAMPLE_ARN)
+                .includedProperties(MODEL_INCLUDED_PROPERTY_LIST)
+                .filters(thisFilters)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(model)
+                .desiredResourceState(model)
+                .build();
+
+        stubGetView(newFilters.getFilterString(), CLIENT_INCLUDED_PROPERTY_LIST);
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+
+        ArgumentCaptor<ResourceExplorer2Request> capturedRequest = ArgumentCaptor.forClass(ResourceExplorer2Request.class);
+        verify(proxy, times(2)).injectCredentialsAndInvokeV2(capturedRequest.capture(), any());
+        assertThat(capturedRequest.getValue()).isInstanceOf(UpdateViewRequest.class);
+        assertThat(((UpdateViewRequest) capturedRequest.getValue()).filters().filterString())
+                .isEqualTo(thisFilters.getFilterString());
+    }
+
+    // GetView answers with the view as it currently is in the service.
+    private void stubGetView(final String filterString,
+                             final List<software.amazon.awssdk.services.resourceexplorer2.model.IncludedProperty> includedProperties) {
+        final View view = View.builder()
+                .viewArn(EXAMPLE_ARN)
+                .filters(software.amazon.awssdk.services.resourceexplorer2.model.SearchFilter.builder()
+                        .filterString(filterString)
+                        .build())
+                .includedProperties(includedProperties)
+                .build();
+        doReturn(GetViewResponse.builder().view(view).build())
+                .when(proxy).injectCredentialsAndInvokeV2(any(GetViewRequest.class), any());
+    }
 }
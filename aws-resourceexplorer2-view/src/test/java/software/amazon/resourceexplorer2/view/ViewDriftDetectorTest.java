@@ -0,0 +1,100 @@
+package software.amazon.resourceexplorer2.view;
+
+// CloudFormation package
+import software.amazon.cloudformation.proxy.Logger;
+
+import software.amazon.resourceexplorer2.common.InventorySnapshot;
+import software.amazon.resourceexplorer2.common.InventorySnapshot.DriftKind;
+import software.amazon.resourceexplorer2.view.ViewDriftDetector.Drift;
+import software.amazon.resourceexplorer2.view.ViewDriftDetector.DriftReport;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ViewDriftDetectorTest {
+
+    @TempDir
+    Path directory;
+
+    private final Logger logger = mock(Logger.class);
+    private FakeViews fake;
+    private Path snapshot;
+    private List<Drift> drifts;
+
+    @BeforeEach
+    public void setup() {
+        fake = new FakeViews(120);
+        snapshot = directory.resolve("views.snapshot");
+        drifts = new ArrayList<>();
+    }
+
+    @Test
+    public void detect_FirstRunReportsEveryViewAsAdded() throws IOException, InterruptedException {
+        final DriftReport report = detector().detect(snapshot, drifts::add);
+
+        assertThat(report).isEqualTo(new DriftReport(0, 120, 0, 0, 0));
+        assertThat(drifts).allMatch(drift -> drift.getKind() == DriftKind.ADDED && drift.getModel() != null);
+        assertThat(InventorySnapshot.open(snapshot).size()).isEqualTo(120);
+    }
+
+    @Test
+    public void detect_UnchangedInventoryReportsNothing() throws IOException, InterruptedException {
+        detector().detect(snapshot, drift -> { });
+
+        final DriftReport report = detector().detect(snapshot, drifts::add);
+
+        assertThat(report).isEqualTo(new DriftReport(120, 0, 0, 0, 0));
+        assertThat(drifts).isEmpty();
+    }
+
+    @Test
+    public void detect_ReportsOnlyWhatChanged() throws IOException, InterruptedException {
+        detector().detect(snapshot, drift -> { });
+        fake.deletedViews.add(FakeViews.arn(5));
+        fake.tags.put(FakeViews.arn(64), Collections.singletonMap("Owner", "someone-else"));
+        fake.count = 121;
+
+        final DriftReport report = detector().detect(snapshot, drifts::add);
+
+        assertThat(report).isEqualTo(new DriftReport(118, 1, 1, 1, 0));
+        assertThat(drifts).extracting(Drift::getKind, Drift::getViewArn).containsExactlyInAnyOrder(
+                tuple(DriftKind.CHANGED, FakeViews.arn(64)),
+                tuple(DriftKind.ADDED, FakeViews.arn(120)),
+                tuple(DriftKind.REMOVED, FakeViews.arn(5)));
+        assertThat(drifts.stream().filter(drift -> drift.getKind() == DriftKind.CHANGED).findFirst().get()
+                .getModel().getTags()).containsEntry("Owner", "someone-else");
+
+        // The snapshot now holds the current state, so the same changes are not reported twice.
+        drifts.clear();
+        assertThat(detector().detect(snapshot, drifts::add)).isEqualTo(new DriftReport(120, 0, 0, 0, 0));
+        assertThat(drifts).isEmpty();
+    }
+
+    @Test
+    public void detect_UnreadableViewIsNotReportedRemoved() throws IOException, InterruptedException {
+        detector().detect(snapshot, drift -> { });
+        fake.missingViews.add(FakeViews.arn(3));
+        fake.untaggableViews.add(FakeViews.arn(77));
+
+        final DriftReport report = detector().detect(snapshot, drifts::add);
+
+        assertThat(report).isEqualTo(new DriftReport(118, 0, 0, 0, 2));
+        assertThat(drifts).isEmpty();
+        assertThat(InventorySnapshot.open(snapshot).find(FakeViews.arn(3))).isNotNegative();
+    }
+
+    private ViewDriftDetector detector() {
+        return new ViewDriftDetector(new ViewInventoryExporter(fake, logger, 4), logger);
+    }
+}
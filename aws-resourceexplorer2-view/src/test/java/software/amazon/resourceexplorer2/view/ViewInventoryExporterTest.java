@@ -0,0 +1,119 @@
+package software.amazon.resourceexplorer2.view;
+
+// CloudFormation package
+import software.amazon.cloudformation.proxy.Logger;
+
+// Resource Explorer package
+import software.amazon.awssdk.services.resourceexplorer2.model.InternalServerException;
+import software.amazon.resourceexplorer2.view.ViewInventoryExporter.ExportSummary;
+
+import static software.amazon.resourceexplorer2.view.TestConstants.MODEL_FILTERS;
+import static software.amazon.resourceexplorer2.view.TestConstants.MODEL_INCLUDED_PROPERTY_LIST;
+import static software.amazon.resourceexplorer2.view.TestConstants.RESOURCE_TAGS;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class ViewInventoryExporterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    private final Logger logger = mock(Logger.class);
+
+    @Test
+    public void export_WritesOneReadModelPerLine() throws IOException, InterruptedException {
+        final FakeViews fake = new FakeViews(123);
+        final Path output = directory.resolve("views.ndjson");
+
+        final ExportSummary summary = new ViewInventoryExporter(fake, logger, 4).export(output);
+
+        assertThat(summary).isEqualTo(new ExportSummary(123, 0, 3, false));
+        final List<ResourceModel> models = read(output);
+        assertThat(models).hasSize(123);
+        assertThat(models.stream().map(ResourceModel::getViewArn).collect(Collectors.toSet())).hasSize(123);
+
+        final ResourceModel first = models.get(0);
+        assertThat(first.getViewArn()).isEqualTo(FakeViews.arn(0));
+        assertThat(first.getViewName()).isEqualTo("view-0");
+        assertThat(first.getFilters()).isEqualTo(MODEL_FILTERS);
+        assertThat(first.getIncludedProperties()).isEqualTo(MODEL_INCLUDED_PROPERTY_LIST);
+        assertThat(first.getTags()).isEqualTo(RESOURCE_TAGS);
+
+        assertThat(fake.largestBatch).isEqualTo(ViewInventoryExporter.BATCH_GET_VIEW_LIMIT);
+        assertThat(Files.exists(ViewInventoryExporter.checkpointFor(output))).isFalse();
+    }
+
+    @Test
+    public void export_ResumesFromCheckpointWithoutDuplicates() throws IOException, InterruptedException {
+        final FakeViews fake = new FakeViews(230);
+        fake.failListViewsAtPage = 3;
+        final Path output = directory.resolve("views.ndjson");
+
+        assertThatThrownBy(() -> new ViewInventoryExporter(fake, logger, 4).export(output))
+                .isInstanceOf(InternalServerException.class);
+        assertThat(Files.exists(ViewInventoryExporter.checkpointFor(output))).isTrue();
+        assertThat(read(output)).hasSize(100);
+
+        // Simulates a page that reached the file after the last checkpoint was written.
+        Files.write(output, "{\"ViewArn\":\"partial".getBytes(), StandardOpenOption.APPEND);
+
+        fake.failListViewsAtPage = -1;
+        final ExportSummary summary = new ViewInventoryExporter(fake, logger, 4).export(output);
+
+        assertThat(summary).isEqualTo(new ExportSummary(130, 0, 3, true));
+        final List<ResourceModel> models = read(output);
+        assertThat(models).hasSize(230);
+        assertThat(models.stream().map(ResourceModel::getViewArn).collect(Collectors.toSet())).hasSize(230);
+        assertThat(Files.exists(ViewInventoryExporter.checkpointFor(output))).isFalse();
+    }
+
+    @Test
+    public void export_SkipsViewsThatCannotBeRead() throws IOException, InterruptedException {
+        final FakeViews fake = new FakeViews(30);
+        fake.missingViews.add(FakeViews.arn(7));
+        fake.untaggableViews.add(FakeViews.arn(21));
+        final Path output = directory.resolve("views.ndjson");
+
+        final ExportSummary summary = new ViewInventoryExporter(fake, logger, 2).export(output);
+
+        assertThat(summary.getViews()).isEqualTo(28);
+        assertThat(summary.getFailures()).isEqualTo(2);
+        assertThat(read(output)).extracting(ResourceModel::getViewArn)
+                .doesNotContain(FakeViews.arn(7), FakeViews.arn(21));
+    }
+
+    @Test
+    public void export_EmptyAccountWritesEmptyFile() throws IOException, InterruptedException {
+        final Path output = directory.resolve("views.ndjson");
+
+        final ExportSummary summary = new ViewInventoryExporter(new FakeViews(0), logger, 2).export(output);
+
+        assertThat(summary).isEqualTo(new ExportSummary(0, 0, 1, false));
+        assertThat(Files.size(output)).isEqualTo(0);
+    }
+
+    private static List<ResourceModel> read(final Path output) throws IOException {
+        final List<ResourceModel> models = new ArrayList<>();
+        for (final String line : Files.readAllLines(output)) {
+            models.add(MAPPER.readValue(line, ResourceModel.class));
+        }
+        return models;
+    }
+}